@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -143,6 +144,21 @@ public class Connection {
     private final Gson gson;
     private final Gson gsonWithNullSerialization;
 
+    // last parsed result of the polled urls, used to detect unchanged responses
+    private final Map<String, CachedResponse> responseCache = new ConcurrentHashMap<>();
+
+    private static class CachedResponse {
+        private final @Nullable String eTag;
+        private final String json;
+        private final Object result;
+
+        private CachedResponse(@Nullable String eTag, String json, Object result) {
+            this.eTag = eTag;
+            this.json = json;
+            this.result = result;
+        }
+    }
+
     public Connection(@Nullable Connection oldConnection, Gson gson) {
         this.gson = gson;
         String frc = null;
@@ -880,6 +896,7 @@ public class Connection {
         loginTime = null;
         verifyTime = null;
         deviceName = null;
+        responseCache.clear();
     }
 
     // parser
@@ -893,13 +910,51 @@ public class Connection {
         }
     }
 
+    /**
+     * Requests a json result, which is polled regularly. If the server answers with the ETag of the last result or the
+     * response is equal to the last one, the last parsed result is returned without parsing the response again.
+     */
+    private <T> T makeCachedRequest(String url, Class<T> type, @Nullable Map<String, String> customHeaders)
+            throws IOException, URISyntaxException {
+        CachedResponse cached = responseCache.get(url);
+        Map<String, String> headers = customHeaders;
+        if (cached != null && cached.eTag != null) {
+            headers = customHeaders != null ? new HashMap<>(customHeaders) : new HashMap<>();
+            headers.put("If-None-Match", cached.eTag);
+        }
+        HttpsURLConnection connection;
+        try {
+            connection = makeRequest("GET", url, null, false, true, headers, 0);
+        } catch (HttpException e) {
+            if (e.getCode() == 304 && cached != null && type.isInstance(cached.result)) {
+                logger.debug("Result of {} not modified", url);
+                return type.cast(cached.result);
+            }
+            throw e;
+        }
+        String json = convertStream(connection);
+        if (cached != null && cached.json.equals(json) && type.isInstance(cached.result)) {
+            logger.debug("Result of {} unchanged", url);
+            return type.cast(cached.result);
+        }
+        this.logger.debug("Result of GET {}:{}", url, json);
+        T result = parseJson(json, type);
+        if (result != null) {
+            responseCache.put(url, new CachedResponse(connection.getHeaderField("ETag"), json, result));
+        }
+        return result;
+    }
+
+    private <T> T makeCachedRequest(String url, Class<T> type) throws IOException, URISyntaxException {
+        return makeCachedRequest(url, type, null);
+    }
+
     // commands and states
 
     public WakeWord[] getWakeWords() {
-        String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/wake-word?cached=true");
-            JsonWakeWords wakeWords = parseJson(json, JsonWakeWords.class);
+            JsonWakeWords wakeWords = makeCachedRequest(alexaServer + "/api/wake-word?cached=true",
+                    JsonWakeWords.class);
             WakeWord[] result = wakeWords.wakeWords;
             if (result != null) {
                 return result;
@@ -911,8 +966,8 @@ public class Connection {
     }
 
     public List<Device> getDeviceList() throws IOException, URISyntaxException {
-        String json = getDeviceListJson();
-        JsonDevices devices = parseJson(json, JsonDevices.class);
+        JsonDevices devices = makeCachedRequest(alexaServer + "/api/devices-v2/device?cached=false",
+                JsonDevices.class);
         Device[] result = devices.devices;
         if (result == null) {
             return new ArrayList<>();
@@ -956,23 +1011,20 @@ public class Connection {
     }
 
     public JsonBluetoothStates getBluetoothConnectionStates() {
-        String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/bluetooth?cached=true");
+            return makeCachedRequest(alexaServer + "/api/bluetooth?cached=true", JsonBluetoothStates.class);
         } catch (IOException | URISyntaxException e) {
             logger.debug("failed to get bluetooth state: {}", e.getMessage());
             return new JsonBluetoothStates();
         }
-        JsonBluetoothStates bluetoothStates = parseJson(json, JsonBluetoothStates.class);
-        return bluetoothStates;
     }
 
     public JsonPlaylists getPlaylists(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
+        JsonPlaylists playlists = makeCachedRequest(alexaServer + "/api/cloudplayer/playlists?deviceSerialNumber="
                 + device.serialNumber + "&deviceType=" + device.deviceType + "&mediaOwnerCustomerId="
                 + (StringUtils.isEmpty(this.accountCustomerId) ? device.deviceOwnerCustomerId
-                        : this.accountCustomerId));
-        JsonPlaylists playlists = parseJson(json, JsonPlaylists.class);
+                        : this.accountCustomerId),
+                JsonPlaylists.class);
         return playlists;
     }
 
@@ -999,10 +1051,9 @@ public class Connection {
     }
 
     public DeviceNotificationState[] getDeviceNotificationStates() {
-        String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/device-notification-state");
-            JsonDeviceNotificationState result = parseJson(json, JsonDeviceNotificationState.class);
+            JsonDeviceNotificationState result = makeCachedRequest(alexaServer + "/api/device-notification-state",
+                    JsonDeviceNotificationState.class);
             DeviceNotificationState[] deviceNotificationStates = result.deviceNotificationStates;
             if (deviceNotificationStates != null) {
                 return deviceNotificationStates;
@@ -1014,10 +1065,9 @@ public class Connection {
     }
 
     public AscendingAlarmModel[] getAscendingAlarm() {
-        String json;
         try {
-            json = makeRequestAndReturnString(alexaServer + "/api/ascending-alarm");
-            JsonAscendingAlarm result = parseJson(json, JsonAscendingAlarm.class);
+            JsonAscendingAlarm result = makeCachedRequest(alexaServer + "/api/ascending-alarm",
+                    JsonAscendingAlarm.class);
             AscendingAlarmModel[] ascendingAlarmModelList = result.ascendingAlarmModelList;
             if (ascendingAlarmModelList != null) {
                 return ascendingAlarmModelList;
@@ -1333,10 +1383,10 @@ public class Connection {
     }
 
     public JsonNotificationSound[] getNotificationSounds(Device device) throws IOException, URISyntaxException {
-        String json = makeRequestAndReturnString(
+        JsonNotificationSounds result = makeCachedRequest(
                 alexaServer + "/api/notification/sounds?deviceSerialNumber=" + device.serialNumber + "&deviceType="
-                        + device.deviceType + "&softwareVersion=" + device.softwareVersion);
-        JsonNotificationSounds result = parseJson(json, JsonNotificationSounds.class);
+                        + device.deviceType + "&softwareVersion=" + device.softwareVersion,
+                JsonNotificationSounds.class);
         JsonNotificationSound[] notificationSounds = result.notificationSounds;
         if (notificationSounds != null) {
             return notificationSounds;
@@ -23,12 +23,17 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -41,6 +46,7 @@ import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.openhab.binding.amazonechocontrol.internal.AccountServlet;
+import org.openhab.binding.amazonechocontrol.internal.AmazonEchoControlBindingConstants;
 import org.openhab.binding.amazonechocontrol.internal.Connection;
 import org.openhab.binding.amazonechocontrol.internal.ConnectionException;
 import org.openhab.binding.amazonechocontrol.internal.HttpException;
@@ -50,7 +56,6 @@ import org.openhab.binding.amazonechocontrol.internal.jsons.JsonActivities.Activ
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonActivities.Activity.SourceDeviceId;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonAscendingAlarm.AscendingAlarmModel;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates;
-import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates.BluetoothState;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushActivity;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushActivity.Key;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushDevice;
@@ -74,13 +79,23 @@ import com.google.gson.JsonSyntaxException;
 
 /**
  * Handles the connection to the amazon server.
+ * <p>
+ * The independent requests of a refresh are executed concurrently in the thread pool of the binding, but each account
+ * executes at most {@link #MAX_CONCURRENT_REQUESTS} requests at the same time. Push messages of the web socket
+ * connection refresh only the affected data.
  *
  * @author Michael Geramb - Initial Contribution
  */
 @NonNullByDefault
 public class AccountHandler extends BaseBridgeHandler implements IWebSocketCommandHandler {
 
+    private static final int MAX_CONCURRENT_REQUESTS = 4;
+    private static final long PUSH_REFRESH_DELAY = 700;
+
     private final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
+    private final ExecutorService refreshPool = ThreadPoolManager
+            .getPool(AmazonEchoControlBindingConstants.BINDING_ID);
+    private final Semaphore requestPermits = new Semaphore(MAX_CONCURRENT_REQUESTS);
     private Storage<String> stateStorage;
     private @Nullable Connection connection;
     private @Nullable WebSocketConnection webSocketConnection;
@@ -91,6 +106,13 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
     private @Nullable ScheduledFuture<?> checkDataJob;
     private @Nullable ScheduledFuture<?> checkLoginJob;
     private @Nullable ScheduledFuture<?> refreshAfterCommandJob;
+    private @Nullable ScheduledFuture<?> refreshBluetoothJob;
+    private final Set<String> pendingDeviceRefreshes = new HashSet<>();
+    // last account wide states, used for the refresh of single devices
+    private DeviceNotificationState[] deviceNotificationStates = new DeviceNotificationState[0];
+    private AscendingAlarmModel[] ascendingAlarmModels = new AscendingAlarmModel[0];
+    private @Nullable JsonBluetoothStates bluetoothStates;
+    private @Nullable List<JsonMusicProvider> musicProviders;
     private @Nullable ScheduledFuture<?> foceCheckDataJob;
     private String currentFlashBriefingJson = "";
     private final HttpService httpService;
@@ -264,6 +286,12 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
             refreshDataDelayed.cancel(true);
             this.refreshAfterCommandJob = null;
         }
+        @Nullable
+        ScheduledFuture<?> refreshBluetoothDelayed = this.refreshBluetoothJob;
+        if (refreshBluetoothDelayed != null) {
+            refreshBluetoothDelayed.cancel(true);
+            this.refreshBluetoothJob = null;
+        }
         Connection connection = this.connection;
         if (connection != null) {
             connection.logout();
@@ -420,94 +448,45 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                 logger.debug("refreshing data {}", getThing().getUID().getAsString());
 
                 // check if logged in
-                Connection currentConnection = null;
-                currentConnection = connection;
-                if (currentConnection != null) {
-                    if (!currentConnection.getIsLoggedIn()) {
-                        return;
-                    }
-                }
-                if (currentConnection == null) {
+                Connection currentConnection = connection;
+                if (currentConnection == null || !currentConnection.getIsLoggedIn()) {
                     return;
                 }
 
+                // request the account wide states while the device list is updated
+                CompletableFuture<DeviceNotificationState @Nullable []> deviceNotificationStatesFuture = request(
+                        "Update notification states", currentConnection::getDeviceNotificationStates);
+                CompletableFuture<AscendingAlarmModel @Nullable []> ascendingAlarmModelsFuture = request(
+                        "Update ascending alarm", currentConnection::getAscendingAlarm);
+                CompletableFuture<@Nullable JsonBluetoothStates> bluetoothStatesFuture = request(
+                        "Update bluetooth states", currentConnection::getBluetoothConnectionStates);
+                CompletableFuture<@Nullable List<JsonMusicProvider>> musicProvidersFuture = request(
+                        "Update music provider", currentConnection::getMusicProviders);
+                CompletableFuture<@Nullable String> flashBriefingsFuture = request("Update flash briefings",
+                        () -> updateFlashBriefingHandlers(currentConnection));
+
                 // get all devices registered in the account
                 updateDeviceList();
-                updateFlashBriefingHandlers();
-
-                DeviceNotificationState[] deviceNotificationStates = null;
-                AscendingAlarmModel[] ascendingAlarmModels = null;
-                JsonBluetoothStates states = null;
-                List<JsonMusicProvider> musicProviders = null;
-                if (currentConnection.getIsLoggedIn()) {
-                    // update notification states
-                    deviceNotificationStates = currentConnection.getDeviceNotificationStates();
-
-                    // update ascending alarm
-                    ascendingAlarmModels = currentConnection.getAscendingAlarm();
 
-                    // update bluetooth states
-                    states = currentConnection.getBluetoothConnectionStates();
-
-                    // update music providers
-                    if (currentConnection.getIsLoggedIn()) {
-                        try {
-                            musicProviders = currentConnection.getMusicProviders();
-                        } catch (HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update music provider failed {}", e);
-                        }
-                    }
+                DeviceNotificationState[] newDeviceNotificationStates = deviceNotificationStatesFuture.join();
+                if (newDeviceNotificationStates != null) {
+                    deviceNotificationStates = newDeviceNotificationStates;
                 }
-                // forward device information to echo handler
-                for (EchoHandler child : echoHandlers) {
-                    Device device = findDeviceJson(child);
-
-                    @Nullable
-                    JsonNotificationSound[] notificationSounds = null;
-                    JsonPlaylists playlists = null;
-                    if (device != null && currentConnection.getIsLoggedIn()) {
-                        // update notification sounds
-                        try {
-                            notificationSounds = currentConnection.getNotificationSounds(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update notification sounds failed {}", e);
-                        }
-                        // update playlists
-                        try {
-                            playlists = currentConnection.getPlaylists(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update playlist failed {}", e);
-                        }
-                    }
-
-                    BluetoothState state = null;
-                    if (states != null) {
-                        state = states.findStateByDevice(device);
-                    }
-                    DeviceNotificationState deviceNotificationState = null;
-                    AscendingAlarmModel ascendingAlarmModel = null;
-                    if (device != null) {
-                        if (ascendingAlarmModels != null) {
-                            for (AscendingAlarmModel current : ascendingAlarmModels) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    ascendingAlarmModel = current;
-                                    break;
-                                }
-                            }
-                        }
+                AscendingAlarmModel[] newAscendingAlarmModels = ascendingAlarmModelsFuture.join();
+                if (newAscendingAlarmModels != null) {
+                    ascendingAlarmModels = newAscendingAlarmModels;
+                }
+                bluetoothStates = bluetoothStatesFuture.join();
+                musicProviders = musicProvidersFuture.join();
 
-                        if (deviceNotificationStates != null) {
-                            for (DeviceNotificationState current : deviceNotificationStates) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    deviceNotificationState = current;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
-                            notificationSounds, musicProviders);
+                // forward device information to echo handler
+                List<CompletableFuture<?>> deviceRefreshes = new ArrayList<>();
+                for (EchoHandler child : getEchoHandlers()) {
+                    deviceRefreshes.add(refreshDevice(currentConnection, child));
                 }
+                deviceRefreshes.add(flashBriefingsFuture);
+                CompletableFuture.allOf(deviceRefreshes.toArray(new CompletableFuture<?>[deviceRefreshes.size()]))
+                        .join();
 
                 // refresh notifications
                 refreshNotifications(null);
@@ -524,6 +503,80 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
         }
     }
 
+    private CompletableFuture<@Nullable Void> refreshDevice(Connection currentConnection, EchoHandler child) {
+        Device device = findDeviceJson(child);
+        CompletableFuture<JsonNotificationSound @Nullable []> notificationSoundsFuture;
+        CompletableFuture<@Nullable JsonPlaylists> playlistsFuture;
+        if (device != null) {
+            notificationSoundsFuture = request("Update notification sounds",
+                    () -> currentConnection.getNotificationSounds(device));
+            playlistsFuture = request("Update playlist", () -> currentConnection.getPlaylists(device));
+        } else {
+            notificationSoundsFuture = CompletableFuture.completedFuture(null);
+            playlistsFuture = CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.allOf(notificationSoundsFuture, playlistsFuture)
+                .thenCompose(result -> request("Update state", () -> {
+                    JsonBluetoothStates states = bluetoothStates;
+                    child.updateState(this, device, states != null ? states.findStateByDevice(device) : null,
+                            findDeviceNotificationState(device), findAscendingAlarmModel(device),
+                            playlistsFuture.join(), notificationSoundsFuture.join(), musicProviders);
+                    return null;
+                }));
+    }
+
+    /**
+     * Executes a request in the thread pool of the binding, limited to {@link #MAX_CONCURRENT_REQUESTS} concurrent
+     * requests of this account. A failed request is logged and completes with null.
+     */
+    private <T> CompletableFuture<@Nullable T> request(String description, Callable<T> request) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                requestPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            try {
+                return request.call();
+            } catch (Exception e) {
+                logger.debug("{} failed {}", description, e);
+                return null;
+            } finally {
+                requestPermits.release();
+            }
+        }, refreshPool);
+    }
+
+    private List<EchoHandler> getEchoHandlers() {
+        synchronized (echoHandlers) {
+            return new ArrayList<>(echoHandlers);
+        }
+    }
+
+    private @Nullable DeviceNotificationState findDeviceNotificationState(@Nullable Device device) {
+        if (device != null) {
+            for (DeviceNotificationState current : deviceNotificationStates) {
+                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                    return current;
+                }
+            }
+        }
+        return null;
+    }
+
+    private @Nullable AscendingAlarmModel findAscendingAlarmModel(@Nullable Device device) {
+        if (device != null) {
+            for (AscendingAlarmModel current : ascendingAlarmModels) {
+                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                    return current;
+                }
+            }
+        }
+        return null;
+    }
+
     public @Nullable Device findDeviceJson(EchoHandler echoHandler) {
         String serialNumber = echoHandler.findSerialNumber();
         return findDeviceJson(serialNumber);
@@ -696,15 +749,22 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                     handlePushActivity(pushCommand.payload);
                     return;
                 case "PUSH_DOPPLER_CONNECTION_CHANGE":
-                case "PUSH_BLUETOOTH_STATE_CHANGE":
-                    // refresh data 200ms after last command
-                    @Nullable
-                    ScheduledFuture<?> refreshDataDelayed = this.refreshAfterCommandJob;
-                    if (refreshDataDelayed != null) {
-                        refreshDataDelayed.cancel(false);
+                    // refresh the device list and the changed device 700ms after last command
+                    JsonCommandPayloadPushDevice connectionPayload = gson.fromJson(pushCommand.payload,
+                            JsonCommandPayloadPushDevice.class);
+                    DopplerId connectionDopplerId = connectionPayload != null ? connectionPayload.dopplerId : null;
+                    synchronized (pendingDeviceRefreshes) {
+                        // without a serial number all devices are refreshed
+                        pendingDeviceRefreshes.add(connectionDopplerId != null
+                                && connectionDopplerId.deviceSerialNumber != null
+                                        ? connectionDopplerId.deviceSerialNumber
+                                        : "");
                     }
-                    this.refreshAfterCommandJob = scheduler.schedule(this::refreshAfterCommand, 700,
-                            TimeUnit.MILLISECONDS);
+                    this.refreshAfterCommandJob = reschedule(this.refreshAfterCommandJob, this::refreshAfterCommand);
+                    break;
+                case "PUSH_BLUETOOTH_STATE_CHANGE":
+                    // refresh the bluetooth states 700ms after last command
+                    this.refreshBluetoothJob = reschedule(this.refreshBluetoothJob, this::refreshBluetoothStates);
                     break;
                 case "PUSH_NOTIFICATION_CHANGE":
                     JsonCommandPayloadPushNotificationChange pushPayload = gson.fromJson(pushCommand.payload,
@@ -775,7 +835,56 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
         }
     }
 
+    private ScheduledFuture<?> reschedule(@Nullable ScheduledFuture<?> job, Runnable refresh) {
+        if (job != null) {
+            job.cancel(false);
+        }
+        return scheduler.schedule(refresh, PUSH_REFRESH_DELAY, TimeUnit.MILLISECONDS);
+    }
+
     void refreshAfterCommand() {
-        refreshData();
+        Set<String> serialNumbers;
+        synchronized (pendingDeviceRefreshes) {
+            serialNumbers = new HashSet<>(pendingDeviceRefreshes);
+            pendingDeviceRefreshes.clear();
+        }
+        if (serialNumbers.contains("")) {
+            refreshData();
+            return;
+        }
+        synchronized (synchronizeConnection) {
+            Connection currentConnection = connection;
+            if (currentConnection == null || !currentConnection.getIsLoggedIn()) {
+                return;
+            }
+            try {
+                updateDeviceList();
+                List<CompletableFuture<?>> deviceRefreshes = new ArrayList<>();
+                for (String serialNumber : serialNumbers) {
+                    EchoHandler echoHandler = findEchoHandlerBySerialNumber(serialNumber);
+                    if (echoHandler != null) {
+                        deviceRefreshes.add(refreshDevice(currentConnection, echoHandler));
+                    }
+                }
+                CompletableFuture.allOf(deviceRefreshes.toArray(new CompletableFuture<?>[deviceRefreshes.size()]))
+                        .join();
+            } catch (Exception e) { // this handler can be removed later, if we know that nothing else can fail.
+                logger.error("refresh devices fails with unexpected error {}", e);
+            }
+        }
+    }
+
+    void refreshBluetoothStates() {
+        synchronized (synchronizeConnection) {
+            Connection currentConnection = connection;
+            if (currentConnection == null || !currentConnection.getIsLoggedIn()) {
+                return;
+            }
+            JsonBluetoothStates states = currentConnection.getBluetoothConnectionStates();
+            bluetoothStates = states;
+            for (EchoHandler child : getEchoHandlers()) {
+                child.updateBluetoothState(states.findStateByDevice(findDeviceJson(child)));
+            }
+        }
     }
 }
@@ -972,34 +972,6 @@ public class EchoHandler extends BaseThingHandler implements IAmazonThingHandler
                 amazonMusic = true;
             }
 
-            // handle bluetooth
-            String bluetoothMAC = "";
-            String bluetoothDeviceName = "";
-            boolean bluetoothIsConnected = false;
-            if (bluetoothState != null) {
-                this.bluetoothState = bluetoothState;
-                PairedDevice[] pairedDeviceList = bluetoothState.pairedDeviceList;
-                if (pairedDeviceList != null) {
-                    for (PairedDevice paired : pairedDeviceList) {
-                        if (paired == null) {
-                            continue;
-                        }
-                        if (paired.connected && paired.address != null) {
-                            bluetoothIsConnected = true;
-                            bluetoothMAC = paired.address;
-                            bluetoothDeviceName = paired.friendlyName;
-                            if (StringUtils.isEmpty(bluetoothDeviceName)) {
-                                bluetoothDeviceName = paired.address;
-                            }
-                            break;
-                        }
-                    }
-                }
-            }
-            if (StringUtils.isNotEmpty(bluetoothMAC)) {
-                lastKnownBluetoothMAC = bluetoothMAC;
-            }
-
             // handle radio
             boolean isRadio = false;
             if (mediaState != null && StringUtils.isNotEmpty(mediaState.radioStationId)) {
@@ -1129,11 +1101,7 @@ public class EchoHandler extends BaseThingHandler implements IAmazonThingHandler
             }
             updateState(CHANNEL_SUBTITLE1, new StringType(subTitle1));
             updateState(CHANNEL_SUBTITLE2, new StringType(subTitle2));
-            if (bluetoothState != null) {
-                updateState(CHANNEL_BLUETOOTH, bluetoothIsConnected ? OnOffType.ON : OnOffType.OFF);
-                updateState(CHANNEL_BLUETOOTH_MAC, new StringType(bluetoothMAC));
-                updateState(CHANNEL_BLUETOOTH_DEVICE_NAME, new StringType(bluetoothDeviceName));
-            }
+            updateBluetoothState(bluetoothState);
 
             updateState(CHANNEL_ASCENDING_ALARM,
                     ascendingAlarm != null ? (ascendingAlarm ? OnOffType.ON : OnOffType.OFF) : UnDefType.UNDEF);
@@ -1152,6 +1120,39 @@ public class EchoHandler extends BaseThingHandler implements IAmazonThingHandler
         }
     }
 
+    public void updateBluetoothState(@Nullable BluetoothState bluetoothState) {
+        if (bluetoothState == null) {
+            return;
+        }
+        this.bluetoothState = bluetoothState;
+        String bluetoothMAC = "";
+        String bluetoothDeviceName = "";
+        boolean bluetoothIsConnected = false;
+        PairedDevice[] pairedDeviceList = bluetoothState.pairedDeviceList;
+        if (pairedDeviceList != null) {
+            for (PairedDevice paired : pairedDeviceList) {
+                if (paired == null) {
+                    continue;
+                }
+                if (paired.connected && paired.address != null) {
+                    bluetoothIsConnected = true;
+                    bluetoothMAC = paired.address;
+                    bluetoothDeviceName = paired.friendlyName;
+                    if (StringUtils.isEmpty(bluetoothDeviceName)) {
+                        bluetoothDeviceName = paired.address;
+                    }
+                    break;
+                }
+            }
+        }
+        if (StringUtils.isNotEmpty(bluetoothMAC)) {
+            lastKnownBluetoothMAC = bluetoothMAC;
+        }
+        updateState(CHANNEL_BLUETOOTH, bluetoothIsConnected ? OnOffType.ON : OnOffType.OFF);
+        updateState(CHANNEL_BLUETOOTH_MAC, new StringType(bluetoothMAC));
+        updateState(CHANNEL_BLUETOOTH_DEVICE_NAME, new StringType(bluetoothDeviceName));
+    }
+
     private void updateEqualizerState() {
         if (!this.capabilities.contains("SOUND_SETTINGS")) {
             return;
@@ -21,7 +21,9 @@ import java.util.Calendar;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -69,6 +71,9 @@ public abstract class AstroThingHandler extends BaseThingHandler {
     private ScheduledCompletableFuture dailyJob;
     private final Set<ScheduledFuture<?>> scheduledFutures = new HashSet<>();
 
+    /** The configurations of the channels, they only change with the thing */
+    private final Map<String, AstroChannelConfig> channelConfigs = new ConcurrentHashMap<>();
+
     public AstroThingHandler(Thing thing, CronScheduler scheduler) {
         super(thing);
         this.cronScheduler = scheduler;
@@ -79,6 +84,7 @@ public abstract class AstroThingHandler extends BaseThingHandler {
         logger.debug("Initializing thing {}", getThing().getUID());
         String thingUid = getThing().getUID().toString();
         thingConfig = getConfigAs(AstroThingConfig.class);
+        channelConfigs.clear();
         thingConfig.setThingUid(thingUid);
         boolean validConfig = true;
 
@@ -140,6 +146,18 @@ public abstract class AstroThingHandler extends BaseThingHandler {
         }
     }
 
+    /**
+     * Updates the states of the channels changed by the positional calculation.
+     */
+    protected void publishPositionalChannels() {
+        for (String channelId : getPositionalChannelIds()) {
+            Channel channel = getThing().getChannel(channelId);
+            if (channel != null) {
+                publishChannelIfLinked(channel.getUID());
+            }
+        }
+    }
+
     /**
      * Publishes the channel with data if it's linked.
      */
@@ -151,7 +169,8 @@ public abstract class AstroThingHandler extends BaseThingHandler {
                 return;
             }
             try {
-                AstroChannelConfig config = channel.getConfiguration().as(AstroChannelConfig.class);
+                AstroChannelConfig config = channelConfigs.computeIfAbsent(channelUID.getId(),
+                        id -> channel.getConfiguration().as(AstroChannelConfig.class));
                 updateState(channelUID, PropertyUtils.getState(channelUID, config, getPlanet()));
             } catch (Exception ex) {
                 logger.error("Can't update state for channel {} : {}", channelUID, ex.getMessage(), ex);
@@ -27,6 +27,7 @@ import org.openhab.binding.astro.internal.job.DailyJobMoon;
 import org.openhab.binding.astro.internal.job.Job;
 import org.openhab.binding.astro.internal.model.Moon;
 import org.openhab.binding.astro.internal.model.Planet;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
 
 /**
  * The MoonHandler is responsible for updating calculated moon data.
@@ -39,9 +40,11 @@ public class MoonHandler extends AstroThingHandler {
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = new HashSet<>(Arrays.asList(THING_TYPE_MOON));
 
     private final String[] positionalChannelIds = new String[] { "phase#name", "phase#age", "phase#agePercent",
-            "phase#ageDegree", "phase#illumination", "position#azimuth", "position#elevation", "zodiac#sign" };
+            "phase#ageDegree", "phase#illumination", "position#azimuth", "position#elevation", "zodiac#sign",
+            "distance#date", "distance#distance" };
     private final MoonCalc moonCalc = new MoonCalc();
     private Moon moon;
+    private Calendar moonDate;
 
     /**
      * Constructor
@@ -52,15 +55,22 @@ public class MoonHandler extends AstroThingHandler {
 
     @Override
     public void publishDailyInfo() {
-        initializeMoon();
-        publishPositionalInfo();
+        Calendar now = Calendar.getInstance();
+        initializeMoon(now);
+        setPositionalInfo(now);
+        publishPlanet();
     }
 
     @Override
     public void publishPositionalInfo() {
-        initializeMoon();
-        moonCalc.setPositionalInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(), moon);
-        publishPlanet();
+        Calendar now = Calendar.getInstance();
+        if (moon == null || !DateTimeUtils.isSameDay(now, moonDate)) {
+            // the daily data is only calculated once a day
+            publishDailyInfo();
+            return;
+        }
+        setPositionalInfo(now);
+        publishPositionalChannels();
     }
 
     @Override
@@ -72,6 +82,7 @@ public class MoonHandler extends AstroThingHandler {
     public void dispose() {
         super.dispose();
         moon = null;
+        moonDate = null;
     }
 
     @Override
@@ -84,8 +95,13 @@ public class MoonHandler extends AstroThingHandler {
         return new DailyJobMoon(thing.getUID().getAsString(), this);
     }
 
-    private void initializeMoon() {
-        moon = moonCalc.getMoonInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude());
+    private void initializeMoon(Calendar now) {
+        moon = moonCalc.getMoonInfo(now, thingConfig.getLatitude(), thingConfig.getLongitude());
+        moonDate = now;
+    }
+
+    private void setPositionalInfo(Calendar now) {
+        moonCalc.setPositionalInfo(now, thingConfig.getLatitude(), thingConfig.getLongitude(), moon);
     }
 
 }
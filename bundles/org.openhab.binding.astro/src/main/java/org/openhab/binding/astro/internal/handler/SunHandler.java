@@ -27,6 +27,7 @@ import org.openhab.binding.astro.internal.job.DailyJobSun;
 import org.openhab.binding.astro.internal.job.Job;
 import org.openhab.binding.astro.internal.model.Planet;
 import org.openhab.binding.astro.internal.model.Sun;
+import org.openhab.binding.astro.internal.util.DateTimeUtils;
 
 /**
  * The SunHandler is responsible for updating calculated sun data.
@@ -39,9 +40,10 @@ public class SunHandler extends AstroThingHandler {
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = new HashSet<>(Arrays.asList(THING_TYPE_SUN));
 
     private final String[] positionalChannelIds = new String[] { "position#azimuth", "position#elevation",
-            "radiation#direct", "radiation#diffuse", "radiation#total" };
+            "position#shadeLength", "radiation#direct", "radiation#diffuse", "radiation#total" };
     private final SunCalc sunCalc = new SunCalc();
     private Sun sun;
+    private Calendar sunDate;
 
     /**
      * Constructor
@@ -52,16 +54,22 @@ public class SunHandler extends AstroThingHandler {
 
     @Override
     public void publishDailyInfo() {
-        initializeSun();
-        publishPositionalInfo();
+        Calendar now = Calendar.getInstance();
+        initializeSun(now);
+        setPositionalInfo(now);
+        publishPlanet();
     }
 
     @Override
     public void publishPositionalInfo() {
-        initializeSun();
-        sunCalc.setPositionalInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(),
-                thingConfig.getAltitude(), sun);
-        publishPlanet();
+        Calendar now = Calendar.getInstance();
+        if (sun == null || !DateTimeUtils.isSameDay(now, sunDate)) {
+            // the daily data is only calculated once a day
+            publishDailyInfo();
+            return;
+        }
+        setPositionalInfo(now);
+        publishPositionalChannels();
     }
 
     @Override
@@ -73,6 +81,7 @@ public class SunHandler extends AstroThingHandler {
     public void dispose() {
         super.dispose();
         sun = null;
+        sunDate = null;
     }
 
     @Override
@@ -85,9 +94,14 @@ public class SunHandler extends AstroThingHandler {
         return new DailyJobSun(thing.getUID().getAsString(), this);
     }
 
-    private void initializeSun() {
-        sun = sunCalc.getSunInfo(Calendar.getInstance(), thingConfig.getLatitude(), thingConfig.getLongitude(),
-                thingConfig.getAltitude());
+    private void initializeSun(Calendar now) {
+        sun = sunCalc.getSunInfo(now, thingConfig.getLatitude(), thingConfig.getLongitude(), thingConfig.getAltitude());
+        sunDate = now;
+    }
+
+    private void setPositionalInfo(Calendar now) {
+        sunCalc.setPositionalInfo(now, thingConfig.getLatitude(), thingConfig.getLongitude(),
+                thingConfig.getAltitude(), sun);
     }
 
 }
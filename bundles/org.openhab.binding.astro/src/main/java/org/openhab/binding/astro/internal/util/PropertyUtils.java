@@ -18,7 +18,9 @@ import java.math.RoundingMode;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
@@ -46,6 +48,11 @@ public class PropertyUtils {
 
     private static TimeZoneProvider timeZoneProvider;
 
+    /**
+     * The getters of the nested properties of a channel, resolved once per planet class and channel id.
+     */
+    private static final Map<Class<?>, Map<String, Method[]>> GETTERS = new ConcurrentHashMap<>();
+
     /**
      * Returns the state of the channel.
      */
@@ -84,22 +91,33 @@ public class PropertyUtils {
      * example rise.start, the methods getRise().getStart() are called.
      */
     public static Object getPropertyValue(ChannelUID channelUID, Object instance) throws Exception {
-        String[] properties = StringUtils.split(channelUID.getId(), "#");
-        return getPropertyValue(instance, properties, 0);
+        Map<String, Method[]> classGetters = GETTERS.computeIfAbsent(instance.getClass(),
+                key -> new ConcurrentHashMap<>());
+        Method[] getters = classGetters.get(channelUID.getId());
+        if (getters == null) {
+            getters = getGetters(instance.getClass(), channelUID.getId());
+            classGetters.put(channelUID.getId(), getters);
+        }
+
+        Object result = instance;
+        for (Method getter : getters) {
+            result = getter.invoke(result);
+        }
+        return result;
     }
 
     /**
-     * Iterates through the nested properties and returns the getter value.
+     * Resolves the getters of the nested properties by the return types of the getters.
      */
-    @SuppressWarnings("all")
-    private static Object getPropertyValue(Object instance, String[] properties, int nestedIndex) throws Exception {
-        String propertyName = properties[nestedIndex];
-        Method m = instance.getClass().getMethod(toGetterString(propertyName), null);
-        Object result = m.invoke(instance, (Object[]) null);
-        if (nestedIndex + 1 < properties.length) {
-            return getPropertyValue(result, properties, nestedIndex + 1);
+    private static Method[] getGetters(Class<?> instanceClass, String propertyName) throws NoSuchMethodException {
+        String[] properties = StringUtils.split(propertyName, "#");
+        Method[] getters = new Method[properties.length];
+        Class<?> propertyClass = instanceClass;
+        for (int i = 0; i < properties.length; i++) {
+            getters[i] = propertyClass.getMethod(toGetterString(properties[i]));
+            propertyClass = getters[i].getReturnType();
         }
-        return result;
+        return getters;
     }
 
     /**
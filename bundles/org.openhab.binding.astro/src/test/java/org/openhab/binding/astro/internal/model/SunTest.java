@@ -62,6 +62,17 @@ public class SunTest {
                 PropertyUtils.getState(new ChannelUID("astro:sun:home:phase#name"), null, sun));
     }
 
+    @Test
+    public void testGetStateAfterPhaseNameChanged() throws Exception {
+        ChannelUID channelUID = new ChannelUID("astro:sun:home:phase#name");
+        sun.getPhase().setName(SunPhaseName.DAYLIGHT);
+        assertEquals(new StringType("DAYLIGHT"), PropertyUtils.getState(channelUID, null, sun));
+
+        sun.getPhase().setName(SunPhaseName.CIVIL_DUSK);
+
+        assertEquals(new StringType("CIVIL_DUSK"), PropertyUtils.getState(channelUID, null, sun));
+    }
+
     @Test(expected = NullPointerException.class)
     public void testGetStateWhenNullPhase() throws Exception {
         sun.setPhase(null);
@@ -15,14 +15,15 @@ package org.openhab.binding.bluetooth.bluegiga.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
-import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -37,6 +38,10 @@ import org.slf4j.LoggerFactory;
 /**
  * The main handler class for interacting with the BlueGiga serial API. This class provides transaction management and
  * queuing of of data, and conversion of packets from the serial stream into command and response classes.
+ * <p>
+ * Transactions are queued per connection handle. Only a single command may await its response on the serial line,
+ * but once a GATT procedure has been started on one connection, commands for other connections are sent while the
+ * procedure is running. Each connection has at most one transaction in flight until the procedure completes.
  *
  * @author Chris Jackson - Initial contribution and API
  *
@@ -44,7 +49,13 @@ import org.slf4j.LoggerFactory;
 public class BlueGigaSerialHandler {
 
     private static final int BLE_MAX_LENGTH = 64;
-    private static final int TRANSACTION_TIMEOUT_PERIOD = 50;
+    private static final int TRANSACTION_TIMEOUT_PERIOD = 500;
+    private static final int TRANSACTION_RETRIES = 2;
+    private static final int PROCEDURE_TIMEOUT_PERIOD = 10000;
+
+    private static final int CLASS_CONNECTION = 0x03;
+    private static final int CLASS_ATTCLIENT = 0x04;
+    private static final int CONNECTION_DISCONNECTED = 0x04;
 
     private final Logger logger = LoggerFactory.getLogger(BlueGigaSerialHandler.class);
 
@@ -52,16 +63,36 @@ public class BlueGigaSerialHandler {
      * The portName portName output stream.
      */
     private final OutputStream outputStream;
-    private final Queue<BlueGigaCommand> sendQueue = new LinkedList<BlueGigaCommand>();
     private final Timer timer = new Timer();
     private TimerTask timerTask = null;
     private Thread parserThread = null;
     private final ExecutorService executor = ThreadPoolManager.getPool("bluegiga");
 
     /**
-     * Transaction listeners are used internally to correlate the commands and responses
+     * Lock protecting the transaction queues and the in-flight state
+     */
+    private final Object transactionLock = new Object();
+
+    /**
+     * Queues of transactions waiting to be sent, keyed by connection handle. Commands that are not bound to a
+     * connection are queued under {@link BlueGigaTransaction#NO_CONNECTION}.
      */
-    private final List<BluetoothListener<? extends BlueGigaResponse>> transactionListeners = new CopyOnWriteArrayList<>();
+    private final Map<Integer, Queue<BlueGigaTransaction<?>>> transactionQueues = new LinkedHashMap<>();
+
+    /**
+     * The transaction in flight for each busy connection handle
+     */
+    private final Map<Integer, BlueGigaTransaction<?>> busyConnections = new HashMap<>();
+
+    /**
+     * Timers guarding the GATT procedure running on a connection
+     */
+    private final Map<Integer, TimerTask> procedureTimers = new HashMap<>();
+
+    /**
+     * The transaction sent on the serial line which is awaiting its response
+     */
+    private BlueGigaTransaction<?> outstandingTransaction;
 
     /**
      * The event listeners will be notified of any asynchronous events
@@ -130,10 +161,13 @@ public class BlueGigaSerialHandler {
                             logger.trace("BLE RX: {}", responsePacket);
                             if (responsePacket != null) {
                                 if (responsePacket.isEvent()) {
+                                    processEvent(inputBuffer);
                                     notifyEventListeners(responsePacket);
                                 } else {
-                                    notifyTransactionComplete(responsePacket);
+                                    processResponse(inputBuffer, responsePacket);
                                 }
+                            } else if ((inputBuffer[0] & 0x80) == 0) {
+                                processResponse(inputBuffer, null);
                             }
 
                             inputCount = 0;
@@ -183,11 +217,19 @@ public class BlueGigaSerialHandler {
      */
     public void close(long timeout) {
         close = true;
-        executor.shutdownNow();
-        if (timerTask != null) {
-            timerTask.cancel();
-            timerTask = null;
+        synchronized (transactionLock) {
+            resetTransactionTimer();
+            BlueGigaException reason = new BlueGigaException("BlueGiga handler closed");
+            if (outstandingTransaction != null) {
+                outstandingTransaction.fail(reason);
+                outstandingTransaction = null;
+            }
+            transactionQueues.values().forEach(queue -> queue.forEach(transaction -> transaction.fail(reason)));
+            transactionQueues.clear();
+            busyConnections.clear();
+            procedureTimers.clear();
         }
+        executor.shutdownNow();
         timer.cancel();
         try {
             parserThread.interrupt();
@@ -207,10 +249,10 @@ public class BlueGigaSerialHandler {
     }
 
     // Synchronize this method to ensure a packet gets sent as a block
-    private synchronized void sendFrame(BlueGigaCommand bleFrame) {
+    private synchronized void sendFrame(BlueGigaTransaction<?> transaction) {
         // Send the data
         try {
-            int[] payload = bleFrame.serialize();
+            int[] payload = transaction.getPayload();
             logger.trace("TX BLE frame: {}", printHex(payload, payload.length));
             for (int b : payload) {
                 outputStream.write(b);
@@ -219,73 +261,175 @@ public class BlueGigaSerialHandler {
             throw new BlueGigaException("Error sending BLE frame", e);
         }
 
-        logger.trace("--> TX BLE frame: {}", bleFrame);
+        logger.trace("--> TX BLE frame: {}", transaction.getCommand());
     }
 
-    // Synchronize this method so we can do the window check without interruption.
-    // Otherwise this method could be called twice from different threads that could end up with
-    // more than the TX_WINDOW number of frames sent.
-    private synchronized void sendNextFrame() {
-        BlueGigaCommand nextFrame = sendQueue.poll();
-        if (nextFrame == null) {
-            // Nothing to send
-            return;
+    /**
+     * Sends the next queued transaction if the serial line is free. BGAPI only allows a single command to be awaiting
+     * its response, but GATT procedures on different connections may run concurrently. Connections are served in a
+     * round robin manner, and a connection with a procedure in progress is skipped until the procedure completes.
+     */
+    private void sendNextFrame() {
+        synchronized (transactionLock) {
+            if (outstandingTransaction != null || close) {
+                return;
+            }
+
+            BlueGigaTransaction<?> nextTransaction = null;
+            Iterator<Map.Entry<Integer, Queue<BlueGigaTransaction<?>>>> iterator = transactionQueues.entrySet()
+                    .iterator();
+            while (iterator.hasNext() && nextTransaction == null) {
+                Map.Entry<Integer, Queue<BlueGigaTransaction<?>>> entry = iterator.next();
+                if (busyConnections.containsKey(entry.getKey())) {
+                    continue;
+                }
+                Queue<BlueGigaTransaction<?>> queue = entry.getValue();
+                nextTransaction = queue.poll();
+                while (nextTransaction != null && nextTransaction.getFuture().isDone()) {
+                    // Cancelled by the caller while queued
+                    nextTransaction = queue.poll();
+                }
+                if (nextTransaction != null) {
+                    // Move the connection to the end of the queue so other connections get their turn
+                    iterator.remove();
+                    if (!queue.isEmpty()) {
+                        transactionQueues.put(entry.getKey(), queue);
+                    }
+                } else if (queue.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+            if (nextTransaction == null) {
+                // Nothing to send
+                return;
+            }
+
+            if (nextTransaction.getConnection() != BlueGigaTransaction.NO_CONNECTION) {
+                busyConnections.put(nextTransaction.getConnection(), nextTransaction);
+            }
+            sendTransactionFrame(nextTransaction);
         }
+    }
 
-        sendFrame(nextFrame);
+    private void sendTransactionFrame(BlueGigaTransaction<?> transaction) {
+        outstandingTransaction = transaction;
+        transaction.nextAttempt();
+        startTransactionTimer(transaction);
+        try {
+            sendFrame(transaction);
+        } catch (BlueGigaException e) {
+            completeOutstandingTransaction(transaction, null, e);
+        }
     }
 
     /**
      * Add a {@link BlueGigaCommand} frame to the send queue. The sendQueue is a
-     * FIFO queue. This method queues a {@link BlueGigaCommand} frame without
+     * FIFO queue per connection. This method queues a {@link BlueGigaCommand} frame without
      * waiting for a response.
      *
      * @param transaction
      *            {@link BlueGigaCommand}
      */
     public void queueFrame(BlueGigaCommand request) {
-        logger.trace("TX BLE frame: {}", request);
+        queueTransaction(new BlueGigaTransaction<>(request, BlueGigaResponse.class));
+    }
+
+    private void queueTransaction(BlueGigaTransaction<?> transaction) {
+        logger.trace("TX BLE frame: {}", transaction.getCommand());
         checkIfAlive();
-        sendQueue.add(request);
-        logger.trace("TX BLE queue: {}", sendQueue.size());
+        synchronized (transactionLock) {
+            Queue<BlueGigaTransaction<?>> queue = transactionQueues.computeIfAbsent(transaction.getConnection(),
+                    connection -> new LinkedList<>());
+            queue.add(transaction);
+            logger.trace("TX BLE queue for connection {}: {}", transaction.getConnection(), queue.size());
+        }
         sendNextFrame();
     }
 
     /**
-     * Notify any transaction listeners when we receive a response.
+     * Correlates a received response with the outstanding transaction.
      *
-     * @param response
-     *            the response data received
-     * @return true if the response was processed
+     * @param packet the raw response packet
+     * @param response the deserialized response, or null if the packet is unknown
      */
-    private boolean notifyTransactionComplete(final BlueGigaResponse response) {
-        boolean processed = false;
+    private void processResponse(int[] packet, BlueGigaResponse response) {
+        synchronized (transactionLock) {
+            BlueGigaTransaction<?> transaction = outstandingTransaction;
+            if (transaction == null || !transaction.matches(packet)) {
+                logger.debug("BlueGiga ignoring response which has not been requested: {}", response);
+                return;
+            }
 
-        synchronized (transactionListeners) {
-            for (BluetoothListener<? extends BlueGigaResponse> listener : transactionListeners) {
-                if (listener.transactionEvent(response)) {
-                    processed = true;
-                }
+            int connection = transaction.getConnection();
+            if (connection != BlueGigaTransaction.NO_CONNECTION && transaction.isProcedure()
+                    && BlueGigaTransaction.isSuccess(packet)) {
+                // The procedure is now running on the remote device - keep the connection busy until it completes
+                startProcedureTimer(connection, transaction);
+                completeOutstandingTransaction(transaction, response, null);
+                return;
             }
+            busyConnections.remove(connection);
+            completeOutstandingTransaction(transaction, response, null);
         }
-
-        return processed;
     }
 
-    private void addTransactionListener(BluetoothListener<? extends BlueGigaResponse> listener) {
-        synchronized (transactionListeners) {
-            if (transactionListeners.contains(listener)) {
-                return;
-            }
+    /**
+     * Releases a connection when an event signals the end of the GATT procedure running on it.
+     *
+     * @param packet the raw event packet
+     */
+    private void processEvent(int[] packet) {
+        int connection = BlueGigaTransaction.getConnection(packet);
+        if (connection == BlueGigaTransaction.NO_CONNECTION) {
+            return;
+        }
 
-            transactionListeners.add(listener);
+        int commandClass = packet[2];
+        int commandMethod = packet[3];
+        boolean disconnected = commandClass == CLASS_CONNECTION && commandMethod == CONNECTION_DISCONNECTED;
+        if (!disconnected && commandClass != CLASS_ATTCLIENT) {
+            return;
         }
+
+        synchronized (transactionLock) {
+            if (!disconnected) {
+                BlueGigaTransaction<?> transaction = busyConnections.get(connection);
+                if (transaction == null || transaction == outstandingTransaction
+                        || !transaction.isCompletedBy(packet)) {
+                    // Notifications, partial results, or the response to the command has not been received yet
+                    return;
+                }
+            }
+            busyConnections.remove(connection);
+            cancelProcedureTimer(connection);
+            if (disconnected) {
+                Queue<BlueGigaTransaction<?>> queue = transactionQueues.remove(connection);
+                if (queue != null) {
+                    BlueGigaException reason = new BlueGigaException("BlueGiga connection " + connection + " closed");
+                    queue.forEach(transaction -> transaction.fail(reason));
+                }
+            }
+        }
+        sendNextFrame();
     }
 
-    private void removeTransactionListener(BluetoothListener<?> listener) {
-        synchronized (transactionListeners) {
-            transactionListeners.remove(listener);
+    /**
+     * Completes the outstanding transaction and moves on to the next queued transaction. Must be called with the
+     * transaction lock held.
+     */
+    private void completeOutstandingTransaction(BlueGigaTransaction<?> transaction, BlueGigaResponse response,
+            Exception error) {
+        if (outstandingTransaction == transaction) {
+            outstandingTransaction = null;
+            resetTransactionTimer();
         }
+        if (error != null) {
+            busyConnections.remove(transaction.getConnection());
+            transaction.fail(error);
+        } else {
+            transaction.complete(response);
+        }
+        sendNextFrame();
     }
 
     /**
@@ -296,63 +440,9 @@ public class BlueGigaSerialHandler {
      */
     public <T extends BlueGigaResponse> Future<T> sendBleRequestAsync(final BlueGigaCommand bleCommand,
             final Class<T> expected) {
-        checkIfAlive();
-        class TransactionWaiter implements Callable<T>, BluetoothListener<T> {
-            private boolean complete;
-            private BlueGigaResponse response;
-
-            @SuppressWarnings("unchecked")
-            @Override
-            public T call() {
-                // Register a listener
-                addTransactionListener(this);
-
-                // Send the transaction
-                queueFrame(bleCommand);
-
-                // Wait for the transaction to complete
-                synchronized (this) {
-                    while (!complete) {
-                        try {
-                            wait();
-                        } catch (InterruptedException e) {
-                            complete = true;
-                        }
-                    }
-                }
-
-                // Remove the listener
-                removeTransactionListener(this);
-
-                return (T) response;
-            }
-
-            @Override
-            public boolean transactionEvent(BlueGigaResponse bleResponse) {
-                // Check if this response completes our transaction
-                if (bleCommand.hashCode() == bleResponse.hashCode()) {
-                    return false;
-                }
-
-                if (!expected.isInstance(bleResponse)) {
-                    // ignoring response if it was not requested
-                    logger.warn("Ignoring {} response which has not been requested.",
-                            bleResponse.getClass().getSimpleName());
-                    return false;
-                }
-
-                response = bleResponse;
-                complete = true;
-                synchronized (this) {
-                    notify();
-                }
-
-                return true;
-            }
-        }
-
-        Callable<T> worker = new TransactionWaiter();
-        return executor.submit(worker);
+        BlueGigaTransaction<T> transaction = new BlueGigaTransaction<>(bleCommand, expected);
+        queueTransaction(transaction);
+        return transaction.getFuture();
     }
 
     /**
@@ -391,20 +481,22 @@ public class BlueGigaSerialHandler {
         } catch (InterruptedException | ExecutionException e) {
             futureResponse.cancel(true);
             throw new BlueGigaException("Error sending BLE transaction to listeners: ", e);
+        } catch (TimeoutException e) {
+            futureResponse.cancel(true);
+            throw e;
         }
     }
 
-    @SuppressWarnings("unused")
-    private synchronized void startTransactionTimer() {
+    private void startTransactionTimer(BlueGigaTransaction<?> transaction) {
         // Stop any existing timer
         resetTransactionTimer();
 
         // Create the timer task
-        timerTask = new TransactionTimer();
+        timerTask = new TransactionTimer(transaction);
         timer.schedule(timerTask, TRANSACTION_TIMEOUT_PERIOD);
     }
 
-    private synchronized void resetTransactionTimer() {
+    private void resetTransactionTimer() {
         // Stop any existing timer
         if (timerTask != null) {
             timerTask.cancel();
@@ -412,9 +504,78 @@ public class BlueGigaSerialHandler {
         }
     }
 
+    private void startProcedureTimer(int connection, BlueGigaTransaction<?> transaction) {
+        cancelProcedureTimer(connection);
+        TimerTask procedureTask = new ProcedureTimer(connection, transaction);
+        procedureTimers.put(connection, procedureTask);
+        timer.schedule(procedureTask, PROCEDURE_TIMEOUT_PERIOD);
+    }
+
+    private void cancelProcedureTimer(int connection) {
+        TimerTask procedureTask = procedureTimers.remove(connection);
+        if (procedureTask != null) {
+            procedureTask.cancel();
+        }
+    }
+
+    /**
+     * Resends the outstanding transaction if no response was received in time, and fails it once the retries are
+     * exhausted.
+     */
     private class TransactionTimer extends TimerTask {
+        private final BlueGigaTransaction<?> transaction;
+
+        TransactionTimer(BlueGigaTransaction<?> transaction) {
+            this.transaction = transaction;
+        }
+
+        @Override
+        public void run() {
+            synchronized (transactionLock) {
+                if (outstandingTransaction != transaction || close) {
+                    return;
+                }
+                if (transaction.getFuture().isDone() || transaction.nextAttempt() > TRANSACTION_RETRIES + 1) {
+                    logger.debug("BlueGiga transaction timed out: {}", transaction);
+                    completeOutstandingTransaction(transaction, null,
+                            new TimeoutException("No response to " + transaction.getCommand()));
+                    return;
+                }
+                logger.debug("BlueGiga transaction timeout - resending: {}", transaction);
+                timerTask = new TransactionTimer(transaction);
+                timer.schedule(timerTask, TRANSACTION_TIMEOUT_PERIOD);
+                try {
+                    sendFrame(transaction);
+                } catch (BlueGigaException e) {
+                    completeOutstandingTransaction(transaction, null, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases a connection if the GATT procedure running on it does not complete in time.
+     */
+    private class ProcedureTimer extends TimerTask {
+        private final int connection;
+        private final BlueGigaTransaction<?> transaction;
+
+        ProcedureTimer(int connection, BlueGigaTransaction<?> transaction) {
+            this.connection = connection;
+            this.transaction = transaction;
+        }
+
         @Override
         public void run() {
+            synchronized (transactionLock) {
+                if (procedureTimers.get(connection) != this || busyConnections.get(connection) != transaction) {
+                    return;
+                }
+                logger.debug("BlueGiga procedure timed out on connection {}: {}", connection, transaction);
+                procedureTimers.remove(connection);
+                busyConnections.remove(connection);
+            }
+            sendNextFrame();
         }
     }
 
@@ -492,8 +653,4 @@ public class BlueGigaSerialHandler {
         }
     }
 
-    interface BluetoothListener<T extends BlueGigaResponse> {
-        boolean transactionEvent(BlueGigaResponse response);
-    }
-
 }
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single BGAPI transaction tracked by the {@link BlueGigaSerialHandler}. The transaction holds the serialized
+ * command, the connection handle it is bound to (if any) and the future that is completed once the correlated response
+ * has been received.
+ * <p>
+ * Commands of the <i>connection</i> and <i>attclient</i> classes, as well as <i>encrypt_start</i>, carry the
+ * connection handle as their first parameter. Their responses and events do the same, which allows responses and
+ * events to be matched to a transaction without knowing the concrete packet class.
+ *
+ * @author agent - Initial contribution
+ */
+class BlueGigaTransaction<T extends BlueGigaResponse> {
+    /**
+     * Connection key used for commands that are not bound to a connection (system, gap, ...)
+     */
+    static final int NO_CONNECTION = -1;
+
+    private static final int CLASS_CONNECTION = 0x03;
+    private static final int CLASS_ATTCLIENT = 0x04;
+    private static final int CLASS_SECURITY = 0x05;
+    private static final int SECURITY_ENCRYPT_START = 0x00;
+    private static final int ATTCLIENT_READ_BY_HANDLE = 0x04;
+    private static final int ATTCLIENT_WRITE_COMMAND = 0x06;
+    private static final int ATTCLIENT_INDICATE_CONFIRM = 0x07;
+    private static final int ATTCLIENT_READ_MULTIPLE = 0x0B;
+    private static final int ATTCLIENT_PROCEDURE_COMPLETED_EVENT = 0x01;
+    private static final int ATTCLIENT_ATTRIBUTE_VALUE_EVENT = 0x05;
+    private static final int ATTCLIENT_READ_MULTIPLE_RESPONSE_EVENT = 0x06;
+    private static final int ATTRIBUTE_VALUE_TYPE_READ = 0x00;
+
+    private final BlueGigaCommand command;
+    private final int[] payload;
+    private final Class<T> expected;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private int attempts = 0;
+
+    BlueGigaTransaction(BlueGigaCommand command, Class<T> expected) {
+        this.command = command;
+        this.payload = command.serialize();
+        this.expected = expected;
+    }
+
+    BlueGigaCommand getCommand() {
+        return command;
+    }
+
+    int[] getPayload() {
+        return payload;
+    }
+
+    CompletableFuture<T> getFuture() {
+        return future;
+    }
+
+    /**
+     * Increments and returns the number of times this transaction has been sent
+     *
+     * @return the number of send attempts including the current one
+     */
+    int nextAttempt() {
+        return ++attempts;
+    }
+
+    /**
+     * Gets the connection handle this transaction is bound to
+     *
+     * @return the connection handle, or {@link #NO_CONNECTION}
+     */
+    int getConnection() {
+        return getConnection(payload);
+    }
+
+    /**
+     * Checks if the command starts a GATT procedure on the remote device. For these commands the response only
+     * acknowledges the start of the procedure, and the connection remains busy until the procedure completes.
+     *
+     * @return true if the command starts a GATT procedure
+     */
+    boolean isProcedure() {
+        int commandMethod = payload[3];
+        return payload[2] == CLASS_ATTCLIENT && commandMethod != ATTCLIENT_WRITE_COMMAND
+                && commandMethod != ATTCLIENT_INDICATE_CONFIRM;
+    }
+
+    /**
+     * Checks if the raw attclient event packet ends the GATT procedure started by this transaction. Every procedure
+     * ends with <i>procedure_completed</i> on failure. A successful <i>read_by_handle</i> ends with the
+     * <i>attribute_value</i> of the read handle instead, and a successful <i>read_multiple</i> with the
+     * <i>read_multiple_response</i>. Notifications, indications and the partial results of other procedures do not end
+     * the procedure.
+     *
+     * @param packet the raw event packet for the connection of this transaction
+     * @return true if the procedure is completed
+     */
+    boolean isCompletedBy(int[] packet) {
+        if (packet[2] != CLASS_ATTCLIENT) {
+            return false;
+        }
+        switch (packet[3]) {
+            case ATTCLIENT_PROCEDURE_COMPLETED_EVENT:
+                return true;
+            case ATTCLIENT_ATTRIBUTE_VALUE_EVENT:
+                return payload[3] == ATTCLIENT_READ_BY_HANDLE && packet.length >= 8 && packet[5] == payload[5]
+                        && packet[6] == payload[6] && packet[7] == ATTRIBUTE_VALUE_TYPE_READ;
+            case ATTCLIENT_READ_MULTIPLE_RESPONSE_EVENT:
+                return payload[3] == ATTCLIENT_READ_MULTIPLE;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks if the raw response packet answers this transaction
+     *
+     * @param packet the raw response packet
+     * @return true if class, method and connection handle match
+     */
+    boolean matches(int[] packet) {
+        return packet[2] == payload[2] && packet[3] == payload[3] && getConnection(packet) == getConnection();
+    }
+
+    /**
+     * Completes the transaction with the received response
+     *
+     * @param response the deserialized response, or null if the packet could not be decoded
+     */
+    void complete(BlueGigaResponse response) {
+        if (expected.isInstance(response)) {
+            future.complete(expected.cast(response));
+        } else {
+            future.completeExceptionally(new BlueGigaException(
+                    "Unexpected response " + response + " to " + command + ", expected " + expected.getSimpleName()));
+        }
+    }
+
+    void fail(Throwable cause) {
+        future.completeExceptionally(cause);
+    }
+
+    /**
+     * Gets the connection handle from a raw command, response or event packet
+     *
+     * @param packet the raw packet
+     * @return the connection handle, or {@link #NO_CONNECTION} if the packet is not bound to a connection
+     */
+    static int getConnection(int[] packet) {
+        if (packet.length < 5) {
+            return NO_CONNECTION;
+        }
+        int commandClass = packet[2];
+        if (commandClass == CLASS_CONNECTION || commandClass == CLASS_ATTCLIENT
+                || (commandClass == CLASS_SECURITY && packet[3] == SECURITY_ENCRYPT_START)) {
+            return packet[4];
+        }
+        return NO_CONNECTION;
+    }
+
+    /**
+     * Checks if a raw attclient response packet reports success. All attclient responses carry the connection handle
+     * followed by the 16 bit result code.
+     *
+     * @param packet the raw response packet
+     * @return true if the result code is 0
+     */
+    static boolean isSuccess(int[] packet) {
+        return packet.length >= 7 && packet[5] == 0 && packet[6] == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "BlueGigaTransaction [command=" + command + ", attempts=" + attempts + "]";
+    }
+}
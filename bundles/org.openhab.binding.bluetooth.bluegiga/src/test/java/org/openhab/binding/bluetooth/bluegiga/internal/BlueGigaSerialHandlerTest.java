@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.attributeclient.BlueGigaReadByHandleCommand;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.attributeclient.BlueGigaReadByHandleResponse;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaHelloCommand;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.system.BlueGigaHelloResponse;
+
+/**
+ * Tests the per connection transaction handling of {@link BlueGigaSerialHandler}
+ *
+ * @author agent - Initial contribution
+ */
+public class BlueGigaSerialHandlerTest {
+
+    private PipedOutputStream dongleOutput;
+    private ByteArrayOutputStream dongleInput;
+    private BlueGigaSerialHandler handler;
+
+    @Before
+    public void setUp() throws IOException {
+        dongleOutput = new PipedOutputStream();
+        dongleInput = new ByteArrayOutputStream();
+        handler = new BlueGigaSerialHandler(new PipedInputStream(dongleOutput), dongleInput);
+    }
+
+    @After
+    public void tearDown() {
+        handler.close(1000);
+    }
+
+    @Test
+    public void testConcurrentConnections() throws Exception {
+        Future<BlueGigaReadByHandleResponse> first = handler.sendBleRequestAsync(readByHandle(0),
+                BlueGigaReadByHandleResponse.class);
+        Future<BlueGigaReadByHandleResponse> second = handler.sendBleRequestAsync(readByHandle(0),
+                BlueGigaReadByHandleResponse.class);
+        Future<BlueGigaReadByHandleResponse> other = handler.sendBleRequestAsync(readByHandle(1),
+                BlueGigaReadByHandleResponse.class);
+        waitForFrames(1);
+
+        // The read on connection 0 is accepted - connection 1 may now be served while the procedure is running
+        respond(0x00, 0x03, 0x04, 0x04, 0x00, 0x00, 0x00);
+        assertEquals(0, first.get(1, TimeUnit.SECONDS).getConnection());
+        waitForFrames(2);
+        assertEquals(1, lastFrameConnection());
+
+        respond(0x00, 0x03, 0x04, 0x04, 0x01, 0x00, 0x00);
+        assertEquals(1, other.get(1, TimeUnit.SECONDS).getConnection());
+        assertFalse(second.isDone());
+        assertEquals(2 * 7, dongleInput.size());
+
+        // Neither a notification of the read handle nor the value of another handle completes the read
+        respond(0x80, 0x06, 0x04, 0x05, 0x00, 0x10, 0x00, 0x01, 0x01, 0x42);
+        respond(0x80, 0x06, 0x04, 0x05, 0x00, 0x11, 0x00, 0x00, 0x01, 0x42);
+        Thread.sleep(100);
+        assertEquals(2 * 7, dongleInput.size());
+
+        // Attribute value event completes the procedure on connection 0
+        respond(0x80, 0x06, 0x04, 0x05, 0x00, 0x10, 0x00, 0x00, 0x01, 0x42);
+        waitForFrames(3);
+        assertEquals(0, lastFrameConnection());
+
+        respond(0x00, 0x03, 0x04, 0x04, 0x00, 0x00, 0x00);
+        assertEquals(0, second.get(1, TimeUnit.SECONDS).getConnection());
+    }
+
+    @Test
+    public void testTimeoutAndRetry() throws Exception {
+        Future<BlueGigaHelloResponse> hello = handler.sendBleRequestAsync(new BlueGigaHelloCommand(),
+                BlueGigaHelloResponse.class);
+        try {
+            hello.get(5, TimeUnit.SECONDS);
+            fail("Expected the transaction to time out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        // Initial attempt plus two retries
+        assertEquals(3 * 4, dongleInput.size());
+    }
+
+    private BlueGigaReadByHandleCommand readByHandle(int connection) {
+        BlueGigaReadByHandleCommand command = new BlueGigaReadByHandleCommand();
+        command.setConnection(connection);
+        command.setChrHandle(0x10);
+        return command;
+    }
+
+    private void respond(int... packet) throws IOException {
+        for (int val : packet) {
+            dongleOutput.write(val);
+        }
+        dongleOutput.flush();
+    }
+
+    private int lastFrameConnection() {
+        byte[] data = dongleInput.toByteArray();
+        return data[data.length - 3];
+    }
+
+    private void waitForFrames(int frames) throws InterruptedException {
+        for (int cnt = 0; cnt < 100 && dongleInput.size() < frames * 7; cnt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(frames * 7, dongleInput.size());
+    }
+}
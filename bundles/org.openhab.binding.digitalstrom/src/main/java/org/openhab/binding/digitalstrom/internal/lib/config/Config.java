@@ -94,6 +94,13 @@ public class Config {
     public static final int DEFAULT_POLLING_FREQUENCY = 1000; // in milliseconds
     private int pollingFrequency = DEFAULT_POLLING_FREQUENCY; // in milliseconds
 
+    /**
+     * Default interval in milliseconds to reconcile the device structure with the digitalSTROM-Server. Changes of the
+     * structure are normally announced by events, so the reconciliation only catches missed events.
+     */
+    public static final int DEFAULT_DEVICE_RECONCILIATION_INTERVAL = 300000; // in milliseconds
+    private int deviceReconciliationInterval = DEFAULT_DEVICE_RECONCILIATION_INTERVAL; // in milliseconds
+
     /* Sensordata */
     // Sensodata read config
 
@@ -442,6 +449,24 @@ public class Config {
         this.sensordataRefreshInterval = sensordataRefreshInterval;
     }
 
+    /**
+     * Returns the interval in milliseconds to reconcile the device structure with the digitalSTROM-Server.
+     *
+     * @return the device reconciliation interval in milliseconds
+     */
+    public int getDeviceReconciliationInterval() {
+        return deviceReconciliationInterval;
+    }
+
+    /**
+     * Sets the interval in milliseconds to reconcile the device structure with the digitalSTROM-Server.
+     *
+     * @param deviceReconciliationInterval in milliseconds
+     */
+    public void setDeviceReconciliationInterval(int deviceReconciliationInterval) {
+        this.deviceReconciliationInterval = deviceReconciliationInterval;
+    }
+
     /**
      * Returns the interval to refresh the total power sensor data.
      *
@@ -596,6 +621,7 @@ public class Config {
         setTrashDeviceDeleteTime(config.getTrashDeviceDeleteTime());
         setBinCheckTime(config.getBinCheckTime());
         setPollingFrequency(config.getPollingFrequency());
+        setDeviceReconciliationInterval(config.getDeviceReconciliationInterval());
         setSensordataRefreshInterval(config.getSensordataRefreshInterval());
         setTotalPowerUpdateInterval(config.getTotalPowerUpdateInterval());
         setSensorReadingWaitTime(config.getSensorReadingWaitTime());
@@ -613,7 +639,8 @@ public class Config {
                 + ", readTimeout=" + readTimeout + ", sensordataConnectionTimeout=" + sensordataConnectionTimeout
                 + ", sensordataReadTimeout=" + sensordataReadTimeout + ", trustCertPath=" + trustCertPath
                 + ", trashDeviceDeleteTime=" + trashDeviceDeleteTime + ", binCheckTime=" + binCheckTime
-                + ", pollingFrequency=" + pollingFrequency + ", sensordataRefreshInterval=" + sensordataRefreshInterval
+                + ", pollingFrequency=" + pollingFrequency + ", deviceReconciliationInterval="
+                + deviceReconciliationInterval + ", sensordataRefreshInterval=" + sensordataRefreshInterval
                 + ", totalPowerUpdateInterval=" + totalPowerUpdateInterval + ", sensorReadingWaitTime="
                 + sensorReadingWaitTime + ", mediumPriorityFactor=" + mediumPriorityFactor + ", lowPriorityFactor="
                 + lowPriorityFactor + ", eventListenerRefreshinterval=" + eventListenerRefreshinterval
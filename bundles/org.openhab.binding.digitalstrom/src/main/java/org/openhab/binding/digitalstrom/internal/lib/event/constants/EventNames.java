@@ -27,5 +27,7 @@ public class EventNames {
     public static final String UNDO_SCENE = "undoScene";
     public static final String DEVICE_SENSOR_VALUE = "deviceSensorValue";
     public static final String DEVICE_BINARY_INPUT_EVENT = "deviceBinaryInputEvent";
+    public static final String MODEL_READY = "model_ready";
+    public static final String DS_METER_READY = "dsMeter_ready";
 
 }
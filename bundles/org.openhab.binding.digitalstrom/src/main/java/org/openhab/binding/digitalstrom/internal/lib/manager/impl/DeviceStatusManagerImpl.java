@@ -14,13 +14,15 @@ package org.openhab.binding.digitalstrom.internal.lib.manager.impl;
 
 import java.util.Arrays;
 import java.util.Calendar;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.digitalstrom.internal.lib.GeneralLibConstance;
@@ -85,7 +87,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
      * Contains all supported event-types.
      */
     public static final List<String> SUPPORTED_EVENTS = Arrays.asList(EventNames.DEVICE_SENSOR_VALUE,
-            EventNames.DEVICE_BINARY_INPUT_EVENT);
+            EventNames.DEVICE_BINARY_INPUT_EVENT, EventNames.MODEL_READY, EventNames.DS_METER_READY);
 
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(Config.THREADPOOL_NAME);
     private ScheduledFuture<?> pollingScheduler;
@@ -112,7 +114,8 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     private SceneReadingJobExecutor sceneJobExecutor;
     private EventListener eventListener;
 
-    private final List<TrashDevice> trashDevices = new LinkedList<TrashDevice>();
+    private final Map<DSID, TrashDevice> trashDevices = new ConcurrentHashMap<DSID, TrashDevice>();
+    private final AtomicBoolean structureChanged = new AtomicBoolean(true);
 
     private long lastBinCheck = 0;
     private ManagerStates state = ManagerStates.STOPPED;
@@ -225,7 +228,10 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     }
 
     /**
-     * Check and updates the {@link Device} structure, configurations and status.
+     * Sends the outstanding commands of the {@link Device}'s and synchronizes the {@link Device} structure,
+     * configurations and status.<br>
+     * The structure is loaded at the start, if the digitalSTROM-Server announces a structure change through an event
+     * and periodically to reconcile missed events. The states of the devices are updated through events in between.
      *
      * @author Michael Ochel - initial contributer
      * @author Matthias Siegele - initial contributer
@@ -233,6 +239,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     private class PollingRunnable implements Runnable {
         private boolean devicesLoaded = false;
         private long nextSensorUpdate = 0;
+        private long nextReconciliation = 0;
 
         @Override
         public void run() {
@@ -244,111 +251,25 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
                     stateChanged(ManagerStates.INITIALIZING);
                 }
             }
-            HashMap<DSID, Device> tempDeviceMap;
-            if (strucMan.getDeviceMap() != null) {
-                tempDeviceMap = (HashMap<DSID, Device>) strucMan.getDeviceMap();
-            } else {
-                tempDeviceMap = new HashMap<DSID, Device>();
-            }
 
-            List<Device> currentDeviceList = getDetailedDevices();
+            if (structureChanged.getAndSet(false) || nextReconciliation <= System.currentTimeMillis()) {
+                if (synchronizeStructure()) {
+                    nextReconciliation = System.currentTimeMillis() + config.getDeviceReconciliationInterval();
+                } else {
+                    // retry with the next polling cycle
+                    structureChanged.set(true);
+                }
+            }
 
             // update the current total power consumption
             if (nextSensorUpdate <= System.currentTimeMillis()) {
-                // check circuits
-                List<Circuit> circuits = digitalSTROMClient.getApartmentCircuits(connMan.getSessionToken());
-                for (Circuit circuit : circuits) {
-                    if (strucMan.getCircuitByDSID(circuit.getDSID()) != null) {
-                        if (!circuit.equals(strucMan.getCircuitByDSID(circuit.getDSID()))) {
-                            strucMan.updateCircuitConfig(circuit);
-                        }
-                    } else {
-                        strucMan.addCircuit(circuit);
-                        if (deviceDiscovery != null) {
-                            deviceDiscovery.onDeviceAdded(circuit);
-                        }
-                    }
-                }
                 getMeterData();
                 nextSensorUpdate = System.currentTimeMillis() + config.getTotalPowerUpdateInterval();
             }
 
-            while (!currentDeviceList.isEmpty()) {
-                Device currentDevice = currentDeviceList.remove(0);
-                DSID currentDeviceDSID = currentDevice.getDSID();
-                Device eshDevice = tempDeviceMap.remove(currentDeviceDSID);
-
-                if (eshDevice != null) {
-                    checkDeviceConfig(currentDevice, eshDevice);
-
-                    if (eshDevice.isPresent()) {
-                        // check device state updates
-                        while (!eshDevice.isDeviceUpToDate()) {
-                            DeviceStateUpdate deviceStateUpdate = eshDevice.getNextDeviceUpdateState();
-                            if (deviceStateUpdate != null) {
-                                switch (deviceStateUpdate.getType()) {
-                                    case DeviceStateUpdate.OUTPUT:
-                                    case DeviceStateUpdate.SLAT_ANGLE_INCREASE:
-                                    case DeviceStateUpdate.SLAT_ANGLE_DECREASE:
-                                        filterCommand(deviceStateUpdate, eshDevice);
-                                        break;
-                                    case DeviceStateUpdate.UPDATE_SCENE_CONFIG:
-                                    case DeviceStateUpdate.UPDATE_SCENE_OUTPUT:
-                                        updateSceneData(eshDevice, deviceStateUpdate);
-                                        break;
-                                    case DeviceStateUpdate.UPDATE_OUTPUT_VALUE:
-                                        if (deviceStateUpdate.getValueAsInteger() > -1) {
-                                            readOutputValue(eshDevice);
-                                        } else {
-                                            removeSensorJob(eshDevice, deviceStateUpdate);
-                                        }
-                                        break;
-                                    default:
-                                        sendComandsToDSS(eshDevice, deviceStateUpdate);
-                                }
-                            }
-                        }
-                    }
-
-                } else {
-                    logger.debug("Found new device!");
-                    if (trashDevices.isEmpty()) {
-                        currentDevice.setConfig(config);
-                        strucMan.addDeviceToStructure(currentDevice);
-                        logger.debug("trashDevices are empty, add Device with dSID {} to the deviceMap!",
-                                currentDevice.getDSID());
-                    } else {
-                        logger.debug("Search device in trashDevices.");
-                        TrashDevice foundTrashDevice = null;
-                        for (TrashDevice trashDevice : trashDevices) {
-                            if (trashDevice != null) {
-                                if (trashDevice.getDevice().equals(currentDevice)) {
-                                    foundTrashDevice = trashDevice;
-                                    logger.debug(
-                                            "Found device in trashDevices, add TrashDevice with dSID {} to the StructureManager!",
-                                            currentDeviceDSID);
-                                }
-                            }
-                        }
-                        if (foundTrashDevice != null) {
-                            trashDevices.remove(foundTrashDevice);
-                            strucMan.addDeviceToStructure(foundTrashDevice.getDevice());
-                        } else {
-                            strucMan.addDeviceToStructure(currentDevice);
-                            logger.debug(
-                                    "Can't find device in trashDevices, add Device with dSID: {} to the StructureManager!",
-                                    currentDeviceDSID);
-                        }
-                    }
-                    if (deviceDiscovery != null) {
-                        // only informs discovery, if the device is a output or a sensor device
-                        deviceDiscovery.onDeviceAdded(currentDevice);
-                        logger.debug("inform DeviceStatusListener: {} about added device with dSID {}",
-                                DeviceStatusListener.DEVICE_DISCOVERY, currentDevice.getDSID().getValue());
-                    } else {
-                        logger.debug(
-                                "The device discovery is not registrated, can't inform device discovery about found device.");
-                    }
+            for (Device eshDevice : strucMan.getDeviceMap().values()) {
+                if (eshDevice.isPresent() && !eshDevice.isDeviceUpToDate()) {
+                    sendDeviceStateUpdates(eshDevice);
                 }
             }
 
@@ -369,10 +290,65 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
                 sceneMan.generateScenes();
             }
 
-            for (Device device : tempDeviceMap.values()) {
+            if (!trashDevices.isEmpty() && (lastBinCheck + config.getBinCheckTime() < System.currentTimeMillis())) {
+                int dayOfYear = Calendar.getInstance().get(Calendar.DAY_OF_YEAR);
+                trashDevices.values().removeIf(trashDevice -> {
+                    if (trashDevice.isTimeToDelete(dayOfYear)) {
+                        logger.debug("Delete trashDevice: {}", trashDevice.getDevice().getDSID().getValue());
+                        return true;
+                    }
+                    return false;
+                });
+                lastBinCheck = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * Loads the circuits and devices from the digitalSTROM-Server and applies the differences to the
+         * {@link StructureManager}.
+         *
+         * @return true, if the structure could be loaded
+         */
+        private boolean synchronizeStructure() {
+            Map<DSID, Device> currentDevices = getDetailedDevices();
+            if (currentDevices == null) {
+                logger.debug("Can't load the devices from the digitalSTROM-Server.");
+                return false;
+            }
+            logger.debug("Synchronize structure with {} devices", currentDevices.size());
+
+            // check circuits
+            List<Circuit> circuits = digitalSTROMClient.getApartmentCircuits(connMan.getSessionToken());
+            if (circuits != null) {
+                for (Circuit circuit : circuits) {
+                    Circuit intCircuit = strucMan.getCircuitByDSID(circuit.getDSID());
+                    if (intCircuit != null) {
+                        if (!circuit.equals(intCircuit)) {
+                            strucMan.updateCircuitConfig(circuit);
+                        }
+                    } else {
+                        strucMan.addCircuit(circuit);
+                        if (deviceDiscovery != null) {
+                            deviceDiscovery.onDeviceAdded(circuit);
+                        }
+                    }
+                }
+            }
+
+            Map<DSID, Device> removedDevices = strucMan.getDeviceMap();
+            for (Device currentDevice : currentDevices.values()) {
+                Device eshDevice = removedDevices.remove(currentDevice.getDSID());
+                if (eshDevice != null) {
+                    checkDeviceConfig(currentDevice, eshDevice);
+                } else {
+                    addDevice(currentDevice);
+                }
+            }
+
+            for (Device device : removedDevices.values()) {
                 logger.debug("Found removed devices.");
 
-                trashDevices.add(new TrashDevice(device));
+                trashDevices.put(device.getDSID(), new TrashDevice(device));
                 DeviceStatusListener listener = device.unregisterDeviceStatusListener();
                 if (listener != null) {
                     listener.onDeviceRemoved(null);
@@ -389,36 +365,84 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
                             "The device-Discovery is not registrated, can't inform device discovery about removed device.");
                 }
             }
+            return true;
+        }
 
-            if (!trashDevices.isEmpty() && (lastBinCheck + config.getBinCheckTime() < System.currentTimeMillis())) {
-                for (TrashDevice trashDevice : trashDevices) {
-                    if (trashDevice.isTimeToDelete(Calendar.getInstance().get(Calendar.DAY_OF_YEAR))) {
-                        logger.debug("Found trashDevice that have to delete!");
-                        trashDevices.remove(trashDevice);
-                        logger.debug("Delete trashDevice: {}", trashDevice.getDevice().getDSID().getValue());
+        private void addDevice(Device currentDevice) {
+            logger.debug("Found new device!");
+            TrashDevice foundTrashDevice = trashDevices.remove(currentDevice.getDSID());
+            if (foundTrashDevice != null) {
+                logger.debug("Found device in trashDevices, add TrashDevice with dSID {} to the StructureManager!",
+                        currentDevice.getDSID());
+                strucMan.addDeviceToStructure(foundTrashDevice.getDevice());
+            } else {
+                currentDevice.setConfig(config);
+                strucMan.addDeviceToStructure(currentDevice);
+                logger.debug("Add device with dSID {} to the StructureManager!", currentDevice.getDSID());
+            }
+            if (deviceDiscovery != null) {
+                // only informs discovery, if the device is a output or a sensor device
+                deviceDiscovery.onDeviceAdded(currentDevice);
+                logger.debug("inform DeviceStatusListener: {} about added device with dSID {}",
+                        DeviceStatusListener.DEVICE_DISCOVERY, currentDevice.getDSID().getValue());
+            } else {
+                logger.debug(
+                        "The device discovery is not registrated, can't inform device discovery about found device.");
+            }
+        }
+
+        private void sendDeviceStateUpdates(Device eshDevice) {
+            while (!eshDevice.isDeviceUpToDate()) {
+                DeviceStateUpdate deviceStateUpdate = eshDevice.getNextDeviceUpdateState();
+                if (deviceStateUpdate != null) {
+                    switch (deviceStateUpdate.getType()) {
+                        case DeviceStateUpdate.OUTPUT:
+                        case DeviceStateUpdate.SLAT_ANGLE_INCREASE:
+                        case DeviceStateUpdate.SLAT_ANGLE_DECREASE:
+                            filterCommand(deviceStateUpdate, eshDevice);
+                            break;
+                        case DeviceStateUpdate.UPDATE_SCENE_CONFIG:
+                        case DeviceStateUpdate.UPDATE_SCENE_OUTPUT:
+                            updateSceneData(eshDevice, deviceStateUpdate);
+                            break;
+                        case DeviceStateUpdate.UPDATE_OUTPUT_VALUE:
+                            if (deviceStateUpdate.getValueAsInteger() > -1) {
+                                readOutputValue(eshDevice);
+                            } else {
+                                removeSensorJob(eshDevice, deviceStateUpdate);
+                            }
+                            break;
+                        default:
+                            sendComandsToDSS(eshDevice, deviceStateUpdate);
                     }
                 }
-                lastBinCheck = System.currentTimeMillis();
             }
         }
 
-        private List<Device> getDetailedDevices() {
-            List<Device> deviceList = new LinkedList<Device>();
+        /**
+         * Returns the detailed {@link Device}'s of the digitalSTROM-Server indexed by their {@link DSID} or null, if
+         * the request failed.
+         *
+         * @return the devices or null
+         */
+        private Map<DSID, Device> getDetailedDevices() {
             JsonObject result = connMan.getDigitalSTROMAPI().query2(connMan.getSessionToken(), GET_DETAILD_DEVICES);
-            if (result != null && result.isJsonObject()) {
-                if (result.getAsJsonObject().get(GeneralLibConstance.QUERY_BROADCAST_ZONE_STRING).isJsonObject()) {
-                    result = result.getAsJsonObject().get(GeneralLibConstance.QUERY_BROADCAST_ZONE_STRING)
-                            .getAsJsonObject();
-                    for (Entry<String, JsonElement> entry : result.entrySet()) {
-                        if (!(entry.getKey().equals(JSONApiResponseKeysEnum.ZONE_ID.getKey())
-                                && entry.getKey().equals(JSONApiResponseKeysEnum.NAME.getKey()))
-                                && entry.getValue().isJsonObject()) {
-                            deviceList.add(new DeviceImpl(entry.getValue().getAsJsonObject()));
-                        }
+            if (result == null || !result.isJsonObject()) {
+                return null;
+            }
+            Map<DSID, Device> deviceMap = new LinkedHashMap<DSID, Device>();
+            JsonElement broadcastZone = result.get(GeneralLibConstance.QUERY_BROADCAST_ZONE_STRING);
+            if (broadcastZone != null && broadcastZone.isJsonObject()) {
+                for (Entry<String, JsonElement> entry : broadcastZone.getAsJsonObject().entrySet()) {
+                    if (!(entry.getKey().equals(JSONApiResponseKeysEnum.ZONE_ID.getKey())
+                            && entry.getKey().equals(JSONApiResponseKeysEnum.NAME.getKey()))
+                            && entry.getValue().isJsonObject()) {
+                        Device device = new DeviceImpl(entry.getValue().getAsJsonObject());
+                        deviceMap.put(device.getDSID(), device);
                     }
                 }
             }
-            return deviceList;
+            return deviceMap;
         }
 
         private void filterCommand(DeviceStateUpdate deviceStateUpdate, Device device) {
@@ -1134,7 +1158,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
         Device intDevice = strucMan.getDeviceByDSID(dSID);
         if (intDevice != null) {
             strucMan.deleteDevice(intDevice);
-            trashDevices.add(new TrashDevice(intDevice));
+            trashDevices.put(intDevice.getDSID(), new TrashDevice(intDevice));
         }
     }
 
@@ -1281,6 +1305,12 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
 
     @Override
     public void handleEvent(EventItem eventItem) {
+        if (EventNames.MODEL_READY.equals(eventItem.getName())
+                || EventNames.DS_METER_READY.equals(eventItem.getName())) {
+            logger.debug("Detect {} eventItem, reload the structure with the next polling cycle", eventItem.getName());
+            structureChanged.set(true);
+            return;
+        }
         if (EventNames.DEVICE_SENSOR_VALUE.equals(eventItem.getName())
                 || EventNames.DEVICE_BINARY_INPUT_EVENT.equals(eventItem.getName())) {
             logger.debug("Detect {} eventItem = {}", eventItem.getName(), eventItem.toString());
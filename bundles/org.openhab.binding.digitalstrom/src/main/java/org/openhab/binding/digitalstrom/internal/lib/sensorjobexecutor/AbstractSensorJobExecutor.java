@@ -13,8 +13,6 @@
 package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
 
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -57,7 +55,7 @@ public abstract class AbstractSensorJobExecutor {
     protected Config config;
     private final ConnectionManager connectionManager;
 
-    private final List<CircuitScheduler> circuitSchedulerList = new LinkedList<CircuitScheduler>();
+    private final Map<DSID, CircuitScheduler> circuitSchedulers = new HashMap<DSID, CircuitScheduler>();
 
     private class ExecutorRunnable implements Runnable {
         private final CircuitScheduler circuit;
@@ -70,11 +68,23 @@ public abstract class AbstractSensorJobExecutor {
         public void run() {
             SensorJob sensorJob = circuit.getNextSensorJob();
             if (sensorJob != null) {
+                long start = System.currentTimeMillis();
                 sensorJob.execute(dSAPI, connectionManager.getSessionToken());
+                circuit.sensorJobExecuted(System.currentTimeMillis() - start);
+                logger.debug("executed sensorJob on {}", circuit);
             }
-            if (circuit.noMoreJobs()) {
-                logger.debug("no more jobs... stop circuit schedduler with id = {}", circuit.getMeterDSID());
-                pollingSchedulers.get(circuit.getMeterDSID()).cancel(true);
+            synchronized (AbstractSensorJobExecutor.this) {
+                if (pollingSchedulers == null) {
+                    return;
+                }
+                if (circuit.noMoreJobs()) {
+                    logger.debug("no more jobs... stop circuit schedduler with id = {}", circuit.getMeterDSID());
+                    pollingSchedulers.remove(circuit.getMeterDSID());
+                } else {
+                    // the execution spacing adapts to the dS-Meter, so the next run is scheduled individually
+                    pollingSchedulers.put(circuit.getMeterDSID(),
+                            scheduler.schedule(this, circuit.getNextExecutionDelay(), TimeUnit.MILLISECONDS));
+                }
             }
         }
     }
@@ -111,20 +121,17 @@ public abstract class AbstractSensorJobExecutor {
         if (pollingSchedulers == null) {
             pollingSchedulers = new HashMap<DSID, ScheduledFuture<?>>();
         }
-        if (circuitSchedulerList != null && !circuitSchedulerList.isEmpty()) {
-            for (CircuitScheduler circuit : circuitSchedulerList) {
-                startSchedduler(circuit);
-            }
+        for (CircuitScheduler circuit : circuitSchedulers.values()) {
+            startSchedduler(circuit);
         }
     }
 
-    private void startSchedduler(CircuitScheduler circuit) {
-        if (pollingSchedulers != null) {
+    private synchronized void startSchedduler(CircuitScheduler circuit) {
+        if (pollingSchedulers != null && !circuit.noMoreJobs()) {
             if (pollingSchedulers.get(circuit.getMeterDSID()) == null
                     || pollingSchedulers.get(circuit.getMeterDSID()).isCancelled()) {
-                pollingSchedulers.put(circuit.getMeterDSID(),
-                        scheduler.scheduleWithFixedDelay(new ExecutorRunnable(circuit), circuit.getNextExecutionDelay(),
-                                config.getSensorReadingWaitTime(), TimeUnit.MILLISECONDS));
+                pollingSchedulers.put(circuit.getMeterDSID(), scheduler.schedule(new ExecutorRunnable(circuit),
+                        circuit.getNextExecutionDelay(), TimeUnit.MILLISECONDS));
             }
         }
     }
@@ -180,26 +187,19 @@ public abstract class AbstractSensorJobExecutor {
      *
      * @param sensorJob to add
      */
-    protected void addSensorJobToCircuitScheduler(SensorJob sensorJob) {
-        synchronized (this.circuitSchedulerList) {
-            CircuitScheduler circuit = getCircuitScheduler(sensorJob.getMeterDSID());
-            if (circuit != null) {
-                circuit.addSensorJob(sensorJob);
-            } else {
-                circuit = new CircuitScheduler(sensorJob, config);
-                this.circuitSchedulerList.add(circuit);
-            }
-            startSchedduler(circuit);
+    protected synchronized void addSensorJobToCircuitScheduler(SensorJob sensorJob) {
+        CircuitScheduler circuit = getCircuitScheduler(sensorJob.getMeterDSID());
+        if (circuit != null) {
+            circuit.addSensorJob(sensorJob);
+        } else {
+            circuit = new CircuitScheduler(sensorJob, config);
+            this.circuitSchedulers.put(circuit.getMeterDSID(), circuit);
         }
+        startSchedduler(circuit);
     }
 
-    private CircuitScheduler getCircuitScheduler(DSID dsid) {
-        for (CircuitScheduler circuit : this.circuitSchedulerList) {
-            if (circuit.getMeterDSID().equals(dsid)) {
-                return circuit;
-            }
-        }
-        return null;
+    private synchronized CircuitScheduler getCircuitScheduler(DSID dsid) {
+        return this.circuitSchedulers.get(dsid);
     }
 
     /**
@@ -14,7 +14,9 @@ package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
 
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
 
 import org.openhab.binding.digitalstrom.internal.lib.config.Config;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
@@ -25,6 +27,16 @@ import org.slf4j.LoggerFactory;
 /**
  * This {@link CircuitScheduler} represents a circuit in the digitalSTROM-System and manages the priorities and
  * execution times for the {@link SensorJob}s on this circuit.
+ * <p>
+ * The {@link SensorJob}s are indexed by their id, so adding a job, which is already queued, only updates its priority
+ * and each {@link SensorJob} is executed once, no matter how often it was added.
+ * </p>
+ * <p>
+ * The time between two {@link SensorJob} executions is derived from the averaged response time of the dS-Meter, so a
+ * fast dS-Meter is read more often and a busy one is not loaded with even more requests. Until the first response time
+ * is known, the sensor reading wait time of the {@link Config} is used. The adapted time is bounded to the range from
+ * the wait time divided by {@link #SPACING_RANGE_FACTOR} to the wait time multiplied by it.
+ * </p>
  *
  * @author Michael Ochel - Initial contribution
  * @author Matthias Siegele - Initial contribution
@@ -33,19 +45,56 @@ public class CircuitScheduler {
 
     private final Logger logger = LoggerFactory.getLogger(CircuitScheduler.class);
 
-    private class SensorJobComparator implements Comparator<SensorJob> {
+    /**
+     * Factor between the averaged response time of the dS-Meter and the wait time between two {@link SensorJob}s.
+     */
+    public static final int LATENCY_SPACING_FACTOR = 30;
+
+    /**
+     * Factor the sensor reading wait time of the {@link Config} is shortened by fast and extended by slow responses at
+     * most.
+     */
+    public static final int SPACING_RANGE_FACTOR = 4;
+
+    // weight of the latest response time in the averaged response time
+    private static final double LATENCY_WEIGHT = 0.25;
+
+    private class QueuedSensorJob {
+        private final SensorJob sensorJob;
+        private final long priority;
+        private final long sequenceNumber;
+        private final long queueTime;
+
+        private QueuedSensorJob(SensorJob sensorJob, long queueTime) {
+            this.sensorJob = sensorJob;
+            this.priority = sensorJob.getInitalisationTime();
+            this.sequenceNumber = nextSequenceNumber++;
+            this.queueTime = queueTime;
+        }
+    }
+
+    private static class QueuedSensorJobComparator implements Comparator<QueuedSensorJob> {
 
         @Override
-        public int compare(SensorJob job1, SensorJob job2) {
-            return ((Long) job1.getInitalisationTime()).compareTo(job2.getInitalisationTime());
+        public int compare(QueuedSensorJob job1, QueuedSensorJob job2) {
+            int result = Long.compare(job1.priority, job2.priority);
+            return result != 0 ? result : Long.compare(job1.sequenceNumber, job2.sequenceNumber);
         }
     }
 
     private final DSID meterDSID;
     private long nextExecutionTime = System.currentTimeMillis();
-    private final PriorityQueue<SensorJob> sensorJobQueue = new PriorityQueue<SensorJob>(10, new SensorJobComparator());
+    private final TreeSet<QueuedSensorJob> sensorJobQueue = new TreeSet<QueuedSensorJob>(
+            new QueuedSensorJobComparator());
+    // insertion order of the ids is the queue order, so the first entry is the longest waiting job
+    private final Map<String, QueuedSensorJob> sensorJobIndex = new LinkedHashMap<String, QueuedSensorJob>();
+    private long nextSequenceNumber = 0;
     private final Config config;
 
+    private long lastExecutionStart = 0;
+    private double averageLatency = 0;
+    private long executedJobs = 0;
+
     /**
      * Creates a new {@link CircuitScheduler}.
      *
@@ -69,8 +118,8 @@ public class CircuitScheduler {
      */
     public CircuitScheduler(SensorJob sensorJob, Config config) {
         this.meterDSID = sensorJob.getMeterDSID();
-        this.sensorJobQueue.add(sensorJob);
         this.config = config;
+        addSensorJob(sensorJob);
         logger.debug("create circuitScheduler: {} and add sensorJob: {}", this.getMeterDSID(),
                 sensorJob.getDSID().toString());
     }
@@ -91,10 +140,18 @@ public class CircuitScheduler {
      */
     public void addSensorJob(SensorJob sensorJob) {
         synchronized (sensorJobQueue) {
-            if (!this.sensorJobQueue.contains(sensorJob)) {
-                sensorJobQueue.add(sensorJob);
+            QueuedSensorJob existSensorJob = sensorJobIndex.get(sensorJob.getID());
+            if (existSensorJob == null) {
+                QueuedSensorJob queuedSensorJob = new QueuedSensorJob(sensorJob, System.currentTimeMillis());
+                sensorJobQueue.add(queuedSensorJob);
+                sensorJobIndex.put(sensorJob.getID(), queuedSensorJob);
                 logger.debug("Add sensorJob: {} to circuitScheduler: {}", sensorJob.toString(), this.getMeterDSID());
-            } else if (checkSensorJobPrio(sensorJob)) {
+            } else if (sensorJob.getInitalisationTime() < existSensorJob.priority) {
+                // keep the queue time, the job is waiting since it was added the first time
+                QueuedSensorJob queuedSensorJob = new QueuedSensorJob(sensorJob, existSensorJob.queueTime);
+                sensorJobQueue.remove(existSensorJob);
+                sensorJobQueue.add(queuedSensorJob);
+                sensorJobIndex.put(sensorJob.getID(), queuedSensorJob);
                 logger.debug("add sensorJob: {} with higher priority to circuitScheduler: {}", sensorJob.toString(),
                         this.getMeterDSID());
             } else {
@@ -103,39 +160,99 @@ public class CircuitScheduler {
         }
     }
 
-    private boolean checkSensorJobPrio(SensorJob sensorJob) {
-        synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob existSensorJob = iter.next();
-                if (existSensorJob.equals(sensorJob)) {
-                    if (sensorJob.getInitalisationTime() < existSensorJob.getInitalisationTime()) {
-                        iter.remove();
-                        sensorJobQueue.add(sensorJob);
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
     /**
      * Returns the next {@link SensorJob} which can be executed or null, if there are no more {@link SensorJob} to
-     * execute or the wait time between the {@link SensorJob}s executions has not expired yet.
+     * execute or the wait time between the {@link SensorJob}s executions has not expired yet.<br>
+     * The execution of the returned {@link SensorJob} has to be reported through {@link #sensorJobExecuted(long)}.
      *
      * @return next SensorJob or null
      */
     public SensorJob getNextSensorJob() {
         synchronized (sensorJobQueue) {
-            if (sensorJobQueue.peek() != null && this.nextExecutionTime <= System.currentTimeMillis()) {
-                nextExecutionTime = System.currentTimeMillis() + config.getSensorReadingWaitTime();
-                return sensorJobQueue.poll();
+            long now = System.currentTimeMillis();
+            if (!sensorJobQueue.isEmpty() && this.nextExecutionTime <= now) {
+                QueuedSensorJob queuedSensorJob = sensorJobQueue.pollFirst();
+                sensorJobIndex.remove(queuedSensorJob.sensorJob.getID());
+                lastExecutionStart = now;
+                nextExecutionTime = now + getExecutionSpacing();
+                return queuedSensorJob.sensorJob;
             } else {
                 return null;
             }
         }
     }
 
+    /**
+     * Reports the response time of the dS-Meter for the last {@link SensorJob} returned by {@link #getNextSensorJob()}
+     * to adapt the time until the next {@link SensorJob} can be executed.
+     *
+     * @param latency response time of the dS-Meter in milliseconds
+     */
+    public void sensorJobExecuted(long latency) {
+        synchronized (sensorJobQueue) {
+            averageLatency = executedJobs == 0 ? latency
+                    : averageLatency + LATENCY_WEIGHT * (latency - averageLatency);
+            executedJobs++;
+            nextExecutionTime = lastExecutionStart + getExecutionSpacing();
+        }
+    }
+
+    /**
+     * Returns the current time in milliseconds between two {@link SensorJob} executions, adapted to the response time
+     * of the dS-Meter.
+     *
+     * @return execution spacing in milliseconds
+     */
+    public long getExecutionSpacing() {
+        long waitTime = config.getSensorReadingWaitTime();
+        if (executedJobs == 0) {
+            return waitTime;
+        }
+        long spacing = Math.round(averageLatency * LATENCY_SPACING_FACTOR);
+        return Math.min(Math.max(spacing, waitTime / SPACING_RANGE_FACTOR), waitTime * SPACING_RANGE_FACTOR);
+    }
+
+    /**
+     * Returns the averaged response time of the dS-Meter in milliseconds.
+     *
+     * @return average latency in milliseconds
+     */
+    public long getAverageLatency() {
+        return Math.round(averageLatency);
+    }
+
+    /**
+     * Returns the number of executed {@link SensorJob}s.
+     *
+     * @return executed SensorJobs
+     */
+    public long getExecutedJobs() {
+        return executedJobs;
+    }
+
+    /**
+     * Returns the number of queued {@link SensorJob}s.
+     *
+     * @return queue size
+     */
+    public int getQueueSize() {
+        synchronized (sensorJobQueue) {
+            return sensorJobQueue.size();
+        }
+    }
+
+    /**
+     * Returns the time in milliseconds the longest waiting {@link SensorJob} is queued or 0, if the queue is empty.
+     *
+     * @return age of the oldest SensorJob in milliseconds
+     */
+    public long getOldestJobAge() {
+        synchronized (sensorJobQueue) {
+            Iterator<QueuedSensorJob> iter = sensorJobIndex.values().iterator();
+            return iter.hasNext() ? System.currentTimeMillis() - iter.next().queueTime : 0;
+        }
+    }
+
     /**
      * Returns the time when the next {@link SensorJob} can be executed.
      *
@@ -162,11 +279,12 @@ public class CircuitScheduler {
      */
     public void removeSensorJob(DSID dSID) {
         synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob job = iter.next();
-                if (job.getDSID().equals(dSID)) {
+            for (Iterator<QueuedSensorJob> iter = sensorJobIndex.values().iterator(); iter.hasNext();) {
+                QueuedSensorJob job = iter.next();
+                if (job.sensorJob.getDSID().equals(dSID)) {
                     iter.remove();
-                    logger.debug("Remove SensorJob with ID {}.", job.getID());
+                    sensorJobQueue.remove(job);
+                    logger.debug("Remove SensorJob with ID {}.", job.sensorJob.getID());
                 }
             }
         }
@@ -179,15 +297,13 @@ public class CircuitScheduler {
      */
     public void removeSensorJob(String id) {
         synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob job = iter.next();
-                if (job.getID().equals(id)) {
-                    iter.remove();
-                    logger.debug("Remove SensorJob with ID {}.", id);
-                    return;
-                }
+            QueuedSensorJob job = sensorJobIndex.remove(id);
+            if (job != null) {
+                sensorJobQueue.remove(job);
+                logger.debug("Remove SensorJob with ID {}.", id);
+            } else {
+                logger.debug("No SensorJob with ID {} found, cannot remove a not existing SensorJob.", id);
             }
-            logger.debug("No SensorJob with ID {} found, cannot remove a not existing SensorJob.", id);
         }
     }
 
@@ -201,4 +317,11 @@ public class CircuitScheduler {
             return this.sensorJobQueue.isEmpty();
         }
     }
+
+    @Override
+    public String toString() {
+        return "CircuitScheduler [meterDSID=" + meterDSID + ", queueSize=" + getQueueSize() + ", oldestJobAge="
+                + getOldestJobAge() + ", averageLatency=" + getAverageLatency() + ", executionSpacing="
+                + getExecutionSpacing() + ", executedJobs=" + executedJobs + "]";
+    }
 }
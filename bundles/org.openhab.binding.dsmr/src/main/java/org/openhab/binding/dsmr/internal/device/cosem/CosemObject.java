@@ -16,8 +16,6 @@ import java.text.ParseException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.types.State;
@@ -32,11 +30,6 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class CosemObject {
 
-    /**
-     * Regular expression for finding CosemValues
-     */
-    private static final Pattern COSEM_VALUES_PATTERN = Pattern.compile("(\\(([^\\(\\)]*)\\))");
-
     private final Logger logger = LoggerFactory.getLogger(CosemObject.class);
 
     /**
@@ -115,40 +108,61 @@ public class CosemObject {
     public void parseCosemValues(String cosemValueString) throws ParseException {
         logger.trace("Parsing CosemValue string {}", cosemValueString);
 
-        Matcher cosemValueMatcher = COSEM_VALUES_PATTERN.matcher(cosemValueString);
-        int nrOfCosemValues = countCosemValues(cosemValueMatcher);
+        int nrOfCosemValues = countCosemValues(cosemValueString);
 
         if (type.supportsNrOfValues(nrOfCosemValues)) {
             logger.trace("Received items: {} is supported", nrOfCosemValues);
 
             int cosemValueItr = 0;
-            while (cosemValueMatcher.find()) {
-                Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
-                State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueMatcher.group(2));
-
-                if (cosemValue != null) {
-                    if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
-                        cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
-                    } else {
-                        logger.warn("Value for descriptor {} already exists, dropping value {}", valueDescriptorEntry,
-                                cosemValue);
+            int valueStart = -1;
+            for (int i = 0; i < cosemValueString.length(); i++) {
+                char c = cosemValueString.charAt(i);
+
+                if (c == '(') {
+                    valueStart = i + 1;
+                } else if (c == ')' && valueStart >= 0) {
+                    Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
+                    State cosemValue = valueDescriptorEntry.getValue()
+                            .getStateValue(cosemValueString.substring(valueStart, i));
+
+                    if (cosemValue != null) {
+                        if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
+                            cosemValues.put(valueDescriptorEntry.getKey(), cosemValue);
+                        } else {
+                            logger.warn("Value for descriptor {} already exists, dropping value {}",
+                                    valueDescriptorEntry, cosemValue);
+                        }
                     }
+                    valueStart = -1;
+                    cosemValueItr++;
                 }
-                cosemValueItr++;
             }
         } else {
             throw new ParseException(type + " does not support " + nrOfCosemValues + " items", 0);
         }
     }
 
-    private int countCosemValues(Matcher cosemValueMatcher) {
+    /**
+     * Counts the values in the COSEM String. A value is the text between an opening and a closing bracket without
+     * brackets in between.
+     *
+     * @param cosemValueString the List of COSEM String values
+     * @return number of values
+     */
+    private static int countCosemValues(String cosemValueString) {
         int nrOfCosemValues = 0;
+        boolean inValue = false;
 
-        while (cosemValueMatcher.find()) {
-            nrOfCosemValues++;
+        for (int i = 0; i < cosemValueString.length(); i++) {
+            char c = cosemValueString.charAt(i);
+
+            if (c == '(') {
+                inValue = true;
+            } else if (c == ')' && inValue) {
+                inValue = false;
+                nrOfCosemValues++;
+            }
         }
-        // We need the matcher again, reset to initial state
-        cosemValueMatcher.reset();
         return nrOfCosemValues;
     }
 }
@@ -30,8 +30,19 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class CosemObjectFactory {
+    /**
+     * Maximum number of OBIS Identifier strings kept in the identifier cache
+     */
+    private static final int MAX_CACHED_OBIS_IDS = 256;
+
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
+    /**
+     * Cache of parsed OBIS Identifiers. Each telegram contains the same OBIS Identifier strings, so they are only
+     * parsed once and the same {@link OBISIdentifier} instances are used for all telegrams.
+     */
+    private final Map<String, OBISIdentifier> obisIdentifierCache = new HashMap<>();
+
     /**
      * Lookup cache for fixed OBIS Identifiers
      */
@@ -92,7 +103,7 @@ public class CosemObjectFactory {
         OBISIdentifier reducedObisId;
 
         try {
-            obisId = new OBISIdentifier(obisIdString);
+            obisId = getOBISIdentifier(obisIdString);
             reducedObisId = obisId.getReducedOBISIdentifier();
         } catch (ParseException pe) {
             logger.debug("Received invalid OBIS identifier: {}", obisIdString);
@@ -130,6 +141,27 @@ public class CosemObjectFactory {
         return cosemObject;
     }
 
+    /**
+     * Returns the {@link OBISIdentifier} for the given string from the cache, or parses it if not yet seen.
+     *
+     * @param obisIdString String containing the OBIS message identifier
+     * @return the OBISIdentifier
+     * @throws ParseException if obisIdString is not a valid OBIS Identifier
+     */
+    private OBISIdentifier getOBISIdentifier(String obisIdString) throws ParseException {
+        OBISIdentifier obisId = obisIdentifierCache.get(obisIdString);
+
+        if (obisId == null) {
+            obisId = new OBISIdentifier(obisIdString);
+            if (obisIdentifierCache.size() >= MAX_CACHED_OBIS_IDS) {
+                // Only happens with corrupted data, start over to not keep the garbage
+                obisIdentifierCache.clear();
+            }
+            obisIdentifierCache.put(obisIdString, obisId);
+        }
+        return obisId;
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
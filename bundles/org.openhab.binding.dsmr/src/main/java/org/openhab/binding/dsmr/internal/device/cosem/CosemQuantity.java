@@ -12,9 +12,10 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -52,23 +53,15 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
     public static final CosemQuantity<Energy> KILO_VAR_HOUR = new CosemQuantity<>(SmartHomeUnits.KILOVAR_HOUR);
 
     /**
-     * Pattern to convert a cosem value to a value that can be parsed by {@link QuantityType}.
-     * The specification states that the delimiter between the value and the unit is a '*'-character.
-     * We have seen on the Kaifa 0025 meter that both '*' and the '_' character are used.
-     *
-     * On the Kampstrup 162JxC in some CosemValues the separator is missing
-     *
-     * The above quirks are supported
-     *
-     * We also support unit that do not follow the exact case.
+     * Unit of this CosemValue
      */
-    private static final Pattern COSEM_VALUE_WITH_UNIT_PATTERN = Pattern.compile("^([\\d\\.]+)[\\*_]?(.+)$",
-            Pattern.CASE_INSENSITIVE);
+    private final Unit<Q> unit;
 
     /**
-     * Unit of this CosemValue
+     * Unit strings as received from the meter mapped to whether they match the unit of this CosemValue. Meters send the
+     * same unit strings in every telegram, so each unit string only needs to be parsed once.
      */
-    private final Unit<Q> unit;
+    private final Map<String, Boolean> unitMatches = new ConcurrentHashMap<>();
 
     /**
      * Creates a new {@link CosemDouble}.
@@ -100,31 +93,70 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
     @Override
     protected QuantityType<Q> getStateValue(String cosemValue) throws ParseException {
         try {
-            QuantityType<Q> qt = new QuantityType<Q>(prepare(cosemValue));
+            int numberEnd = numberEnd(cosemValue);
+
+            if (numberEnd == 0 || numberEnd == cosemValue.length()) {
+                // No value with a unit, let QuantityType decide
+                return checkUnit(new QuantityType<Q>(cosemValue), cosemValue);
+            }
+            String unitString = unitString(cosemValue, numberEnd);
+            Boolean matches = unitMatches.get(unitString);
 
-            if (!unit.equals(qt.getUnit())) {
+            if (matches == null) {
+                QuantityType<Q> qt = new QuantityType<Q>(cosemValue.substring(0, numberEnd) + ' ' + unitString);
+
+                unitMatches.put(unitString, unit.equals(qt.getUnit()));
+                return checkUnit(qt, cosemValue);
+            } else if (matches) {
+                return new QuantityType<Q>(new BigDecimal(cosemValue.substring(0, numberEnd)), unit);
+            } else {
                 throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
             }
-            return qt;
         } catch (IllegalArgumentException nfe) {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
         }
     }
 
+    private QuantityType<Q> checkUnit(QuantityType<Q> qt, String cosemValue) throws ParseException {
+        if (!unit.equals(qt.getUnit())) {
+            throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
+        }
+        return qt;
+    }
+
+    /**
+     * Returns the end of the number (float or integer) at the start of the COSEM value.
+     *
+     * @param cosemValue the value to scan
+     * @return index of the first character after the number, 0 if the value doesn't start with a number
+     */
+    private static int numberEnd(String cosemValue) {
+        int i = 0;
+
+        while (i < cosemValue.length() && (Character.isDigit(cosemValue.charAt(i)) || cosemValue.charAt(i) == '.')) {
+            i++;
+        }
+        return i;
+    }
+
     /**
-     * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
+     * Returns the unit following the number of the COSEM value.
      * The specification states that the delimiter between the value and the unit is a '*'-character.
      * We have seen on the Kaifa 0025 meter that both '*' and the '_' character are used.
      *
-     * On the Kampstrup 162JxC in some CosemValues the separator is missing. This
+     * On the Kampstrup 162JxC in some CosemValues the separator is missing.
      *
      * The above quirks are supported
      *
-     * We also support unit that do not follow the exact case.
+     * @param cosemValue the value to get the unit of
+     * @param numberEnd index of the first character after the number
+     * @return the unit as it can be parsed by {@link QuantityType}
      */
-    private String prepare(String cosemValue) {
-        Matcher matcher = COSEM_VALUE_WITH_UNIT_PATTERN.matcher(cosemValue.replace("m3", "m³"));
+    private static String unitString(String cosemValue, int numberEnd) {
+        char separator = cosemValue.charAt(numberEnd);
+        int unitStart = (separator == '*' || separator == '_') && numberEnd + 1 < cosemValue.length() ? numberEnd + 1
+                : numberEnd;
 
-        return matcher.find() ? matcher.group(1) + ' ' + matcher.group(2) : cosemValue;
+        return cosemValue.substring(unitStart).replace("m3", "m³");
     }
 }
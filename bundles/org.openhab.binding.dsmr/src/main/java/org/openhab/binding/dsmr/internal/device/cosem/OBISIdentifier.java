@@ -46,6 +46,9 @@ public class OBISIdentifier {
     private @Nullable Integer groupE;
     private @Nullable Integer groupF;
 
+    /* the reduced OBIS ID, created on first use */
+    private @Nullable OBISIdentifier reducedOBISIdentifier;
+
     /**
      * Constructs a new OBIS Identifier (A-B:C.D.E.F)
      *
@@ -231,7 +234,13 @@ public class OBISIdentifier {
      * @return reduced OBIS Identifier
      */
     public OBISIdentifier getReducedOBISIdentifier() {
-        return new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, null);
+        OBISIdentifier reduced = reducedOBISIdentifier;
+
+        if (reduced == null) {
+            reduced = groupF == null ? this : new OBISIdentifier(groupA, groupB, groupC, groupD, groupE, null);
+            reducedOBISIdentifier = reduced;
+        }
+        return reduced;
     }
 
     /**
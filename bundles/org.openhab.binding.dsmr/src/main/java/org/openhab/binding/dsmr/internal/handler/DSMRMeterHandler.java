@@ -14,7 +14,9 @@ package org.openhab.binding.dsmr.internal.handler;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -61,6 +63,21 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     private List<CosemObject> lastReceivedValues = Collections.emptyList();
 
+    /**
+     * Last state published on each channel.
+     */
+    private final Map<String, State> publishedStates = new ConcurrentHashMap<>();
+
+    /**
+     * Time in milliseconds after which all channels are updated even if their values didn't change.
+     */
+    private long forcedRefreshInterval;
+
+    /**
+     * Time of the last update of all channels.
+     */
+    private long lastForcedRefresh;
+
     /**
      * Reference to the meter watchdog.
      */
@@ -81,6 +98,11 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command == RefreshType.REFRESH) {
+            State state = publishedStates.get(channelUID.getId());
+
+            if (state != null) {
+                updateState(channelUID, state);
+            }
             updateState();
         }
     }
@@ -108,6 +130,9 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
         DSMRMeterConfiguration meterConfig = getConfigAs(DSMRMeterConfiguration.class);
         DSMRMeterDescriptor meterDescriptor = new DSMRMeterDescriptor(meterType, meterConfig.channel);
         meter = new DSMRMeter(meterDescriptor);
+        forcedRefreshInterval = TimeUnit.SECONDS.toMillis(meterConfig.forcedRefresh);
+        lastForcedRefresh = 0;
+        publishedStates.clear();
         meterWatchdog = scheduler.scheduleWithFixedDelay(this::updateState, meterConfig.refresh, meterConfig.refresh,
                 TimeUnit.SECONDS);
         updateStatus(ThingStatus.UNKNOWN);
@@ -125,21 +150,34 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      * Updates the state of all channels from the last received Cosem values from the meter. The lastReceivedValues are
      * cleared after processing here so when it does contain values the next time this method is called and it contains
      * values those are new values.
+     *
+     * Only channels of which the value changed since the last update are updated, unless the forced refresh interval
+     * has passed. Then all channels are updated.
      */
     private synchronized void updateState() {
         logger.trace("Update state for device: {}", getThing().getThingTypeUID().getId());
         if (!lastReceivedValues.isEmpty()) {
+            long now = System.currentTimeMillis();
+            boolean forcedRefresh = now - lastForcedRefresh >= forcedRefreshInterval;
+
+            if (forcedRefresh) {
+                lastForcedRefresh = now;
+            }
             for (CosemObject cosemObject : lastReceivedValues) {
-                String channel = cosemObject.getType().name().toLowerCase();
+                String channelPrefix = cosemObject.getType().name().toLowerCase();
 
                 for (Entry<String, ? extends State> entry : cosemObject.getCosemValues().entrySet()) {
-                    if (!entry.getKey().isEmpty()) {
-                        /* CosemObject has a specific sub channel */
-                        channel += "_" + entry.getKey();
-                    }
+                    /* CosemObject can have a specific sub channel */
+                    String channel = entry.getKey().isEmpty() ? channelPrefix : channelPrefix + "_" + entry.getKey();
                     State newState = entry.getValue();
-                    logger.debug("Updating state for channel {} to value {}", channel, newState);
-                    updateState(channel, newState);
+
+                    if (forcedRefresh || !newState.equals(publishedStates.get(channel))) {
+                        logger.debug("Updating state for channel {} to value {}", channel, newState);
+                        publishedStates.put(channel, newState);
+                        updateState(channel, newState);
+                    } else {
+                        logger.trace("Value for channel {} unchanged: {}", channel, newState);
+                    }
                 }
             }
             if (getThing().getStatus() != ThingStatus.ONLINE) {
@@ -206,6 +244,7 @@ public class DSMRMeterHandler extends BaseThingHandler implements P1TelegramList
      */
     private void setDeviceOffline(ThingStatusDetail status, @Nullable String details) {
         updateStatus(ThingStatus.OFFLINE, status, details);
+        publishedStates.clear();
         getThing().getChannels().forEach(c -> updateState(c.getUID(), UnDefType.NULL));
     }
 }
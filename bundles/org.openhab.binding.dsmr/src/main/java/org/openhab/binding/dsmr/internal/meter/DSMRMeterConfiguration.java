@@ -32,8 +32,14 @@ public class DSMRMeterConfiguration {
      */
     public int refresh;
 
+    /**
+     * Time in seconds after which unchanged values are updated again.
+     */
+    public int forcedRefresh = 900;
+
     @Override
     public String toString() {
-        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ")";
+        return "DSMRMeterConfiguration(channel:" + channel + ",refresh=" + refresh + ",forcedRefresh=" + forcedRefresh
+                + ")";
     }
 }
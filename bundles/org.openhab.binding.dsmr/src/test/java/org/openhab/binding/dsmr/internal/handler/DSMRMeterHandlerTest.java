@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.handler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.eclipse.smarthome.core.thing.binding.ThingHandlerCallback;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.eclipse.smarthome.core.types.RefreshType;
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
+import org.openhab.binding.dsmr.internal.meter.DSMRMeterType;
+
+/**
+ * Test class for the channel updates of {@link DSMRMeterHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DSMRMeterHandlerTest {
+
+    private static final ThingUID THING_UID = new ThingUID(DSMRMeterType.DEVICE_V5.getThingTypeUID(), "test");
+    private static final ChannelUID VERSION_CHANNEL = new ChannelUID(THING_UID, "p1_version_output");
+    // REFRESH of a channel without state only triggers the update of the changed channels
+    private static final ChannelUID UNKNOWN_CHANNEL = new ChannelUID(THING_UID, "unknown");
+
+    private final ThingHandlerCallback callback = mock(ThingHandlerCallback.class);
+    private @NonNullByDefault({}) DSMRMeterHandler handler;
+
+    @After
+    public void tearDown() {
+        handler.dispose();
+    }
+
+    /**
+     * Test if unchanged values are not published again when the forced refresh isn't configured.
+     */
+    @Test
+    public void testUnchangedValuesAreNotPublished() {
+        initialize(null);
+        P1Telegram telegram = TelegramReaderUtil.readTelegram("dsmr_50", TelegramState.OK);
+
+        handler.telegramReceived(telegram);
+        handler.telegramReceived(telegram);
+        handler.handleCommand(UNKNOWN_CHANNEL, RefreshType.REFRESH);
+
+        verify(callback, times(1)).stateUpdated(eq(VERSION_CHANNEL), any());
+    }
+
+    /**
+     * Test if all values are published on each update when the forced refresh is disabled.
+     */
+    @Test
+    public void testForcedRefreshPublishesAllValues() {
+        initialize(0);
+        P1Telegram telegram = TelegramReaderUtil.readTelegram("dsmr_50", TelegramState.OK);
+
+        handler.telegramReceived(telegram);
+        handler.telegramReceived(telegram);
+        handler.handleCommand(UNKNOWN_CHANNEL, RefreshType.REFRESH);
+
+        verify(callback, times(2)).stateUpdated(eq(VERSION_CHANNEL), any());
+    }
+
+    private void initialize(@Nullable Integer forcedRefresh) {
+        Map<String, Object> config = new HashMap<>();
+        config.put("refresh", new BigDecimal(3600));
+        if (forcedRefresh != null) {
+            config.put("forcedRefresh", new BigDecimal(forcedRefresh));
+        }
+        Thing thing = ThingBuilder.create(DSMRMeterType.DEVICE_V5.getThingTypeUID(), THING_UID)
+                .withConfiguration(new Configuration(config)).build();
+        doAnswer(answer -> {
+            ((Thing) answer.getArgument(0)).setStatusInfo(answer.getArgument(1));
+            return null;
+        }).when(callback).statusUpdated(any(), any());
+
+        handler = new DSMRMeterHandler(thing);
+        handler.setCallback(callback);
+        handler.initialize();
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Splits the ESP3 byte stream received from a transceiver into packets. Received bytes are collected in a ring buffer
+ * and complete packets are handed to the {@link PacketConsumer} in a reused data buffer, so no memory is allocated
+ * while receiving.
+ * <p>
+ * A packet consists of the sync byte, a 4 byte header (data length, optional length and packet type) protected by a
+ * CRC8, the data and optional data, and a CRC8 of the data. If either CRC does not match, the framer skips the sync
+ * byte and searches for the next one, so packets following a corrupted one are not lost.
+ * <p>
+ * As the header CRC matches random bytes once in 256 times, noise may look like the header of a long packet. Lengths
+ * above {@link #MAX_DATA_LENGTH} are rejected at once, and a packet which is not completed within the ESP3 inter-byte
+ * timeout is discarded, so the framer resynchronizes on the packets received after the noise.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3Framer {
+
+    /**
+     * Consumer of the packets found by the {@link ESP3Framer}
+     */
+    public interface PacketConsumer {
+        /**
+         * Called for each received packet. The data buffer is reused for the next packet, so the consumer must copy
+         * the data it wants to keep.
+         *
+         * @param packetType the ESP3 packet type
+         * @param dataLength the length of the data
+         * @param optionalLength the length of the optional data, which follows the data in the buffer
+         * @param data the buffer containing data and optional data
+         */
+        void packetReceived(byte packetType, int dataLength, int optionalLength, byte[] data);
+    }
+
+    /**
+     * Maximum data length accepted in a packet header. ESP3 devices send far less data in a packet, so longer lengths
+     * are treated as noise.
+     */
+    public static final int MAX_DATA_LENGTH = 1024;
+
+    /**
+     * Maximum time between two bytes of a packet, as required by ESP3
+     */
+    public static final long INTER_BYTE_TIMEOUT_MS = 100;
+
+    private static final int SYNC_LENGTH = 1;
+    private static final int CRC_LENGTH = 1;
+    private static final int FRAME_OVERHEAD = SYNC_LENGTH + Helper.ENOCEAN_HEADER_LENGTH + CRC_LENGTH + CRC_LENGTH;
+    private static final int MAX_OPTIONAL_LENGTH = 0xFF;
+
+    // must hold the largest accepted packet and leave room for received bytes
+    private static final int RING_SIZE = 1 << 12;
+    private static final int RING_MASK = RING_SIZE - 1;
+
+    private final byte[] ring = new byte[RING_SIZE];
+    private final byte[] header = new byte[Helper.ENOCEAN_HEADER_LENGTH];
+    private final byte[] dataBuffer = new byte[MAX_DATA_LENGTH + MAX_OPTIONAL_LENGTH];
+    private final PacketConsumer consumer;
+    private final LongSupplier nanoClock;
+
+    private int head = 0;
+    private int count = 0;
+    private long lastReceived;
+
+    public ESP3Framer(PacketConsumer consumer) {
+        this(consumer, System::nanoTime);
+    }
+
+    ESP3Framer(PacketConsumer consumer, LongSupplier nanoClock) {
+        this.consumer = consumer;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Adds received bytes and hands all packets completed by them to the consumer.
+     *
+     * @param buffer the buffer holding the received bytes
+     * @param offset the offset of the first received byte
+     * @param length the number of received bytes
+     */
+    public void feed(byte[] buffer, int offset, int length) {
+        checkTimeout();
+        lastReceived = nanoClock.getAsLong();
+
+        while (length > 0) {
+            // processing leaves less than a maximum packet in the ring, so there is always room for more bytes
+            int part = Math.min(length, RING_SIZE - count);
+            int tail = (head + count) & RING_MASK;
+            int firstPart = Math.min(part, RING_SIZE - tail);
+            System.arraycopy(buffer, offset, ring, tail, firstPart);
+            System.arraycopy(buffer, offset + firstPart, ring, 0, part - firstPart);
+            count += part;
+            offset += part;
+            length -= part;
+
+            processPackets();
+        }
+    }
+
+    /**
+     * Discards an incomplete packet if no byte was received within the inter-byte timeout. Packets following the
+     * discarded bytes are handed to the consumer. This should be called when no bytes were received for a while.
+     */
+    public void checkTimeout() {
+        if (count > 0 && nanoClock.getAsLong() - lastReceived > TimeUnit.MILLISECONDS.toNanos(INTER_BYTE_TIMEOUT_MS)) {
+            while (count > 0) {
+                // the buffered bytes are not followed by the rest of a packet, skip the sync byte and search again
+                skip(SYNC_LENGTH);
+                processPackets();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of received bytes which do not form a complete packet yet
+     *
+     * @return the number of buffered bytes
+     */
+    public int getBufferedBytes() {
+        return count;
+    }
+
+    private void processPackets() {
+        while (true) {
+            while (count > 0 && ring[head] != Helper.ENOCEAN_SYNC_BYTE) {
+                skip(1);
+            }
+
+            if (count < SYNC_LENGTH + Helper.ENOCEAN_HEADER_LENGTH + CRC_LENGTH) {
+                return;
+            }
+
+            copyFromRing(SYNC_LENGTH, header, Helper.ENOCEAN_HEADER_LENGTH);
+            byte headerCrc = byteAt(SYNC_LENGTH + Helper.ENOCEAN_HEADER_LENGTH);
+            int dataLength = ((header[0] & 0xFF) << 8) | (header[1] & 0xFF);
+            int optionalLength = header[2] & 0xFF;
+
+            if (!Helper.checkCRC8(header, Helper.ENOCEAN_HEADER_LENGTH, headerCrc)
+                    || dataLength + optionalLength == 0 || dataLength > MAX_DATA_LENGTH) {
+                // not a packet start, search for the next sync byte
+                skip(SYNC_LENGTH);
+                continue;
+            }
+
+            int frameLength = FRAME_OVERHEAD + dataLength + optionalLength;
+            if (count < frameLength) {
+                return;
+            }
+
+            copyFromRing(SYNC_LENGTH + Helper.ENOCEAN_HEADER_LENGTH + CRC_LENGTH, dataBuffer,
+                    dataLength + optionalLength);
+            if (Helper.checkCRC8(dataBuffer, dataLength + optionalLength, byteAt(frameLength - CRC_LENGTH))) {
+                skip(frameLength);
+                consumer.packetReceived(header[3], dataLength, optionalLength, dataBuffer);
+            } else {
+                skip(SYNC_LENGTH);
+            }
+        }
+    }
+
+    private byte byteAt(int position) {
+        return ring[(head + position) & RING_MASK];
+    }
+
+    private void copyFromRing(int position, byte[] target, int length) {
+        int start = (head + position) & RING_MASK;
+        int firstPart = Math.min(length, RING_SIZE - start);
+        System.arraycopy(ring, start, target, 0, firstPart);
+        System.arraycopy(ring, 0, target, firstPart, length - firstPart);
+    }
+
+    private void skip(int length) {
+        head = (head + length) & RING_MASK;
+        count -= length;
+    }
+}
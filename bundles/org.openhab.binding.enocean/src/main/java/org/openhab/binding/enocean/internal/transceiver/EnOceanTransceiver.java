@@ -15,11 +15,13 @@ package org.openhab.binding.enocean.internal.transceiver;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TooManyListenersException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
@@ -32,6 +34,7 @@ import org.openhab.binding.enocean.internal.EnOceanException;
 import org.openhab.binding.enocean.internal.messages.ERP1Message;
 import org.openhab.binding.enocean.internal.messages.ERP1Message.RORG;
 import org.openhab.binding.enocean.internal.messages.ESP3Packet;
+import org.openhab.binding.enocean.internal.messages.ESP3Packet.ESPPacketType;
 import org.openhab.binding.enocean.internal.messages.ESP3PacketFactory;
 import org.openhab.binding.enocean.internal.messages.Response;
 import org.slf4j.Logger;
@@ -126,7 +129,7 @@ public abstract class EnOceanTransceiver {
     RequestQueue requestQueue;
     Request currentRequest = null;
 
-    protected Map<Long, HashSet<ESP3PacketListener>> listeners;
+    protected Map<Long, Set<ESP3PacketListener>> listeners;
     protected ESP3PacketListener teachInListener;
 
     // Input and output streams, must be created by transceiver implementations
@@ -136,16 +139,15 @@ public abstract class EnOceanTransceiver {
     private byte[] filteredDeviceId;
     TransceiverErrorListener errorListener;
 
-    enum ReadingState {
-        WaitingForSyncByte,
-        ReadingHeader,
-        ReadingData
-    }
+    // bulk read size, the serial port returns earlier when fewer bytes are available
+    private static final int READ_BUFFER_SIZE = 1024;
+
+    private final ESP3Framer framer = new ESP3Framer(this::handlePacket);
 
     public EnOceanTransceiver(TransceiverErrorListener errorListener, ScheduledExecutorService scheduler) {
 
         requestQueue = new RequestQueue(scheduler);
-        listeners = new HashMap<>();
+        listeners = new ConcurrentHashMap<>();
         teachInListener = null;
         this.errorListener = errorListener;
     }
@@ -190,192 +192,81 @@ public abstract class EnOceanTransceiver {
     }
 
     private void receivePackets() {
-        byte[] buffer = new byte[1];
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
 
         while (readingTask != null && !readingTask.isCancelled()) {
 
-            int bytesRead = read(buffer, 1);
+            int bytesRead = read(buffer, buffer.length);
             if (bytesRead > 0) {
-                // if byte == sync byte => processMessage
-                processMessage(buffer[0]);
+                framer.feed(buffer, 0, bytesRead);
+            } else if (bytesRead == 0) {
+                framer.checkTimeout();
+            } else if (bytesRead == -1) {
+                if (readingTask != null && !readingTask.isCancelled() && errorListener != null) {
+                    errorListener.ErrorOccured(new IOException("could not read from inputstream"));
+                }
+                return;
             }
         }
     }
 
     protected abstract int read(byte[] buffer, int length);
 
-    byte[] dataBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
-    ReadingState state = ReadingState.WaitingForSyncByte; // we already received sync byte when we get called
-    int currentPosition = 0;
-    int dataLength = -1;
-    int optionalLength = -1;
-    byte packetType = -1;
-
-    private void processMessage(byte firstByte) {
-
-        byte[] readingBuffer = new byte[Helper.ENOCEAN_MAX_DATA];
-        int bytesRead = -1;
-        byte _byte;
-
-        try {
-
-            readingBuffer[0] = firstByte;
+    private void handlePacket(byte packetType, int dataLength, int optionalLength, byte[] data) {
+        if (readingTask == null || readingTask.isCancelled()) {
+            return;
+        }
 
-            bytesRead = this.inputStream.read(readingBuffer, 1, inputStream.available());
-            if (bytesRead == -1) {
-                throw new IOException("could not read from inputstream");
-            }
+        if (!ESPPacketType.hasValue(packetType)) {
+            logger.trace("Unknown ESP3Packet type {}", packetType);
+            return;
+        }
 
-            if (readingTask == null || readingTask.isCancelled()) {
-                return;
+        ESP3Packet packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength, packetType, data);
+        if (packet == null) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Unhandled ESP3Packet {}", HexUtils.bytesToHex(Arrays.copyOf(data, dataLength)));
             }
+            return;
+        }
 
-            bytesRead++;
-            for (int p = 0; p < bytesRead; p++) {
-                _byte = readingBuffer[p];
+        switch (packet.getPacketType()) {
+            case RADIO_ERP1: {
+                ERP1Message msg = (ERP1Message) packet;
 
-                switch (state) {
-                    case WaitingForSyncByte:
-                        if (_byte == Helper.ENOCEAN_SYNC_BYTE) {
-                            state = ReadingState.ReadingHeader;
-                            logger.trace("Received Sync Byte");
-                        }
-                        break;
-                    case ReadingHeader:
-                        if (currentPosition == Helper.ENOCEAN_HEADER_LENGTH) {
-                            if (Helper.checkCRC8(dataBuffer, Helper.ENOCEAN_HEADER_LENGTH, _byte)
-                                    && ((dataBuffer[0] & 0xFF) << 8) + (dataBuffer[1] & 0xFF)
-                                            + (dataBuffer[2] & 0xFF) > 0) {
-
-                                state = ReadingState.ReadingData;
-
-                                dataLength = ((dataBuffer[0] & 0xFF << 8) | (dataBuffer[1] & 0xFF));
-                                optionalLength = dataBuffer[2] & 0xFF;
-                                packetType = dataBuffer[3];
-                                currentPosition = 0;
-
-                                if (packetType == 3) {
-                                    logger.trace("Received sub_msg");
-                                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("{} with RORG {} for {} payload {}{} received", packet.getPacketType().name(),
+                            msg.getRORG().name(), HexUtils.bytesToHex(msg.getSenderId()),
+                            HexUtils.bytesToHex(msg.getPayload()), HexUtils.bytesToHex(msg.getOptionalPayload()));
+                }
 
-                                logger.trace(">> Received header, data length {} optional length {} packet type {}",
-                                        dataLength, optionalLength, packetType);
-                            } else {
-                                // check if we find a sync byte in current buffer
-                                int copyFrom = -1;
-                                for (int i = 0; i < Helper.ENOCEAN_HEADER_LENGTH; i++) {
-                                    if (dataBuffer[i] == Helper.ENOCEAN_SYNC_BYTE) {
-                                        copyFrom = i + 1;
-                                        break;
-                                    }
-                                }
+                informListeners(msg);
+            }
+                break;
+            case RESPONSE: {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("{} with code {} payload {}{} received", packet.getPacketType().name(),
+                            ((Response) packet).getResponseType().name(), HexUtils.bytesToHex(packet.getPayload()),
+                            HexUtils.bytesToHex(packet.getOptionalPayload()));
+                }
 
-                                if (copyFrom != -1) {
-                                    System.arraycopy(dataBuffer, copyFrom, dataBuffer, 0,
-                                            Helper.ENOCEAN_HEADER_LENGTH - copyFrom);
-                                    state = ReadingState.ReadingHeader;
-                                    currentPosition = Helper.ENOCEAN_HEADER_LENGTH - copyFrom;
-                                    dataBuffer[currentPosition++] = _byte;
-                                } else {
-                                    currentPosition = 0;
-                                    state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                            : ReadingState.WaitingForSyncByte;
-                                }
-                                logger.trace("CrC8 header check not successful");
-                            }
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
+                if (currentRequest != null) {
+                    if (currentRequest.ResponseListener != null) {
+                        currentRequest.ResponsePacket = (Response) packet;
+                        try {
+                            currentRequest.ResponseListener.handleResponse(currentRequest.ResponsePacket);
+                        } catch (Exception e) {
                         }
-                        break;
-                    case ReadingData:
-                        if (currentPosition == dataLength + optionalLength) {
-                            if (Helper.checkCRC8(dataBuffer, dataLength + optionalLength, _byte)) {
-                                state = ReadingState.WaitingForSyncByte;
-                                ESP3Packet packet = ESP3PacketFactory.BuildPacket(dataLength, optionalLength,
-                                        packetType, dataBuffer);
-
-                                if (packet != null) {
-                                    switch (packet.getPacketType()) {
-                                        case COMMON_COMMAND:
-                                            break;
-                                        case EVENT:
-                                            break;
-                                        case RADIO_ERP1: {
-                                            ERP1Message msg = (ERP1Message) packet;
-
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
-
-                                            logger.debug("{} with RORG {} for {} payload {} received",
-                                                    packet.getPacketType().name(), msg.getRORG().name(),
-                                                    HexUtils.bytesToHex(msg.getSenderId()), HexUtils.bytesToHex(d));
-
-                                            informListeners(msg);
-                                        }
-                                            break;
-                                        case RADIO_ERP2:
-                                            break;
-                                        case RADIO_MESSAGE:
-                                            break;
-                                        case RADIO_SUB_TEL:
-                                            break;
-                                        case REMOTE_MAN_COMMAND:
-                                            break;
-                                        case RESPONSE: {
-                                            byte[] d = new byte[dataLength + optionalLength];
-                                            System.arraycopy(dataBuffer, 0, d, 0, d.length);
-
-                                            logger.debug("{} with code {} payload {} received",
-                                                    packet.getPacketType().name(),
-                                                    ((Response) packet).getResponseType().name(),
-                                                    HexUtils.bytesToHex(d));
-
-                                            if (currentRequest != null) {
-                                                if (currentRequest.ResponseListener != null) {
-                                                    currentRequest.ResponsePacket = (Response) packet;
-                                                    try {
-                                                        currentRequest.ResponseListener
-                                                                .handleResponse(currentRequest.ResponsePacket);
-                                                    } catch (Exception e) {
-                                                    }
-
-                                                    logger.trace("Response handled");
-                                                } else {
-                                                    logger.trace("Response without listener");
-                                                }
-                                            }
-                                        }
-                                            break;
-                                        case SMART_ACK_COMMAND:
-                                            break;
-                                        default:
-                                            break;
-                                    }
-                                } else {
-                                    logger.trace("Unknown ESP3Packet");
-                                    byte[] d = new byte[dataLength + optionalLength];
-                                    System.arraycopy(dataBuffer, 0, d, 0, d.length);
-                                    logger.trace("{}", HexUtils.bytesToHex(d));
-                                }
-                            } else {
-                                state = _byte == Helper.ENOCEAN_SYNC_BYTE ? ReadingState.ReadingHeader
-                                        : ReadingState.WaitingForSyncByte;
-                                logger.trace("esp packet malformed");
-                            }
 
-                            currentPosition = 0;
-                            dataLength = optionalLength = packetType = -1;
-                        } else {
-                            dataBuffer[currentPosition++] = _byte;
-                        }
-                        break;
-                    default:
-                        break;
+                        logger.trace("Response handled");
+                    } else {
+                        logger.trace("Response without listener");
+                    }
                 }
             }
-        } catch (IOException ioexception) {
-            errorListener.ErrorOccured(ioexception);
-            return;
+                break;
+            default:
+                break;
         }
     }
 
@@ -420,8 +311,7 @@ public abstract class EnOceanTransceiver {
                     }
                 }
 
-                long s = Long.parseLong(HexUtils.bytesToHex(senderId), 16);
-                HashSet<ESP3PacketListener> pl = listeners.get(s);
+                Set<ESP3PacketListener> pl = listeners.get(toSenderIdKey(senderId));
                 if (pl != null) {
                     pl.forEach(l -> l.espPacketReceived(msg));
                 }
@@ -433,19 +323,27 @@ public abstract class EnOceanTransceiver {
 
     public void addPacketListener(ESP3PacketListener listener, long senderIdToListenTo) {
 
-        if (listeners.computeIfAbsent(senderIdToListenTo, k -> new HashSet<>()).add(listener)) {
+        if (listeners.computeIfAbsent(senderIdToListenTo, k -> new CopyOnWriteArraySet<>()).add(listener)) {
             logger.debug("Listener added: {}", senderIdToListenTo);
         }
     }
 
     public void removePacketListener(ESP3PacketListener listener, long senderIdToListenTo) {
-        HashSet<ESP3PacketListener> pl = listeners.get(senderIdToListenTo);
-        if (pl != null) {
+        listeners.computeIfPresent(senderIdToListenTo, (k, pl) -> {
             pl.remove(listener);
-            if (pl.isEmpty()) {
-                listeners.remove(senderIdToListenTo);
-            }
+            return pl.isEmpty() ? null : pl;
+        });
+    }
+
+    /**
+     * Converts a sender id into the key of the listener map, which is the unsigned value of the id bytes
+     */
+    private static long toSenderIdKey(byte[] senderId) {
+        long key = 0;
+        for (byte b : senderId) {
+            key = (key << 8) | (b & 0xFF);
         }
+        return key;
     }
 
     public void startDiscovery(ESP3PacketListener teachInListener) {
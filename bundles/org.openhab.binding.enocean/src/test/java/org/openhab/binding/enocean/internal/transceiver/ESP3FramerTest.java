@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.enocean.internal.transceiver;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Replays captured ESP3 telegram streams through the {@link ESP3Framer}, split at random read boundaries and mixed
+ * with noise.
+ *
+ * @author agent - Initial contribution
+ */
+public class ESP3FramerTest {
+
+    private static final long SEED = 0x3E5FL;
+    private static final int REPLAY_COUNT = 500;
+
+    // captured telegrams: RPS rocker, 4BS sensor, 1BS contact, VLD actuator status and a RESPONSE with base id
+    private static final byte[][] TELEGRAMS = new byte[][] {
+            telegram(0x01, bytes(0xF6, 0x30, 0xFE, 0xF6, 0xD6, 0x8A, 0x30),
+                    bytes(0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0x44, 0x00)),
+            telegram(0x01, bytes(0xA5, 0x00, 0x00, 0x55, 0x08, 0x01, 0x81, 0xB7, 0x44, 0x00),
+                    bytes(0x00, 0xFF, 0xFF, 0xFF, 0xFF, 0x2D, 0x00)),
+            telegram(0x01, bytes(0xD5, 0x09, 0x01, 0x82, 0x3A, 0x55, 0x00),
+                    bytes(0x01, 0xFF, 0xFF, 0xFF, 0xFF, 0x50, 0x00)),
+            telegram(0x01, bytes(0xD2, 0x04, 0x60, 0x80, 0x05, 0x0A, 0x5E, 0x2F, 0x80),
+                    bytes(0x00, 0xFF, 0xFF, 0xFF, 0xFF, 0x3B, 0x00)),
+            telegram(0x02, bytes(0x00, 0xFF, 0x9B, 0x55, 0x80), bytes(0x0A)) };
+
+    // received packets, framed again for comparison with the replayed telegrams
+    private final List<byte[]> received = new ArrayList<>();
+    private ESP3Framer framer;
+    private long nanoTime = 0;
+
+    @Before
+    public void setUp() {
+        framer = new ESP3Framer((packetType, dataLength, optionalLength, data) -> received
+                .add(frame(packetType, dataLength, Arrays.copyOf(data, dataLength + optionalLength), optionalLength)),
+                () -> nanoTime);
+    }
+
+    @Test
+    public void testReplayInRandomChunks() {
+        Random random = new Random(SEED);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        List<byte[]> expected = new ArrayList<>();
+        for (int i = 0; i < REPLAY_COUNT; i++) {
+            byte[] telegram = TELEGRAMS[random.nextInt(TELEGRAMS.length)];
+            stream.write(telegram, 0, telegram.length);
+            expected.add(telegram);
+        }
+
+        feedInChunks(stream.toByteArray(), random);
+
+        assertReceived(expected);
+        assertEquals(0, framer.getBufferedBytes());
+    }
+
+    @Test
+    public void testResyncAfterNoise() {
+        Random random = new Random(SEED);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        List<byte[]> expected = new ArrayList<>();
+        for (int i = 0; i < REPLAY_COUNT; i++) {
+            // noise including sync bytes and truncated telegrams
+            int noise = random.nextInt(8);
+            for (int j = 0; j < noise; j++) {
+                stream.write(random.nextInt(4) == 0 ? Helper.ENOCEAN_SYNC_BYTE : random.nextInt(256));
+            }
+            if (random.nextInt(10) == 0) {
+                byte[] truncated = TELEGRAMS[random.nextInt(TELEGRAMS.length)];
+                stream.write(truncated, 0, 1 + random.nextInt(truncated.length - 2));
+            }
+
+            byte[] telegram = TELEGRAMS[random.nextInt(TELEGRAMS.length)];
+            stream.write(telegram, 0, telegram.length);
+            expected.add(telegram);
+        }
+
+        feedInChunks(stream.toByteArray(), random);
+        // noise may look like the header of a long packet, which is discarded after the inter-byte timeout
+        waitForTimeout();
+        assertEquals(0, framer.getBufferedBytes());
+
+        // noise may accidentally form a valid packet, all telegrams must be received in order nevertheless
+        int index = 0;
+        for (byte[] packet : received) {
+            if (index < expected.size() && Arrays.equals(expected.get(index), packet)) {
+                index++;
+            }
+        }
+        assertEquals(expected.size(), index);
+    }
+
+    @Test
+    public void testCorruptedTelegramIsDropped() {
+        byte[] corrupted = TELEGRAMS[1].clone();
+        corrupted[8] ^= 0x01;
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(TELEGRAMS[0], 0, TELEGRAMS[0].length);
+        stream.write(corrupted, 0, corrupted.length);
+        stream.write(TELEGRAMS[2], 0, TELEGRAMS[2].length);
+
+        byte[] data = stream.toByteArray();
+        framer.feed(data, 0, data.length);
+
+        assertReceived(Arrays.asList(TELEGRAMS[0], TELEGRAMS[2]));
+    }
+
+    @Test
+    public void testNoiseHeaderIsDiscardedAfterTimeout() {
+        // noise passing the header CRC, claiming a long packet which swallows the following telegram
+        byte[] noise = telegram(0x01, new byte[ESP3Framer.MAX_DATA_LENGTH], bytes());
+        framer.feed(noise, 0, 10);
+        framer.feed(TELEGRAMS[0], 0, TELEGRAMS[0].length);
+        assertReceived(Arrays.asList());
+
+        // no more bytes are received, the telegram is found after the inter-byte timeout
+        framer.checkTimeout();
+        assertReceived(Arrays.asList());
+        waitForTimeout();
+        assertReceived(Arrays.asList(TELEGRAMS[0]));
+        assertEquals(0, framer.getBufferedBytes());
+
+        // bytes received after the timeout do not continue the discarded packet
+        framer.feed(noise, 0, 10);
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(ESP3Framer.INTER_BYTE_TIMEOUT_MS + 1);
+        framer.feed(TELEGRAMS[1], 0, TELEGRAMS[1].length);
+        assertReceived(Arrays.asList(TELEGRAMS[0], TELEGRAMS[1]));
+    }
+
+    @Test
+    public void testTooLongDataLengthIsRejected() {
+        byte[] noise = telegram(0x01, new byte[ESP3Framer.MAX_DATA_LENGTH + 1], bytes());
+        framer.feed(noise, 0, 10);
+        framer.feed(TELEGRAMS[0], 0, TELEGRAMS[0].length);
+
+        assertReceived(Arrays.asList(TELEGRAMS[0]));
+    }
+
+    @Test
+    public void testPacketWrappingAroundRingBuffer() {
+        byte[] large = telegram(0x01, new byte[ESP3Framer.MAX_DATA_LENGTH], bytes(0x00));
+        List<byte[]> expected = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            framer.feed(large, 0, large.length);
+            framer.feed(TELEGRAMS[0], 0, TELEGRAMS[0].length);
+            expected.add(large);
+            expected.add(TELEGRAMS[0]);
+        }
+
+        assertReceived(expected);
+    }
+
+    private void feedInChunks(byte[] data, Random random) {
+        int offset = 0;
+        while (offset < data.length) {
+            int length = Math.min(1 + random.nextInt(64), data.length - offset);
+            framer.feed(data, offset, length);
+            offset += length;
+        }
+    }
+
+    private void waitForTimeout() {
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(ESP3Framer.INTER_BYTE_TIMEOUT_MS + 1);
+        framer.checkTimeout();
+    }
+
+    private void assertReceived(List<byte[]> expected) {
+        assertEquals(expected.size(), received.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals("Telegram " + i, expected.get(i), received.get(i));
+        }
+    }
+
+    private static byte[] telegram(int packetType, byte[] data, byte[] optionalData) {
+        return frame(packetType, data.length, Helper.concatAll(data, optionalData), optionalData.length);
+    }
+
+    private static byte[] frame(int packetType, int dataLength, byte[] payload, int optionalLength) {
+        byte[] result = new byte[payload.length + 7];
+        result[0] = Helper.ENOCEAN_SYNC_BYTE;
+        result[1] = (byte) (dataLength >> 8);
+        result[2] = (byte) dataLength;
+        result[3] = (byte) optionalLength;
+        result[4] = (byte) packetType;
+        result[5] = Helper.calcCRC8(result, 1, 4);
+        System.arraycopy(payload, 0, result, 6, payload.length);
+        result[result.length - 1] = Helper.calcCRC8(payload, 0, payload.length);
+        return result;
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+}
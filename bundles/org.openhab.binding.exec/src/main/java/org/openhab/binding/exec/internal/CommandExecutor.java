@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link CommandExecutor} executes command lines in a dedicated thread pool of the binding, so slow commands do
+ * not block the scheduler of the thing handlers.
+ * <p>
+ * The output and error streams of a process are read concurrently while the process is running, so a process never
+ * blocks on a full pipe. At most {@link #maxOutputSize} bytes of each stream are kept, the remaining output is read
+ * and discarded. A stream whose reader is still queued when the process terminates is read by the thread of the
+ * process. A stream held open by a child process after the process terminated yields the output read so far.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CommandExecutor {
+
+    private static final String PROCESS_THREADPOOL_NAME = "exec";
+    private static final String STREAM_THREADPOOL_NAME = "exec-streams";
+    // time to wait for the streams of a terminated process to be read completely
+    private static final long STREAM_CLOSE_TIMEOUT = 1000;
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private final Logger logger = LoggerFactory.getLogger(CommandExecutor.class);
+
+    private final ExecutorService processPool;
+    private final ExecutorService streamPool;
+    private final int maxOutputSize;
+
+    /**
+     * The result of an execution of a command line
+     */
+    public static class ExecutionResult {
+        public final int exitValue;
+        public final String output;
+        public final String error;
+        public final boolean timedOut;
+
+        ExecutionResult(int exitValue, String output, String error, boolean timedOut) {
+            this.exitValue = exitValue;
+            this.output = output;
+            this.error = error;
+            this.timedOut = timedOut;
+        }
+    }
+
+    /**
+     * Reads a stream of a process until its end, it is read either by a thread of the stream pool or by the thread of
+     * the process, whichever starts first.
+     */
+    private class StreamReader implements Runnable {
+        private final InputStream stream;
+        private final String commandLine;
+        private final String streamName;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private boolean truncated = false;
+
+        StreamReader(InputStream stream, String commandLine, String streamName) {
+            this.stream = stream;
+            this.commandLine = commandLine;
+            this.streamName = streamName;
+        }
+
+        /**
+         * Returns true if the calling thread has to read the stream, because no other thread started reading it.
+         */
+        boolean claim() {
+            return started.compareAndSet(false, true);
+        }
+
+        @Override
+        public void run() {
+            if (claim()) {
+                read();
+            }
+        }
+
+        void read() {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            try (InputStream input = stream) {
+                int length;
+                while ((length = input.read(buffer)) != -1) {
+                    append(buffer, length);
+                }
+            } catch (IOException e) {
+                logger.error("An exception occurred while reading the {} when executing '{}' : '{}'", streamName,
+                        commandLine, e.getMessage());
+            }
+        }
+
+        private synchronized void append(byte[] buffer, int length) {
+            // keep reading after the limit, so the process does not block on a full pipe
+            int keep = Math.min(length, maxOutputSize - output.size());
+            if (keep > 0) {
+                output.write(buffer, 0, keep);
+            }
+            truncated |= keep < length;
+        }
+
+        synchronized String getOutput() {
+            if (truncated) {
+                logger.warn("The {} of '{}' exceeds {} bytes and has been truncated", streamName, commandLine,
+                        maxOutputSize);
+            }
+            String result = new String(output.toByteArray(), Charset.defaultCharset());
+            logger.debug("Exec [{}]: '{}'", streamName, result);
+            return result;
+        }
+    }
+
+    /**
+     * @param maxOutputSize the maximum number of bytes kept of the output and the error stream
+     */
+    public CommandExecutor(int maxOutputSize) {
+        this(maxOutputSize, ThreadPoolManager.getPool(PROCESS_THREADPOOL_NAME),
+                ThreadPoolManager.getPool(STREAM_THREADPOOL_NAME));
+    }
+
+    CommandExecutor(int maxOutputSize, ExecutorService processPool, ExecutorService streamPool) {
+        this.maxOutputSize = maxOutputSize;
+        this.processPool = processPool;
+        this.streamPool = streamPool;
+    }
+
+    /**
+     * Executes a command line in the thread pool of the executor.
+     *
+     * @param commandLine the command line to execute
+     * @param timeOut the time in milliseconds after which the process is terminated
+     * @return the result of the execution, completed exceptionally if the process could not be started
+     */
+    public CompletableFuture<ExecutionResult> execute(String commandLine, long timeOut) {
+        return CompletableFuture.supplyAsync(() -> run(commandLine, timeOut), processPool);
+    }
+
+    private ExecutionResult run(String commandLine, long timeOut) {
+        Process process;
+        try {
+            process = Runtime.getRuntime().exec(commandLine);
+        } catch (IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        StreamReader output = new StreamReader(process.getInputStream(), commandLine, "OUTPUT");
+        StreamReader error = new StreamReader(process.getErrorStream(), commandLine, "ERROR");
+        Future<?> outputJob = streamPool.submit(output);
+        Future<?> errorJob = streamPool.submit(error);
+
+        boolean timedOut = false;
+        try {
+            if (!process.waitFor(timeOut, TimeUnit.MILLISECONDS)) {
+                logger.warn("Forcibly termininating the process ('{}') after a timeout of {} ms", commandLine, timeOut);
+                timedOut = true;
+                process.destroyForcibly().waitFor();
+            }
+        } catch (InterruptedException e) {
+            logger.error("An exception occurred while waiting for the process ('{}') to finish : '{}'", commandLine,
+                    e.getMessage());
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+
+        return new ExecutionResult(process.isAlive() ? -1 : process.exitValue(), getStream(output, outputJob),
+                getStream(error, errorJob), timedOut);
+    }
+
+    private String getStream(StreamReader reader, Future<?> job) {
+        if (reader.claim()) {
+            // the reader is still queued, all output of the terminated process is waiting in the pipe
+            job.cancel(false);
+            reader.read();
+        } else {
+            try {
+                job.get(STREAM_CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                logger.debug("The {} of '{}' is still open, e.g. by a child process, using the output read so far",
+                        reader.streamName, reader.commandLine);
+            }
+        }
+        return reader.getOutput();
+    }
+}
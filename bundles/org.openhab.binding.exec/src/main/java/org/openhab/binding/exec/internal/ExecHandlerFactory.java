@@ -39,6 +39,11 @@ public class ExecHandlerFactory extends BaseThingHandlerFactory {
 
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections.singleton(THING_COMMAND);
 
+    // maximum number of bytes kept of the output and the error stream of a command
+    private static final int MAX_OUTPUT_SIZE = 1024 * 1024;
+
+    private final CommandExecutor commandExecutor = new CommandExecutor(MAX_OUTPUT_SIZE);
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -49,7 +54,7 @@ public class ExecHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(THING_COMMAND)) {
-            return new ExecHandler(thing);
+            return new ExecHandler(thing, commandExecutor);
         }
 
         return null;
@@ -14,13 +14,11 @@ package org.openhab.binding.exec.internal.handler;
 
 import static org.openhab.binding.exec.internal.ExecBindingConstants.*;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
 import java.util.Calendar;
 import java.util.IllegalFormatException;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -42,6 +40,8 @@ import org.eclipse.smarthome.core.transform.TransformationHelper;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
+import org.openhab.binding.exec.internal.CommandExecutor;
+import org.openhab.binding.exec.internal.CommandExecutor.ExecutionResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,10 +69,11 @@ public class ExecHandler extends BaseThingHandler {
     private @Nullable ScheduledFuture<?> executionJob;
     private @Nullable String lastInput;
 
-    private static Runtime rt = Runtime.getRuntime();
+    private final CommandExecutor commandExecutor;
 
-    public ExecHandler(Thing thing) {
+    public ExecHandler(Thing thing, CommandExecutor commandExecutor) {
         super(thing);
+        this.commandExecutor = commandExecutor;
     }
 
     @Override
@@ -139,15 +140,6 @@ public class ExecHandler extends BaseThingHandler {
             if (commandLine != null && !commandLine.isEmpty()) {
                 updateState(RUN, OnOffType.ON);
 
-                // For some obscure reason, when using Apache Common Exec, or using a straight implementation of
-                // Runtime.Exec(), on Mac OS X (Yosemite and El Capitan), there seems to be a lock race condition
-                // randomly appearing (on UNIXProcess) *when* one tries to gobble up the stdout and sterr output of the
-                // subprocess in separate threads. It seems to be common "wisdom" to do that in separate threads, but
-                // only when keeping everything between .exec() and .waitfor() in the same thread, this lock race
-                // condition seems to go away. This approach of not reading the outputs in separate threads *might* be a
-                // problem for external commands that generate a lot of output, but this will be dependent on the limits
-                // of the underlying operating system.
-
                 try {
                     if (lastInput != null) {
                         commandLine = String.format(commandLine, Calendar.getInstance().getTime(), lastInput);
@@ -164,82 +156,39 @@ public class ExecHandler extends BaseThingHandler {
 
                 logger.trace("The command to be executed will be '{}'", commandLine);
 
-                Process proc = null;
-                try {
-                    proc = rt.exec(commandLine.toString());
-                } catch (Exception e) {
-                    logger.error("An exception occurred while executing '{}' : '{}'",
-                            new Object[] { commandLine.toString(), e.getMessage() });
-                    updateState(RUN, OnOffType.OFF);
-                    updateState(OUTPUT, new StringType(e.getMessage()));
-                    return;
-                }
-
-                StringBuilder outputBuilder = new StringBuilder();
-                StringBuilder errorBuilder = new StringBuilder();
-
-                try (InputStreamReader isr = new InputStreamReader(proc.getInputStream());
-                        BufferedReader br = new BufferedReader(isr)) {
-                    String line = null;
-                    while ((line = br.readLine()) != null) {
-                        outputBuilder.append(line).append("\n");
-                        logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
-                    }
-                    isr.close();
-                } catch (IOException e) {
-                    logger.error("An exception occurred while reading the stdout when executing '{}' : '{}'",
-                            new Object[] { commandLine.toString(), e.getMessage() });
-                }
-
-                try (InputStreamReader isr = new InputStreamReader(proc.getErrorStream());
-                        BufferedReader br = new BufferedReader(isr)) {
-                    String line = null;
-                    while ((line = br.readLine()) != null) {
-                        errorBuilder.append(line).append("\n");
-                        logger.debug("Exec [{}]: '{}'", "ERROR", line);
+                String executedCommandLine = commandLine;
+                commandExecutor.execute(commandLine, timeOut).whenComplete((result, exception) -> {
+                    if (exception != null) {
+                        Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+                        logger.error("An exception occurred while executing '{}' : '{}'", executedCommandLine,
+                                cause.getMessage());
+                        updateState(RUN, OnOffType.OFF);
+                        updateState(OUTPUT, new StringType(cause.getMessage()));
+                    } else {
+                        handleResult(result);
                     }
-                    isr.close();
-                } catch (IOException e) {
-                    logger.error("An exception occurred while reading the stderr when executing '{}' : '{}'",
-                            new Object[] { commandLine.toString(), e.getMessage() });
-                }
-
-                boolean exitVal = false;
-                try {
-                    exitVal = proc.waitFor(timeOut, TimeUnit.MILLISECONDS);
-                } catch (InterruptedException e) {
-                    logger.error("An exception occurred while waiting for the process ('{}') to finish : '{}'",
-                            new Object[] { commandLine.toString(), e.getMessage() });
-                }
-
-                if (!exitVal) {
-                    logger.warn("Forcibly termininating the process ('{}') after a timeout of {} ms",
-                            new Object[] { commandLine.toString(), timeOut });
-                    proc.destroyForcibly();
-                }
-
-                updateState(RUN, OnOffType.OFF);
-                updateState(EXIT, new DecimalType(proc.exitValue()));
-
-                outputBuilder.append(errorBuilder.toString());
-
-                outputBuilder.append(errorBuilder.toString());
+                });
+            }
+        }
 
-                String transformedResponse = StringUtils.chomp(outputBuilder.toString());
-                String transformation = (String) getConfig().get(TRANSFORM);
+    };
 
-                if (transformation != null && transformation.length() > 0) {
-                    transformedResponse = transformResponse(transformedResponse, transformation);
-                }
+    private void handleResult(ExecutionResult result) {
+        updateState(RUN, OnOffType.OFF);
+        updateState(EXIT, new DecimalType(result.exitValue));
 
-                updateState(OUTPUT, new StringType(transformedResponse));
+        String transformedResponse = StringUtils.chomp(result.output + result.error);
+        String transformation = (String) getConfig().get(TRANSFORM);
 
-                DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
-                updateState(LAST_EXECUTION, stampType);
-            }
+        if (transformation != null && transformation.length() > 0) {
+            transformedResponse = transformResponse(transformedResponse, transformation);
         }
 
-    };
+        updateState(OUTPUT, new StringType(transformedResponse));
+
+        DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
+        updateState(LAST_EXECUTION, stampType);
+    }
 
     protected @Nullable String transformResponse(String response, String transformation) {
         String transformedResponse;
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.exec.internal.CommandExecutor.ExecutionResult;
+
+/**
+ * Tests the {@link CommandExecutor} with shell scripts.
+ *
+ * @author agent - Initial contribution
+ */
+public class CommandExecutorTest {
+
+    private static final int MAX_OUTPUT_SIZE = 1000;
+    private static final long TIMEOUT = 10000;
+    // the sleeping child process holds the streams for much longer
+    private static final long MAX_DURATION = 5000;
+
+    private final CommandExecutor executor = new CommandExecutor(MAX_OUTPUT_SIZE);
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        assumeTrue(new File("/bin/sh").canExecute());
+        directory = Files.createTempDirectory("exec");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (directory != null) {
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void testOutputAndError() throws Exception {
+        ExecutionResult result = execute(script("echo output", "echo error >&2", "exit 3"), TIMEOUT);
+
+        assertEquals("output\n", result.output);
+        assertEquals("error\n", result.error);
+        assertEquals(3, result.exitValue);
+        assertFalse(result.timedOut);
+    }
+
+    @Test
+    public void testLargeOutputIsDrainedAndTruncated() throws Exception {
+        // the error output does not fit into the pipe, the process blocks unless both streams are read concurrently
+        ExecutionResult result = execute(
+                script("i=0", "while [ $i -lt 2000 ]; do", "echo 0123456789012345678901234567890123456789 >&2",
+                        "echo 0123456789012345678901234567890123456789", "i=$((i+1))", "done", "echo done >&2"),
+                TIMEOUT);
+
+        assertFalse(result.timedOut);
+        assertEquals(0, result.exitValue);
+        assertEquals(MAX_OUTPUT_SIZE, result.output.length());
+        assertEquals(MAX_OUTPUT_SIZE, result.error.length());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        long start = System.currentTimeMillis();
+        ExecutionResult result = execute(script("echo started", "sleep 30"), 500);
+
+        assertTrue(result.timedOut);
+        assertEquals("started\n", result.output);
+        assertTrue(System.currentTimeMillis() - start < MAX_DURATION);
+    }
+
+    @Test
+    public void testChildProcessHoldingTheStream() throws Exception {
+        long start = System.currentTimeMillis();
+        ExecutionResult result = execute(script("echo started", "sleep 30 &"), TIMEOUT);
+
+        assertFalse(result.timedOut);
+        assertEquals("started\n", result.output);
+        assertTrue(System.currentTimeMillis() - start < MAX_DURATION);
+    }
+
+    @Test
+    public void testQueuedStreamReadersAreRunByTheProcessThread() throws Exception {
+        // the only thread of the stream pool is busy, so the readers of the process stay queued
+        ExecutorService processPool = Executors.newSingleThreadExecutor();
+        ExecutorService streamPool = Executors.newSingleThreadExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        streamPool.submit(() -> {
+            release.await();
+            return null;
+        });
+        try {
+            ExecutionResult result = new CommandExecutor(MAX_OUTPUT_SIZE, processPool, streamPool)
+                    .execute(script("echo output", "echo error >&2"), TIMEOUT).get(2 * TIMEOUT, TimeUnit.MILLISECONDS);
+
+            assertEquals("output\n", result.output);
+            assertEquals("error\n", result.error);
+        } finally {
+            release.countDown();
+            processPool.shutdownNow();
+            streamPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEachExecutionRunsTheCommand() throws Exception {
+        Path counter = directory.resolve("counter");
+        String script = script("echo run >> " + counter);
+
+        CompletableFuture<ExecutionResult> first = executor.execute(script, TIMEOUT);
+        CompletableFuture<ExecutionResult> second = executor.execute(script, TIMEOUT);
+        first.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        second.get(TIMEOUT, TimeUnit.MILLISECONDS);
+
+        List<String> runs = Files.readAllLines(counter, StandardCharsets.UTF_8);
+        assertEquals(2, runs.size());
+    }
+
+    private ExecutionResult execute(String commandLine, long timeOut) throws Exception {
+        return executor.execute(commandLine, timeOut).get(2 * TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    private String script(String... lines) throws IOException {
+        Path script = Files.createTempFile(directory, "script", ".sh");
+        Files.write(script, String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+        return "/bin/sh " + script;
+    }
+}
@@ -15,6 +15,7 @@ package org.openhab.binding.fsinternetradio.internal.radio;
 import java.io.IOException;
 import java.io.StringReader;
 
+import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
@@ -47,6 +48,14 @@ import org.xml.sax.SAXException;
  */
 public class FrontierSiliconRadioApiResult {
 
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createDocumentBuilderFactory();
+
+    /**
+     * Every request creates a result, so the document builder is not created for each response but reused by the
+     * thread that created it.
+     */
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+
     /**
      * XML structure holding the parsed response
      */
@@ -208,12 +217,36 @@ public class FrontierSiliconRadioApiResult {
      */
     private Document getXmlDocFromString(String xmlString)
             throws ParserConfigurationException, SAXException, IOException {
-        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        final DocumentBuilder builder = factory.newDocumentBuilder();
+        DocumentBuilder builder = DOCUMENT_BUILDER.get();
+        if (builder == null) {
+            builder = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+            DOCUMENT_BUILDER.set(builder);
+        } else {
+            builder.reset();
+        }
         final Document xmlDocument = builder.parse(new InputSource(new StringReader(xmlString)));
         return xmlDocument;
     }
 
+    /**
+     * create a factory for document builders which neither load external entities nor DTDs
+     */
+    private static DocumentBuilderFactory createDocumentBuilderFactory() {
+        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+        try {
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        } catch (ParserConfigurationException e) {
+            LoggerFactory.getLogger(FrontierSiliconRadioApiResult.class)
+                    .warn("The XML parser does not support secure processing: {}", e.getMessage());
+        }
+        return factory;
+    }
+
     /**
      * convert the value of a given XML element to a string for further processing
      *
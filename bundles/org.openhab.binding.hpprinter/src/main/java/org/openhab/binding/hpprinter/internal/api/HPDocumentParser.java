@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hpprinter.internal.api;
+
+import java.io.IOException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * The {@link HPDocumentParser} parses the XML documents of the printer. Each thread reuses its
+ * {@link DocumentBuilder}, and external entities and DTDs are not loaded.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class HPDocumentParser {
+
+    private static final DocumentBuilderFactory FACTORY = createFactory();
+
+    private static final ThreadLocal<@Nullable DocumentBuilder> THREAD_BUILDER = new ThreadLocal<>();
+
+    private HPDocumentParser() {
+    }
+
+    /**
+     * Parses the given source into a document.
+     *
+     * @param source the XML to parse
+     * @return the parsed document
+     */
+    static Document parse(InputSource source) throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder builder = THREAD_BUILDER.get();
+        if (builder == null) {
+            builder = FACTORY.newDocumentBuilder();
+            THREAD_BUILDER.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder.parse(source);
+    }
+
+    private static DocumentBuilderFactory createFactory() {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+        try {
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        } catch (ParserConfigurationException e) {
+            LoggerFactory.getLogger(HPDocumentParser.class)
+                    .warn("The XML parser does not support secure processing: {}", e.getMessage());
+        }
+        return factory;
+    }
+}
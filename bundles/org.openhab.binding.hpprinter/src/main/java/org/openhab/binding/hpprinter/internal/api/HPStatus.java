@@ -16,8 +16,6 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -42,10 +40,7 @@ public class HPStatus {
     }
 
     public HPStatus(InputSource source) throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-
-        Document document = builder.parse(source);
+        Document document = HPDocumentParser.parse(source);
 
         NodeList nodes = document.getDocumentElement().getElementsByTagName("psdyn:Status");
 
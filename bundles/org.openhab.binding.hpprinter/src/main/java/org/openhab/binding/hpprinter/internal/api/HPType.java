@@ -14,8 +14,6 @@ package org.openhab.binding.hpprinter.internal.api;
 
 import java.io.IOException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -50,10 +48,7 @@ public class HPType {
     }
 
     public HPType(InputSource source) throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-
-        Document document = builder.parse(source);
+        Document document = HPDocumentParser.parse(source);
 
         // Check what Ink/Toner colours are present
         NodeList consumableInk = document.getDocumentElement().getElementsByTagName("pudyn:Consumable");
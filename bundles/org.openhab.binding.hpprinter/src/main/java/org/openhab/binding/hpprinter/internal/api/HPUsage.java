@@ -14,8 +14,6 @@ package org.openhab.binding.hpprinter.internal.api;
 
 import java.io.IOException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -56,10 +54,7 @@ public class HPUsage {
     }
 
     public HPUsage(InputSource source) throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-
-        Document document = builder.parse(source);
+        Document document = HPDocumentParser.parse(source);
 
         // Get Ink Levels
         NodeList consumableInk = document.getDocumentElement().getElementsByTagName("pudyn:Consumable");
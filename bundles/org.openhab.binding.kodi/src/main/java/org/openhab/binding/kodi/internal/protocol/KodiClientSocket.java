@@ -14,9 +14,18 @@ package org.openhab.binding.kodi.internal.protocol;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -30,6 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -38,6 +48,9 @@ import com.google.gson.JsonParser;
  * KodiClientSocket implements the low level communication to Kodi through
  * websocket. Usually this communication is done through port 9090
  *
+ * Responses are correlated to their requests by the JSON-RPC id, so several requests may be in flight at the same
+ * time. Calls which belong together can be sent as a JSON-RPC batch with {@link #callMethods(List)}.
+ *
  * @author Paul Frank - Initial contribution
  */
 public class KodiClientSocket {
@@ -47,9 +60,10 @@ public class KodiClientSocket {
     private final ScheduledExecutorService scheduler;
     private static final int REQUEST_TIMEOUT_MS = 60000;
 
-    private CountDownLatch commandLatch = null;
-    private JsonObject commandResponse = null;
-    private int nextMessageId = 1;
+    private final Map<Integer, CompletableFuture<JsonObject>> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
+    // the remote endpoint rejects a blocking send while another one is in progress
+    private final Object sendLock = new Object();
 
     private boolean connected = false;
 
@@ -124,12 +138,25 @@ public class KodiClientSocket {
         @OnWebSocketMessage
         public void onMessage(String message) {
             logger.trace("Message received from server: {}", message);
-            final JsonObject json = parser.parse(message).getAsJsonObject();
+            final JsonElement response = parser.parse(message);
+            if (response.isJsonArray()) {
+                // response to a batch request
+                for (JsonElement element : response.getAsJsonArray()) {
+                    onResponse(element.getAsJsonObject());
+                }
+            } else {
+                onResponse(response.getAsJsonObject());
+            }
+        }
+
+        private void onResponse(JsonObject json) {
             if (json.has("id")) {
-                int messageId = json.get("id").getAsInt();
-                if (messageId == nextMessageId - 1) {
-                    commandResponse = json;
-                    commandLatch.countDown();
+                JsonElement id = json.get("id");
+                CompletableFuture<JsonObject> request = id.isJsonNull() ? null : pendingRequests.remove(id.getAsInt());
+                if (request != null) {
+                    request.complete(json);
+                } else {
+                    logger.debug("Response without pending request received from server: {}", json);
                 }
             } else {
                 logger.trace("Event received from server: {}", json);
@@ -151,6 +178,7 @@ public class KodiClientSocket {
             logger.trace("Closing a WebSocket due to {}", reason);
             session = null;
             connected = false;
+            failPendingRequests(new IOException("Connection closed: " + reason));
             if (eventHandler != null) {
                 scheduler.submit(() -> {
                     try {
@@ -171,9 +199,12 @@ public class KodiClientSocket {
     }
 
     private void sendMessage(String str) throws IOException {
-        if (isConnected()) {
+        Session localSession = session;
+        if (localSession != null && isConnected()) {
             logger.trace("send message: {}", str);
-            session.getRemote().sendString(str);
+            synchronized (sendLock) {
+                localSession.getRemote().sendString(str);
+            }
         } else {
             throw new IOException("Socket not initialized");
         }
@@ -183,40 +214,159 @@ public class KodiClientSocket {
         return callMethod(methodName, null);
     }
 
-    public synchronized JsonElement callMethod(String methodName, JsonObject params) {
+    public JsonElement callMethod(String methodName, JsonObject params) {
+        return callMethod(methodName, params, REQUEST_TIMEOUT_MS);
+    }
+
+    /**
+     * Calls a method and waits for its result.
+     *
+     * @param methodName the name of the method
+     * @param params the parameters of the method, may be null
+     * @param timeoutMs the time to wait for the response in milliseconds
+     * @return the result or null, if an error occurred
+     */
+    public JsonElement callMethod(String methodName, JsonObject params, long timeoutMs) {
+        return getResult(callMethodAsync(methodName, params, timeoutMs), new KodiRequest(methodName, params),
+                timeoutMs);
+    }
+
+    /**
+     * Calls a method without waiting for its result.
+     *
+     * @param methodName the name of the method
+     * @param params the parameters of the method, may be null
+     * @param timeoutMs the time to wait for the response in milliseconds
+     * @return the future result, which is null if the server returned an error
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(String methodName, JsonObject params, long timeoutMs) {
+        int messageId = nextMessageId.getAndIncrement();
+        CompletableFuture<JsonObject> response = addPendingRequest(messageId, timeoutMs);
         try {
-            JsonObject payloadObject = new JsonObject();
-            payloadObject.addProperty("jsonrpc", "2.0");
-            payloadObject.addProperty("id", nextMessageId);
-            payloadObject.addProperty("method", methodName);
+            sendMessage(mapper.toJson(createPayload(messageId, new KodiRequest(methodName, params))));
+        } catch (IOException | RuntimeException e) {
+            pendingRequests.remove(messageId);
+            response.completeExceptionally(e);
+        }
+        return response.thenApply(this::getResult);
+    }
 
-            if (params != null) {
-                payloadObject.add("params", params);
+    public List<JsonElement> callMethods(List<KodiRequest> requests) {
+        return callMethods(requests, REQUEST_TIMEOUT_MS);
+    }
+
+    /**
+     * Calls the methods in a single JSON-RPC batch and waits for their results.
+     *
+     * @param requests the method calls
+     * @param timeoutMs the time to wait for all responses in milliseconds
+     * @return the results in the order of the requests, null for each call with an error
+     */
+    public List<JsonElement> callMethods(List<KodiRequest> requests, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<CompletableFuture<JsonElement>> responses = callMethodsAsync(requests, timeoutMs);
+        List<JsonElement> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            long remainingMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            results.add(getResult(responses.get(i), requests.get(i), remainingMs));
+        }
+        return results;
+    }
+
+    /**
+     * Calls the methods in a single JSON-RPC batch without waiting for their results.
+     *
+     * @param requests the method calls
+     * @param timeoutMs the time to wait for the responses in milliseconds
+     * @return the future results in the order of the requests
+     */
+    public List<CompletableFuture<JsonElement>> callMethodsAsync(List<KodiRequest> requests, long timeoutMs) {
+        List<CompletableFuture<JsonElement>> results = new ArrayList<>(requests.size());
+        if (requests.isEmpty()) {
+            return results;
+        }
+
+        JsonArray batch = new JsonArray();
+        Map<Integer, CompletableFuture<JsonObject>> responses = new HashMap<>();
+        for (KodiRequest request : requests) {
+            int messageId = nextMessageId.getAndIncrement();
+            CompletableFuture<JsonObject> response = addPendingRequest(messageId, timeoutMs);
+            responses.put(messageId, response);
+            batch.add(createPayload(messageId, request));
+            results.add(response.thenApply(this::getResult));
+        }
+        try {
+            sendMessage(mapper.toJson(batch));
+        } catch (IOException | RuntimeException e) {
+            responses.forEach((messageId, response) -> {
+                pendingRequests.remove(messageId);
+                response.completeExceptionally(e);
+            });
+        }
+        return results;
+    }
+
+    private JsonObject createPayload(int messageId, KodiRequest request) {
+        JsonObject payloadObject = new JsonObject();
+        payloadObject.addProperty("jsonrpc", "2.0");
+        payloadObject.addProperty("id", messageId);
+        payloadObject.addProperty("method", request.getMethodName());
+
+        if (request.getParams() != null) {
+            payloadObject.add("params", request.getParams());
+        }
+        return payloadObject;
+    }
+
+    private CompletableFuture<JsonObject> addPendingRequest(int messageId, long timeoutMs) {
+        CompletableFuture<JsonObject> response = new CompletableFuture<>();
+        pendingRequests.put(messageId, response);
+        // only removes a request without response, callers waiting for the result time out on their own
+        ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (pendingRequests.remove(messageId) != null) {
+                response.completeExceptionally(new TimeoutException("No response within " + timeoutMs + " ms"));
             }
+        }, timeoutMs, TimeUnit.MILLISECONDS);
+        response.whenComplete((result, error) -> timeout.cancel(false));
+        return response;
+    }
 
-            String message = mapper.toJson(payloadObject);
+    private void failPendingRequests(Throwable error) {
+        for (Integer messageId : pendingRequests.keySet()) {
+            CompletableFuture<JsonObject> response = pendingRequests.remove(messageId);
+            if (response != null) {
+                response.completeExceptionally(error);
+            }
+        }
+    }
 
-            commandLatch = new CountDownLatch(1);
-            commandResponse = null;
-            nextMessageId++;
+    private JsonElement getResult(JsonObject response) {
+        logger.debug("callMethod returns: {}", response);
+        if (response.has("result")) {
+            return response.get("result");
+        } else {
+            JsonElement error = response.get("error");
+            logger.debug("Error received from server: {}", error);
+            return null;
+        }
+    }
 
-            sendMessage(message);
-            if (commandLatch.await(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-                logger.debug("callMethod returns: {}", commandResponse);
-                if (commandResponse.has("result")) {
-                    return commandResponse.get("result");
-                } else {
-                    JsonElement error = commandResponse.get("error");
-                    logger.debug("Error received from server: {}", error);
-                    return null;
-                }
+    private JsonElement getResult(CompletableFuture<JsonElement> result, KodiRequest request, long timeoutMs) {
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Timeout during callMethod({})", request);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                logger.debug("Timeout during callMethod({})", request);
             } else {
-                logger.debug("Timeout during callMethod({}, {})", methodName, params);
-                return null;
+                logger.debug("Error during callMethod({}): {}", request, cause.getMessage(), cause);
             }
-        } catch (IOException | InterruptedException e) {
-            logger.debug("Error during callMethod({}, {}): {}", methodName, params, e.getMessage(), e);
-            return null;
+        } catch (InterruptedException e) {
+            logger.debug("Interrupted during callMethod({})", request);
+            Thread.currentThread().interrupt();
         }
+        return null;
     }
 }
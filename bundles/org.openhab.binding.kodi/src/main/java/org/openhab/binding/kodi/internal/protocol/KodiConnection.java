@@ -100,14 +100,15 @@ public class KodiConnection implements KodiClientSocketEventListener {
 
     private final Gson gson = new Gson();
 
-    private String hostname;
-    private URI wsUri;
-    private URI imageUri;
-    private KodiClientSocket socket;
+    // Only the connection and the player state are guarded, so independent calls may be in flight at the same time
+    private volatile String hostname;
+    private volatile URI wsUri;
+    private volatile URI imageUri;
+    private volatile KodiClientSocket socket;
 
-    private int volume = 0;
-    private KodiState currentState = KodiState.STOP;
-    private KodiPlaylistState currentPlaylistState = KodiPlaylistState.CLEAR;
+    private volatile int volume = 0;
+    private volatile KodiState currentState = KodiState.STOP;
+    private volatile KodiPlaylistState currentPlaylistState = KodiPlaylistState.CLEAR;
 
     private final KodiEventListener listener;
     private final WebSocketClient webSocketClient;
@@ -120,12 +121,12 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     @Override
-    public synchronized void onConnectionClosed() {
+    public void onConnectionClosed() {
         listener.updateConnectionState(false);
     }
 
     @Override
-    public synchronized void onConnectionOpened() {
+    public void onConnectionOpened() {
         listener.updateConnectionState(true);
     }
 
@@ -158,11 +159,22 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public int getActivePlaylist() {
+        // the items of all playlists are requested in one batch
+        List<Integer> playlistIDs = new ArrayList<>();
+        List<KodiRequest> requests = new ArrayList<>();
         for (JsonElement element : getPlaylistsInternal()) {
             JsonObject playlist = (JsonObject) element;
             if (playlist.has("playlistid")) {
                 int playlistID = playlist.get("playlistid").getAsInt();
-                JsonObject playlistItems = getPlaylistItemsInternal(playlistID);
+                playlistIDs.add(playlistID);
+                requests.add(createPlaylistItemsRequest(playlistID));
+            }
+        }
+        List<JsonElement> responses = socket.callMethods(requests);
+        for (int i = 0; i < playlistIDs.size(); i++) {
+            int playlistID = playlistIDs.get(i);
+            if (responses.get(i) instanceof JsonObject) {
+                JsonObject playlistItems = responses.get(i).getAsJsonObject();
                 if (playlistItems.has("limits") && playlistItems.get("limits") instanceof JsonObject) {
                     JsonObject limits = playlistItems.get("limits").getAsJsonObject();
                     if (limits.has("total") && limits.get("total").getAsInt() > 0) {
@@ -184,7 +196,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return -1;
     }
 
-    private synchronized JsonArray getPlaylistsInternal() {
+    private JsonArray getPlaylistsInternal() {
         String method = "Playlist.GetPlaylists";
         String hash = hostname + '#' + method;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -198,19 +210,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private synchronized JsonObject getPlaylistItemsInternal(int playlistID) {
+    private KodiRequest createPlaylistItemsRequest(int playlistID) {
         JsonObject params = new JsonObject();
         params.addProperty("playlistid", playlistID);
-        JsonElement response = socket.callMethod("Playlist.GetItems", params);
-
-        if (response instanceof JsonObject) {
-            return response.getAsJsonObject();
-        } else {
-            return null;
-        }
+        return new KodiRequest("Playlist.GetItems", params);
     }
 
-    public synchronized void playerPlayPause() {
+    public void playerPlayPause() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -218,7 +224,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.PlayPause", params);
     }
 
-    public synchronized void playerStop() {
+    public void playerStop() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -226,13 +232,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Stop", params);
     }
 
-    public synchronized void playerNext() {
+    public void playerNext() {
         goToInternal("next");
 
         updatePlayerStatus();
     }
 
-    public synchronized void playerPrevious() {
+    public void playerPrevious() {
         goToInternal("previous");
 
         updatePlayerStatus();
@@ -247,13 +253,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.GoTo", params);
     }
 
-    public synchronized void playerRewind() {
+    public void playerRewind() {
         setSpeedInternal(calcNextSpeed(-1));
 
         updatePlayerStatus();
     }
 
-    public synchronized void playerFastForward() {
+    public void playerFastForward() {
         setSpeedInternal(calcNextSpeed(1));
 
         updatePlayerStatus();
@@ -284,7 +290,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.SetSpeed", params);
     }
 
-    public synchronized void playlistAdd(int playlistID, String uri) {
+    public void playlistAdd(int playlistID, String uri) {
         currentPlaylistState = KodiPlaylistState.ADD;
 
         JsonObject item = new JsonObject();
@@ -296,7 +302,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Playlist.Add", params);
     }
 
-    public synchronized void playlistClear(int playlistID) {
+    public void playlistClear(int playlistID) {
         currentPlaylistState = KodiPlaylistState.CLEAR;
 
         JsonObject params = new JsonObject();
@@ -304,7 +310,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Playlist.Clear", params);
     }
 
-    public synchronized void playlistInsert(int playlistID, String uri, int position) {
+    public void playlistInsert(int playlistID, String uri, int position) {
         currentPlaylistState = KodiPlaylistState.INSERT;
 
         JsonObject item = new JsonObject();
@@ -317,7 +323,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Playlist.Insert", params);
     }
 
-    public synchronized void playlistPlay(int playlistID, int position) {
+    public void playlistPlay(int playlistID, int position) {
         JsonObject item = new JsonObject();
         item.addProperty("playlistid", playlistID);
         item.addProperty("position", position);
@@ -325,7 +331,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         playInternal(item, null);
     }
 
-    public synchronized void playlistRemove(int playlistID, int position) {
+    public void playlistRemove(int playlistID, int position) {
         currentPlaylistState = KodiPlaylistState.REMOVE;
 
         JsonObject params = new JsonObject();
@@ -339,7 +345,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      *
      * @return a list of {@link KodiFavorite}
      */
-    public synchronized List<KodiFavorite> getFavorites() {
+    public List<KodiFavorite> getFavorites() {
         String method = "Favourites.GetFavourites";
         String hash = hostname + '#' + method;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -396,7 +402,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      *
      * @param window the window
      */
-    public synchronized void activateWindow(final String window) {
+    public void activateWindow(final String window) {
         activateWindow(window, null);
     }
 
@@ -406,7 +412,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      * @param window the window
      * @param windowParameter list of parameters of the window
      */
-    public synchronized void activateWindow(final String window, @Nullable final String[] windowParameter) {
+    public void activateWindow(final String window, @Nullable final String[] windowParameter) {
         JsonObject params = new JsonObject();
         params.addProperty("window", window);
         if (windowParameter != null) {
@@ -415,15 +421,15 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("GUI.ActivateWindow", params);
     }
 
-    public synchronized void increaseVolume() {
+    public void increaseVolume() {
         setVolumeInternal(this.volume + VOLUMESTEP);
     }
 
-    public synchronized void decreaseVolume() {
+    public void decreaseVolume() {
         setVolumeInternal(this.volume - VOLUMESTEP);
     }
 
-    public synchronized void setVolume(int volume) {
+    public void setVolume(int volume) {
         setVolumeInternal(volume);
     }
 
@@ -437,13 +443,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return volume;
     }
 
-    public synchronized void setMute(boolean mute) {
+    public void setMute(boolean mute) {
         JsonObject params = new JsonObject();
         params.addProperty("mute", mute);
         socket.callMethod("Application.SetMute", params);
     }
 
-    public synchronized void setAudioStream(int stream) {
+    public void setAudioStream(int stream) {
         JsonObject params = new JsonObject();
         params.addProperty("stream", stream);
         int activePlayer = getActivePlayer();
@@ -451,7 +457,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.SetAudioStream", params);
     }
 
-    public synchronized void setVideoStream(int stream) {
+    public void setVideoStream(int stream) {
         JsonObject params = new JsonObject();
         params.addProperty("stream", stream);
         int activePlayer = getActivePlayer();
@@ -459,7 +465,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.SetVideoStream", params);
     }
 
-    public synchronized void setSubtitle(int subtitle) {
+    public void setSubtitle(int subtitle) {
         JsonObject params = new JsonObject();
         params.addProperty("subtitle", subtitle);
         int activePlayer = getActivePlayer();
@@ -467,7 +473,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.SetSubtitle", params);
     }
 
-    public synchronized void setSubtitleEnabled(boolean subtitleenabled) {
+    public void setSubtitleEnabled(boolean subtitleenabled) {
         JsonObject params = new JsonObject();
         params.addProperty("subtitle", subtitleenabled ? "on" : "off");
         int activePlayer = getActivePlayer();
@@ -476,13 +482,20 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private int getSpeed(int activePlayer) {
+        KodiRequest request = createSpeedRequest(activePlayer);
+        return getSpeed(socket.callMethod(request.getMethodName(), request.getParams()));
+    }
+
+    private KodiRequest createSpeedRequest(int activePlayer) {
         final String[] properties = { "speed" };
 
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
+        return new KodiRequest("Player.GetProperties", params);
+    }
 
+    private int getSpeed(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("speed")) {
@@ -492,11 +505,14 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return 0;
     }
 
-    public synchronized void updatePlayerStatus() {
+    public void updatePlayerStatus() {
         if (socket.isConnected()) {
             int activePlayer = getActivePlayer();
             if (activePlayer >= 0) {
-                int speed = getSpeed(activePlayer);
+                // speed, properties and item of the player are requested in one batch
+                List<JsonElement> responses = socket.callMethods(Arrays.asList(createSpeedRequest(activePlayer),
+                        createPlayerPropertiesRequest(activePlayer), createPlayerItemRequest(activePlayer)));
+                int speed = getSpeed(responses.get(0));
                 if (speed == 0) {
                     updateState(KodiState.STOP);
                 } else if (speed == 1) {
@@ -506,7 +522,8 @@ public class KodiConnection implements KodiClientSocketEventListener {
                 } else {
                     updateState(KodiState.FASTFORWARD);
                 }
-                requestPlayerUpdate(activePlayer);
+                updatePlayerProperties(responses.get(1));
+                updatePlayerItem(responses.get(2));
             } else {
                 updateState(KodiState.STOP);
             }
@@ -514,11 +531,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void requestPlayerUpdate(int activePlayer) {
-        requestPlayerPropertiesUpdate(activePlayer);
-        requestPlayerItemUpdate(activePlayer);
+        List<JsonElement> responses = socket.callMethods(
+                Arrays.asList(createPlayerPropertiesRequest(activePlayer), createPlayerItemRequest(activePlayer)));
+        updatePlayerProperties(responses.get(0));
+        updatePlayerItem(responses.get(1));
     }
 
-    private void requestPlayerItemUpdate(int activePlayer) {
+    private KodiRequest createPlayerItemRequest(int activePlayer) {
         final String[] properties = { PROPERTY_UNIQUEID, "title", "originaltitle", "album", "artist", "track",
                 "director", PROPERTY_THUMBNAIL, PROPERTY_FANART, "file", "showtitle", "season", "episode", "channel",
                 "channeltype", "genre", "mpaa", "rating", "votes", "userrating" };
@@ -526,8 +545,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetItem", params);
+        return new KodiRequest("Player.GetItem", params);
+    }
 
+    private void updatePlayerItem(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("item")) {
@@ -681,7 +702,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private void requestPlayerPropertiesUpdate(int activePlayer) {
+    private KodiRequest createPlayerPropertiesRequest(int activePlayer) {
         final String[] properties = { PROPERTY_SUBTITLEENABLED, PROPERTY_CURRENTSUBTITLE, PROPERTY_CURRENTAUDIOSTREAM,
                 PROPERTY_CURRENTVIDEOSTREAM, PROPERTY_PERCENTAGE, PROPERTY_TIME, PROPERTY_TOTALTIME,
                 PROPERTY_AUDIOSTREAMS, PROPERTY_SUBTITLES };
@@ -689,8 +710,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
+        return new KodiRequest("Player.GetProperties", params);
+    }
 
+    private void updatePlayerProperties(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
 
@@ -905,7 +928,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return currentPlaylistState;
     }
 
-    private void updateState(KodiState state) {
+    private synchronized void updateState(KodiState state) {
         // sometimes get a Pause immediately after a Stop - so just ignore
         if (currentState.equals(KodiState.STOP) && state.equals(KodiState.PAUSE)) {
             return;
@@ -1122,7 +1145,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    public synchronized void playURI(String uri) {
+    public void playURI(String uri) {
         String fileUri = uri;
         JsonObject item = new JsonObject();
         JsonObject options = null;
@@ -1142,7 +1165,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         playInternal(item, options);
     }
 
-    public synchronized List<KodiPVRChannelGroup> getPVRChannelGroups(final String pvrChannelType) {
+    public List<KodiPVRChannelGroup> getPVRChannelGroups(final String pvrChannelType) {
         String method = "PVR.GetChannelGroups";
         String hash = hostname + '#' + method + "#channeltype=" + pvrChannelType;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -1182,7 +1205,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return pvrChannelGroups.isEmpty() ? 0 : pvrChannelGroups.get(0).getId();
     }
 
-    public synchronized List<KodiPVRChannel> getPVRChannels(final int pvrChannelGroupId) {
+    public List<KodiPVRChannel> getPVRChannels(final int pvrChannelGroupId) {
         String method = "PVR.GetChannels";
         String hash = hostname + '#' + method + "#channelgroupid=" + pvrChannelGroupId;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -1220,7 +1243,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return 0;
     }
 
-    public synchronized void playPVRChannel(final int pvrChannelId) {
+    public void playPVRChannel(final int pvrChannelId) {
         JsonObject item = new JsonObject();
         item.addProperty("channelid", pvrChannelId);
 
@@ -1236,7 +1259,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Open", params);
     }
 
-    public synchronized void showNotification(String title, BigDecimal displayTime, String icon, String message) {
+    public void showNotification(String title, BigDecimal displayTime, String icon, String message) {
         JsonObject params = new JsonObject();
         params.addProperty("message", message);
         if (title != null) {
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.kodi.internal.protocol;
+
+import com.google.gson.JsonObject;
+
+/**
+ * KodiRequest is a single JSON-RPC method call, which can be sent as part of a batch by
+ * {@link KodiClientSocket#callMethods(java.util.List)}.
+ *
+ * @author agent - Initial contribution
+ */
+public class KodiRequest {
+
+    private final String methodName;
+    private final JsonObject params;
+
+    public KodiRequest(String methodName) {
+        this(methodName, null);
+    }
+
+    public KodiRequest(String methodName, JsonObject params) {
+        this.methodName = methodName;
+        this.params = params;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public JsonObject getParams() {
+        return params;
+    }
+
+    @Override
+    public String toString() {
+        return methodName + "(" + params + ")";
+    }
+}
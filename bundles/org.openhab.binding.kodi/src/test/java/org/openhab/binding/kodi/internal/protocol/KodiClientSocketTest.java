@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.kodi.internal.protocol;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.binding.kodi.internal.protocol.KodiClientSocket.KodiWebSocketListener;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * Test class for the {@link KodiClientSocket} class. A stand-in for the Kodi server receives the messages sent to the
+ * web socket and answers them through the web socket listener.
+ *
+ * @author agent - Initial contribution
+ */
+public class KodiClientSocketTest {
+
+    private static final long TIMEOUT_MS = 5000;
+
+    private final JsonParser parser = new JsonParser();
+
+    // messages received by the server stand-in
+    private final BlockingQueue<JsonElement> receivedMessages = new LinkedBlockingQueue<>();
+
+    private ScheduledExecutorService scheduler;
+    private KodiClientSocket subject;
+    private KodiWebSocketListener server;
+    private RemoteEndpoint remote;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        WebSocketClient client = mock(WebSocketClient.class);
+        Session session = mock(Session.class);
+        remote = mock(RemoteEndpoint.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getRemote()).thenReturn(remote);
+        doAnswer(answer -> receivedMessages.add(parser.parse((String) answer.getArgument(0)))).when(remote)
+                .sendString(anyString());
+
+        subject = new KodiClientSocket(mock(KodiClientSocketEventListener.class), new URI("ws://localhost:9090/jsonrpc"),
+                scheduler, client);
+        subject.open();
+
+        ArgumentCaptor<Object> listener = ArgumentCaptor.forClass(Object.class);
+        verify(client).connect(listener.capture(), any(), any());
+        server = (KodiWebSocketListener) listener.getValue();
+        server.onConnect(session);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void testRequestsArePipelined() throws Exception {
+        CompletableFuture<JsonElement> first = subject.callMethodAsync("Player.GetActivePlayers", null, TIMEOUT_MS);
+        CompletableFuture<JsonElement> second = subject.callMethodAsync("Application.GetProperties", null, TIMEOUT_MS);
+
+        // both requests are sent before any response is received
+        JsonObject firstRequest = nextRequest();
+        JsonObject secondRequest = nextRequest();
+        assertEquals("Player.GetActivePlayers", firstRequest.get("method").getAsString());
+        assertEquals("Application.GetProperties", secondRequest.get("method").getAsString());
+
+        // responses are correlated by their id and not by their order
+        server.onMessage(result(secondRequest, "second").toString());
+        assertFalse(first.isDone());
+        server.onMessage(result(firstRequest, "first").toString());
+
+        assertEquals("first", first.get(1, TimeUnit.SECONDS).getAsString());
+        assertEquals("second", second.get(1, TimeUnit.SECONDS).getAsString());
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        List<KodiRequest> requests = Arrays.asList(new KodiRequest("Player.GetProperties", new JsonObject()),
+                new KodiRequest("Player.GetItem", new JsonObject()), new KodiRequest("Playlist.GetItems"));
+        CompletableFuture<List<JsonElement>> results = CompletableFuture
+                .supplyAsync(() -> subject.callMethods(requests));
+
+        JsonElement batch = receivedMessages.poll(1, TimeUnit.SECONDS);
+        assertTrue(batch.isJsonArray());
+        JsonArray batchRequests = batch.getAsJsonArray();
+        assertEquals(3, batchRequests.size());
+
+        JsonArray responses = new JsonArray();
+        JsonObject error = new JsonObject();
+        error.addProperty("id", batchRequests.get(1).getAsJsonObject().get("id").getAsInt());
+        error.add("error", new JsonPrimitive("Invalid params"));
+        responses.add(error);
+        responses.add(result(batchRequests.get(2).getAsJsonObject(), "items"));
+        responses.add(result(batchRequests.get(0).getAsJsonObject(), "properties"));
+        server.onMessage(responses.toString());
+
+        List<JsonElement> result = results.get(1, TimeUnit.SECONDS);
+        assertEquals("properties", result.get(0).getAsString());
+        assertNull(result.get(1));
+        assertEquals("items", result.get(2).getAsString());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        long start = System.nanoTime();
+        assertNull(subject.callMethod("Player.GetActivePlayers", null, 100));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < TIMEOUT_MS);
+
+        // a late response is ignored
+        server.onMessage(result(nextRequest(), "late").toString());
+    }
+
+    @Test
+    public void testTimeoutWithBusyScheduler() throws Exception {
+        // the only thread of the scheduler is busy, so the task removing the pending request does not run in time
+        CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(() -> {
+            release.await();
+            return null;
+        });
+
+        try {
+            long start = System.nanoTime();
+            assertNull(subject.callMethod("Player.GetActivePlayers", null, 100));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < TIMEOUT_MS);
+
+            start = System.nanoTime();
+            assertEquals(Arrays.asList(null, null), subject.callMethods(
+                    Arrays.asList(new KodiRequest("Player.GetItem"), new KodiRequest("Playlist.GetItems")), 100));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < TIMEOUT_MS);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testConcurrentSendsAreSerialized() throws Exception {
+        // like the remote endpoint of Jetty, the stand-in rejects a blocking send while another one is in progress
+        AtomicBoolean sending = new AtomicBoolean();
+        doAnswer(answer -> {
+            if (!sending.compareAndSet(false, true)) {
+                throw new IllegalStateException("Blocking message pending 10000 for BLOCKING");
+            }
+            try {
+                Thread.sleep(10);
+                receivedMessages.add(parser.parse((String) answer.getArgument(0)));
+            } finally {
+                sending.set(false);
+            }
+            return null;
+        }).when(remote).sendString(anyString());
+
+        int calls = 8;
+        ExecutorService callers = Executors.newFixedThreadPool(calls);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CompletableFuture<JsonElement>>> responses = new ArrayList<>();
+            for (int i = 0; i < calls; i++) {
+                responses.add(callers.submit(() -> {
+                    start.await();
+                    return subject.callMethodAsync("Player.GetActivePlayers", null, TIMEOUT_MS);
+                }));
+            }
+            start.countDown();
+
+            for (int i = 0; i < calls; i++) {
+                JsonObject request = nextRequest();
+                server.onMessage(result(request, "result").toString());
+            }
+            for (Future<CompletableFuture<JsonElement>> response : responses) {
+                assertEquals("result", response.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS).getAsString());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedSendFailsTheRequest() throws Exception {
+        doThrow(new IllegalStateException("Blocking message pending 10000 for BLOCKING")).when(remote)
+                .sendString(anyString());
+
+        CompletableFuture<JsonElement> response = subject.callMethodAsync("Player.GetActivePlayers", null,
+                TIMEOUT_MS);
+
+        assertTrue(response.isCompletedExceptionally());
+        assertNull(subject.callMethod("Player.GetActivePlayers", null, TIMEOUT_MS));
+    }
+
+    @Test
+    public void testPendingRequestsFailOnClose() throws Exception {
+        CompletableFuture<JsonElement> response = subject.callMethodAsync("Player.GetActivePlayers", null,
+                TIMEOUT_MS);
+        nextRequest();
+
+        server.onClose(1001, "going away");
+
+        try {
+            response.get(1, TimeUnit.SECONDS);
+            fail("Expected the request to fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    private JsonObject nextRequest() throws InterruptedException {
+        JsonElement message = receivedMessages.poll(1, TimeUnit.SECONDS);
+        assertNotNull(message);
+        return message.getAsJsonObject();
+    }
+
+    private static JsonObject result(JsonObject request, String result) {
+        JsonObject response = new JsonObject();
+        response.addProperty("id", request.get("id").getAsInt());
+        response.addProperty("jsonrpc", "2.0");
+        response.addProperty("result", result);
+        return response;
+    }
+}
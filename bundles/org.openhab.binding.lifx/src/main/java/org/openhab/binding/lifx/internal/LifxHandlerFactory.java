@@ -37,6 +37,7 @@ import org.osgi.service.component.annotations.Reference;
 public class LifxHandlerFactory extends BaseThingHandlerFactory {
 
     private @NonNullByDefault({}) LifxChannelFactory channelFactory;
+    private @NonNullByDefault({}) LifxNetworkEventLoop eventLoop;
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -51,7 +52,7 @@ public class LifxHandlerFactory extends BaseThingHandlerFactory {
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         if (supportsThingType(thing.getThingTypeUID())) {
-            return new LifxLightHandler(thing, channelFactory);
+            return new LifxLightHandler(thing, channelFactory, eventLoop);
         }
 
         return null;
@@ -71,4 +72,13 @@ public class LifxHandlerFactory extends BaseThingHandlerFactory {
         this.channelFactory = null;
     }
 
+    @Reference
+    protected void setNetworkEventLoop(LifxNetworkEventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    protected void unsetNetworkEventLoop(LifxNetworkEventLoop eventLoop) {
+        this.eventLoop = null;
+    }
+
 }
@@ -33,15 +33,18 @@ public class LifxLightContext {
     private final LifxLightState pendingLightState;
     private final Product product;
     private final ScheduledExecutorService scheduler;
+    private final LifxNetworkEventLoop eventLoop;
 
     public LifxLightContext(String logId, Product product, LifxLightConfig configuration,
-            CurrentLightState currentLightState, LifxLightState pendingLightState, ScheduledExecutorService scheduler) {
+            CurrentLightState currentLightState, LifxLightState pendingLightState, ScheduledExecutorService scheduler,
+            LifxNetworkEventLoop eventLoop) {
         this.logId = logId;
         this.configuration = configuration;
         this.product = product;
         this.currentLightState = currentLightState;
         this.pendingLightState = pendingLightState;
         this.scheduler = scheduler;
+        this.eventLoop = eventLoop;
     }
 
     public String getLogId() {
@@ -68,4 +71,8 @@ public class LifxLightContext {
         return scheduler;
     }
 
+    public LifxNetworkEventLoop getEventLoop() {
+        return eventLoop;
+    }
+
 }
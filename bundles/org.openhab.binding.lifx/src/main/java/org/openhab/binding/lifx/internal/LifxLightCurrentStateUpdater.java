@@ -16,16 +16,13 @@ import static org.openhab.binding.lifx.internal.LifxBindingConstants.MIN_ZONE_IN
 import static org.openhab.binding.lifx.internal.protocol.Product.Feature.*;
 import static org.openhab.binding.lifx.internal.util.LifxMessageUtil.infraredToPercentType;
 
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.PercentType;
 import org.openhab.binding.lifx.internal.fields.HSBK;
 import org.openhab.binding.lifx.internal.handler.LifxLightHandler.CurrentLightState;
+import org.openhab.binding.lifx.internal.listener.LifxResponsePacketListener;
 import org.openhab.binding.lifx.internal.protocol.GetColorZonesRequest;
 import org.openhab.binding.lifx.internal.protocol.GetLightInfraredRequest;
 import org.openhab.binding.lifx.internal.protocol.GetRequest;
@@ -50,28 +47,26 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class LifxLightCurrentStateUpdater {
 
-    private static final int STATE_POLLING_INTERVAL = 3;
-
     private final Logger logger = LoggerFactory.getLogger(LifxLightCurrentStateUpdater.class);
 
     private final String logId;
     private final Product product;
     private final CurrentLightState currentLightState;
-    private final ScheduledExecutorService scheduler;
+    private final LifxNetworkEventLoop eventLoop;
     private final LifxLightCommunicationHandler communicationHandler;
+    private final LifxResponsePacketListener responsePacketListener = this::handleResponsePacket;
+    private final Runnable statePoller = this::pollLightState;
 
     private final ReentrantLock lock = new ReentrantLock();
 
     private boolean wasOnline;
     private boolean updateSignalStrength;
 
-    private @Nullable ScheduledFuture<?> statePollingJob;
-
     public LifxLightCurrentStateUpdater(LifxLightContext context, LifxLightCommunicationHandler communicationHandler) {
         this.logId = context.getLogId();
         this.product = context.getProduct();
         this.currentLightState = context.getCurrentLightState();
-        this.scheduler = context.getScheduler();
+        this.eventLoop = context.getEventLoop();
         this.communicationHandler = communicationHandler;
     }
 
@@ -99,12 +94,8 @@ public class LifxLightCurrentStateUpdater {
     public void start() {
         try {
             lock.lock();
-            communicationHandler.addResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localStatePollingJob = statePollingJob;
-            if (localStatePollingJob == null || localStatePollingJob.isCancelled()) {
-                statePollingJob = scheduler.scheduleWithFixedDelay(this::pollLightState, 0, STATE_POLLING_INTERVAL,
-                        TimeUnit.SECONDS);
-            }
+            communicationHandler.addResponsePacketListener(responsePacketListener);
+            eventLoop.addStatePoller(statePoller);
         } catch (Exception e) {
             logger.error("Error occurred while starting light state updater", e);
         } finally {
@@ -115,12 +106,8 @@ public class LifxLightCurrentStateUpdater {
     public void stop() {
         try {
             lock.lock();
-            communicationHandler.removeResponsePacketListener(this::handleResponsePacket);
-            ScheduledFuture<?> localStatePollingJob = statePollingJob;
-            if (localStatePollingJob != null && !localStatePollingJob.isCancelled()) {
-                localStatePollingJob.cancel(true);
-                statePollingJob = null;
-            }
+            communicationHandler.removeResponsePacketListener(responsePacketListener);
+            eventLoop.removeStatePoller(statePoller);
         } catch (Exception e) {
             logger.error("Error occurred while stopping light state updater", e);
         } finally {
@@ -18,12 +18,11 @@ import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import org.apache.commons.lang.StringUtils;
@@ -43,11 +42,11 @@ import org.openhab.binding.lifx.internal.protocol.Product;
 import org.openhab.binding.lifx.internal.protocol.StateLabelResponse;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
 import org.openhab.binding.lifx.internal.protocol.StateVersionResponse;
-import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,18 +65,20 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
     private static final String LOG_ID = "Discovery";
     private static final long REFRESH_INTERVAL = TimeUnit.MINUTES.toSeconds(1);
     private static final long SELECTOR_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    private static final long REQUEST_INTERVAL = 200;
 
     private final Logger logger = LoggerFactory.getLogger(LifxLightDiscovery.class);
 
-    private final Map<MACAddress, @Nullable DiscoveredLight> discoveredLights = new HashMap<>();
+    private final Map<MACAddress, DiscoveredLight> discoveredLights = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
     private final long sourceId = randomSourceId();
     private final Supplier<Integer> sequenceNumberSupplier = new LifxSequenceNumberSupplier();
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
+    private @NonNullByDefault({}) LifxNetworkEventLoop eventLoop;
 
     private @Nullable ScheduledFuture<?> discoveryJob;
     private @Nullable ScheduledFuture<?> networkJob;
+    private @Nullable ScheduledFuture<?> scanTimeoutJob;
 
     private boolean isScanning = false;
 
@@ -94,25 +95,17 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
 
         private long lastRequestTimeMillis;
 
-        public DiscoveredLight(Selector lightSelector, MACAddress macAddress, InetSocketAddress socketAddress,
-                String logId, @Nullable SelectionKey unicastKey) {
+        public DiscoveredLight(MACAddress macAddress, InetSocketAddress socketAddress, String logId) {
             this.macAddress = macAddress;
             this.logId = logId;
             this.socketAddress = socketAddress;
-            this.selectorContext = new LifxSelectorContext(lightSelector, sourceId, sequenceNumberSupplier, logId,
-                    socketAddress, macAddress, broadcastKey, unicastKey);
+            this.selectorContext = new LifxSelectorContext(eventLoop, sourceId, sequenceNumberSupplier, logId,
+                    socketAddress, macAddress);
         }
 
         public boolean isDataComplete() {
             return label != null && product != null;
         }
-
-        public void cancelUnicastKey() {
-            SelectionKey unicastKey = selectorContext.getUnicastKey();
-            if (unicastKey != null) {
-                cancelKey(unicastKey, selectorContext.getLogId());
-            }
-        }
     }
 
     public LifxLightDiscovery() throws IllegalArgumentException {
@@ -157,11 +150,7 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
             discoveryJob = null;
         }
 
-        ScheduledFuture<?> localNetworkJob = networkJob;
-        if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
-            localNetworkJob.cancel(true);
-            networkJob = null;
-        }
+        stopReceivingPackets();
     }
 
     @Override
@@ -178,94 +167,82 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
     protected void doScan() {
         try {
             if (!isScanning) {
-                isScanning = true;
-                if (selector != null) {
-                    closeSelector(selector, LOG_ID);
-                }
+                stopReceivingPackets();
 
                 logger.debug("The LIFX discovery service will use '{}' as source identifier",
                         Long.toString(sourceId, 16));
 
-                Selector localSelector = Selector.open();
-                selector = localSelector;
-
-                broadcastKey = openBroadcastChannel(localSelector, LOG_ID, BROADCAST_PORT);
-                networkJob = scheduler.schedule(this::receiveAndHandlePackets, 0, TimeUnit.MILLISECONDS);
+                discoveredLights.clear();
+                eventLoop.registerSource(sourceId, this::handlePacket);
+                isScanning = true;
+                networkJob = scheduler.scheduleWithFixedDelay(this::requestAdditionalLightData, REQUEST_INTERVAL,
+                        REQUEST_INTERVAL, TimeUnit.MILLISECONDS);
+                scanTimeoutJob = scheduler.schedule(this::stopReceivingPackets, SELECTOR_TIMEOUT,
+                        TimeUnit.MILLISECONDS);
 
-                LifxSelectorContext selectorContext = new LifxSelectorContext(localSelector, sourceId,
-                        sequenceNumberSupplier, LOG_ID, broadcastKey);
+                LifxSelectorContext selectorContext = new LifxSelectorContext(eventLoop, sourceId,
+                        sequenceNumberSupplier, LOG_ID);
                 broadcastPacket(selectorContext, new GetServiceRequest());
             } else {
                 logger.info("A discovery scan for LIFX lights is already underway");
             }
         } catch (IOException e) {
             logger.debug("{} while discovering LIFX lights : {}", e.getClass().getSimpleName(), e.getMessage());
-            isScanning = false;
+            stopReceivingPackets();
         }
     }
 
-    public void receiveAndHandlePackets() {
-        Selector localSelector = selector;
-
-        try {
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("Unable to receive and handle packets with null or closed selector");
-                return;
-            }
-
-            discoveredLights.clear();
-            logger.trace("Entering read loop");
-            long startStamp = System.currentTimeMillis();
+    private synchronized void stopReceivingPackets() {
+        ScheduledFuture<?> localNetworkJob = networkJob;
+        if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
+            localNetworkJob.cancel(true);
+            networkJob = null;
+        }
 
-            while (System.currentTimeMillis() - startStamp < SELECTOR_TIMEOUT) {
-                int lightCount = discoveredLights.size();
-                long selectStamp = System.currentTimeMillis();
+        ScheduledFuture<?> localScanTimeoutJob = scanTimeoutJob;
+        if (localScanTimeoutJob != null && !localScanTimeoutJob.isCancelled()) {
+            localScanTimeoutJob.cancel(false);
+            scanTimeoutJob = null;
+        }
 
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, LOG_ID,
-                        (packet, address) -> handlePacket(packet, address));
-                requestAdditionalLightData();
+        eventLoop.unregisterSource(sourceId);
+        isScanning = false;
+    }
 
-                boolean discoveredNewLights = lightCount < discoveredLights.size();
-                if (!discoveredNewLights) {
-                    boolean preventBusyWaiting = System.currentTimeMillis() - selectStamp < PACKET_INTERVAL;
-                    if (preventBusyWaiting) {
-                        Thread.sleep(PACKET_INTERVAL);
+    private void requestAdditionalLightData() {
+        try {
+            lock.lock();
+            // Iterate through the discovered lights that have to be set up, and the packets that have to be sent
+            for (DiscoveredLight light : discoveredLights.values()) {
+                boolean waitingForLightResponse = System.currentTimeMillis()
+                        - light.lastRequestTimeMillis < REQUEST_INTERVAL;
+
+                if (light.supportedProduct && !light.isDataComplete() && !waitingForLightResponse) {
+                    if (light.product == null) {
+                        sendPacket(light.selectorContext, new GetVersionRequest());
                     }
+                    if (light.label == null) {
+                        sendPacket(light.selectorContext, new GetLabelRequest());
+                    }
+                    light.lastRequestTimeMillis = System.currentTimeMillis();
                 }
             }
-            logger.trace("Exited read loop");
-        } catch (Exception e) {
-            logger.debug("{} while receiving and handling discovery packets: {}", e.getClass().getSimpleName(),
-                    e.getMessage(), e);
         } finally {
-            LifxSelectorUtil.closeSelector(localSelector, LOG_ID);
-            selector = null;
-            isScanning = false;
+            lock.unlock();
         }
     }
 
-    private void requestAdditionalLightData() {
-        // Iterate through the discovered lights that have to be set up, and the packets that have to be sent
-        // Workaround to avoid a ConcurrentModifictionException on the selector.SelectedKeys() Set
-        for (DiscoveredLight light : discoveredLights.values()) {
-            if (light == null) {
-                continue;
-            }
-            boolean waitingForLightResponse = System.currentTimeMillis() - light.lastRequestTimeMillis < 200;
-
-            if (light.supportedProduct && !light.isDataComplete() && !waitingForLightResponse) {
-                if (light.product == null) {
-                    sendPacket(light.selectorContext, new GetVersionRequest());
-                }
-                if (light.label == null) {
-                    sendPacket(light.selectorContext, new GetLabelRequest());
-                }
-                light.lastRequestTimeMillis = System.currentTimeMillis();
-            }
+    private void handlePacket(Packet packet, InetSocketAddress address) {
+        // Packets are handled by the event loop thread while the network job requests the missing light data
+        try {
+            lock.lock();
+            handleLightPacket(packet, address);
+        } finally {
+            lock.unlock();
         }
     }
 
-    private void handlePacket(Packet packet, InetSocketAddress address) {
+    private void handleLightPacket(Packet packet, InetSocketAddress address) {
         logger.trace("Discovery : Packet type '{}' received from '{}' for '{}' with sequence '{}' and source '{}'",
                 new Object[] { packet.getClass().getSimpleName(), address.toString(), packet.getTarget().getHex(),
                         packet.getSequence(), Long.toString(packet.getSource(), 16) });
@@ -280,17 +257,9 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
                     try {
                         InetSocketAddress socketAddress = new InetSocketAddress(address.getAddress(), port);
                         if (light == null || (!socketAddress.equals(light.socketAddress))) {
-                            if (light != null) {
-                                light.cancelUnicastKey();
-                            }
-
-                            Selector lightSelector = selector;
-                            if (lightSelector != null) {
-                                String logId = getLogId(macAddress, socketAddress);
-                                light = new DiscoveredLight(lightSelector, macAddress, socketAddress, logId,
-                                        openUnicastChannel(lightSelector, logId, socketAddress));
-                                discoveredLights.put(macAddress, light);
-                            }
+                            String logId = getLogId(macAddress, socketAddress);
+                            light = new DiscoveredLight(macAddress, socketAddress, logId);
+                            discoveredLights.put(macAddress, light);
                         }
                     } catch (Exception e) {
                         logger.warn("{} while connecting to IP address: {}", e.getClass().getSimpleName(),
@@ -324,6 +293,15 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
         }
     }
 
+    @Reference
+    protected void setNetworkEventLoop(LifxNetworkEventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    protected void unsetNetworkEventLoop(LifxNetworkEventLoop eventLoop) {
+        this.eventLoop = null;
+    }
+
     private DiscoveryResult createDiscoveryResult(DiscoveredLight light) throws IllegalArgumentException {
         Product product = light.product;
         if (product == null) {
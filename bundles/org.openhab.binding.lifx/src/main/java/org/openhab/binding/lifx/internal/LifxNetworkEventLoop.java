@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.openhab.binding.lifx.internal.util.LifxNetworkUtil.isRemoteAddress;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.lifx.internal.fields.MACAddress;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
+import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LifxNetworkEventLoop} owns the single UDP socket and {@link Selector} that are shared by the discovery
+ * service and all light handlers of the binding.
+ * <p>
+ * Received packets are demultiplexed by their source identifier, which is unique for each light handler and the
+ * discovery service. Packets with a zero source identifier are dispatched by the target MAC address of the light, or to
+ * every registered consumer when no consumer is registered for that address.
+ * <p>
+ * The event loop also runs the state polling of all lights in a single job, so each scheduler tick sends the state
+ * requests for all lights at once.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = LifxNetworkEventLoop.class)
+public class LifxNetworkEventLoop {
+
+    private static final String LOG_ID = "EventLoop";
+    private static final String THREAD_NAME = "OH-binding-lifx-eventloop";
+    private static final long STATE_POLLING_INTERVAL = TimeUnit.SECONDS.toMillis(3);
+    private static final int MAX_SEND_RETRIES = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(LifxNetworkEventLoop.class);
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("lifx");
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<Long, BiConsumer<Packet, InetSocketAddress>> sourceConsumers = new ConcurrentHashMap<>();
+    private final Map<MACAddress, BiConsumer<Packet, InetSocketAddress>> macAddressConsumers =
+            new ConcurrentHashMap<>();
+    private final Set<Runnable> statePollers = new CopyOnWriteArraySet<>();
+
+    private @Nullable Selector selector;
+    private @Nullable DatagramChannel channel;
+    private @Nullable Thread receiveThread;
+    private @Nullable ScheduledFuture<?> statePollingJob;
+
+    /**
+     * Registers a consumer for the packets that are sent in response to packets with the given source identifier. The
+     * socket is opened when the first consumer registers.
+     *
+     * @param sourceId the source identifier used in the packets sent by the consumer
+     * @param consumer the consumer of the received packets
+     * @throws IOException when the socket could not be opened
+     */
+    public void registerSource(long sourceId, BiConsumer<Packet, InetSocketAddress> consumer) throws IOException {
+        try {
+            lock.lock();
+            sourceConsumers.put(sourceId, consumer);
+            open();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Unregisters the consumer of a source identifier. The socket is closed when the last consumer unregisters.
+     *
+     * @param sourceId the source identifier of the consumer
+     */
+    public void unregisterSource(long sourceId) {
+        try {
+            lock.lock();
+            BiConsumer<Packet, InetSocketAddress> consumer = sourceConsumers.remove(sourceId);
+            if (consumer != null) {
+                macAddressConsumers.values().removeIf(consumer::equals);
+            }
+            if (sourceConsumers.isEmpty()) {
+                close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Registers the MAC address of a light so packets without a source identifier are dispatched to the consumer of
+     * that light only.
+     *
+     * @param sourceId the source identifier of a registered consumer
+     * @param macAddress the MAC address of the light
+     */
+    public void registerMACAddress(long sourceId, MACAddress macAddress) {
+        BiConsumer<Packet, InetSocketAddress> consumer = sourceConsumers.get(sourceId);
+        if (consumer != null) {
+            macAddressConsumers.put(macAddress, consumer);
+        }
+    }
+
+    /**
+     * Adds a state poller that is run each time the states of the lights are polled.
+     *
+     * @param statePoller the poller sending state requests to a light
+     */
+    public void addStatePoller(Runnable statePoller) {
+        try {
+            lock.lock();
+            statePollers.add(statePoller);
+            ScheduledFuture<?> localStatePollingJob = statePollingJob;
+            if (localStatePollingJob == null || localStatePollingJob.isCancelled()) {
+                statePollingJob = scheduler.scheduleWithFixedDelay(this::pollStates, STATE_POLLING_INTERVAL,
+                        STATE_POLLING_INTERVAL, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removeStatePoller(Runnable statePoller) {
+        try {
+            lock.lock();
+            statePollers.remove(statePoller);
+            ScheduledFuture<?> localStatePollingJob = statePollingJob;
+            if (statePollers.isEmpty() && localStatePollingJob != null) {
+                localStatePollingJob.cancel(true);
+                statePollingJob = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends a packet to the given address using the shared socket.
+     *
+     * @param packet the packet to send
+     * @param address the address of a light or a broadcast address
+     * @return true when the packet was sent
+     */
+    public boolean send(Packet packet, InetSocketAddress address) {
+        DatagramChannel localChannel = channel;
+        if (localChannel == null || !localChannel.isOpen()) {
+            logger.debug("Unable to send packet to '{}' with null or closed channel", address);
+            return false;
+        }
+
+        try {
+            ByteBuffer bytes = packet.bytes();
+            for (int i = 0; i <= MAX_SEND_RETRIES; i++) {
+                if (localChannel.send(bytes, address) > 0) {
+                    return true;
+                }
+                // The socket send buffer is full, give the network some time to catch up
+                Thread.sleep(1);
+            }
+            logger.debug("Failed to send packet after {} retries to '{}'", MAX_SEND_RETRIES, address);
+        } catch (IOException e) {
+            logger.debug("{} while sending a packet to '{}': {}", e.getClass().getSimpleName(), address,
+                    e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        try {
+            lock.lock();
+            sourceConsumers.clear();
+            macAddressConsumers.clear();
+            statePollers.clear();
+            ScheduledFuture<?> localStatePollingJob = statePollingJob;
+            if (localStatePollingJob != null) {
+                localStatePollingJob.cancel(true);
+                statePollingJob = null;
+            }
+            close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SuppressWarnings("resource")
+    private void open() throws IOException {
+        if (channel != null) {
+            return;
+        }
+
+        int port = LifxNetworkUtil.getNewBroadcastPort();
+        Selector localSelector = Selector.open();
+        DatagramChannel localChannel = DatagramChannel.open(StandardProtocolFamily.INET)
+                .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                .setOption(StandardSocketOptions.SO_BROADCAST, true);
+        try {
+            localChannel.configureBlocking(false);
+            logger.debug("{} : Binding the shared channel on port {}", LOG_ID, port);
+            localChannel.bind(new InetSocketAddress(port));
+            localChannel.register(localSelector, SelectionKey.OP_READ);
+        } catch (IOException e) {
+            localChannel.close();
+            localSelector.close();
+            throw e;
+        }
+
+        selector = localSelector;
+        channel = localChannel;
+
+        Thread localReceiveThread = new Thread(() -> receiveAndHandlePackets(localSelector, localChannel),
+                THREAD_NAME);
+        localReceiveThread.setDaemon(true);
+        localReceiveThread.start();
+        receiveThread = localReceiveThread;
+    }
+
+    private void close() {
+        Thread localReceiveThread = receiveThread;
+        if (localReceiveThread != null) {
+            localReceiveThread.interrupt();
+            receiveThread = null;
+        }
+
+        LifxSelectorUtil.closeSelector(selector, LOG_ID);
+        selector = null;
+        channel = null;
+    }
+
+    private void receiveAndHandlePackets(Selector localSelector, DatagramChannel localChannel) {
+        logger.debug("{} : Started receiving packets", LOG_ID);
+        ByteBuffer readBuffer = ByteBuffer.allocate(LifxNetworkUtil.getBufferSize());
+
+        while (!Thread.currentThread().isInterrupted() && localSelector.isOpen()) {
+            try {
+                localSelector.select();
+
+                Iterator<SelectionKey> keyIterator = localSelector.selectedKeys().iterator();
+                while (keyIterator.hasNext()) {
+                    SelectionKey key = keyIterator.next();
+                    keyIterator.remove();
+
+                    if (key.isValid() && key.isReadable()) {
+                        receivePackets(localChannel, readBuffer);
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (Exception e) {
+                logger.debug("{} while receiving packets: {}", e.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        logger.debug("{} : Stopped receiving packets", LOG_ID);
+    }
+
+    private void receivePackets(DatagramChannel localChannel, ByteBuffer readBuffer) throws IOException {
+        // drain all pending datagrams so a single wakeup handles a burst of responses
+        while (true) {
+            readBuffer.clear();
+            InetSocketAddress address = (InetSocketAddress) localChannel.receive(readBuffer);
+            if (address == null) {
+                return;
+            }
+            if (isRemoteAddress(address.getAddress())) {
+                LifxSelectorUtil.supplyParsedPacketToConsumer(readBuffer, address, this::dispatchPacket, LOG_ID);
+            }
+        }
+    }
+
+    private void dispatchPacket(Packet packet, InetSocketAddress address) {
+        if (packet.getSource() != 0) {
+            BiConsumer<Packet, InetSocketAddress> consumer = sourceConsumers.get(packet.getSource());
+            if (consumer != null) {
+                consumer.accept(packet, address);
+            } else {
+                logger.trace("{} : Ignoring packet with unknown source '{}'", LOG_ID,
+                        Long.toString(packet.getSource(), 16));
+            }
+            return;
+        }
+
+        BiConsumer<Packet, InetSocketAddress> consumer = macAddressConsumers.get(packet.getTarget());
+        if (consumer != null) {
+            consumer.accept(packet, address);
+        } else {
+            sourceConsumers.values().forEach(sourceConsumer -> sourceConsumer.accept(packet, address));
+        }
+    }
+
+    private void pollStates() {
+        for (Runnable statePoller : statePollers) {
+            try {
+                statePoller.run();
+            } catch (Exception e) {
+                logger.error("Error occurred while polling light state", e);
+            }
+        }
+    }
+
+}
@@ -13,8 +13,6 @@
 package org.openhab.binding.lifx.internal;
 
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -23,42 +21,37 @@ import org.openhab.binding.lifx.internal.fields.MACAddress;
 
 /**
  * The {@link LifxSelectorContext} stores the context that is used for broadcast and unicast communications with a
- * light using a {@link Selector}.
+ * light using the shared {@link LifxNetworkEventLoop}.
  *
  * @author Wouter Born - Make selector logic reusable between discovery and handlers
  */
 @NonNullByDefault
 public class LifxSelectorContext {
 
-    private final Selector selector;
+    private final LifxNetworkEventLoop eventLoop;
     private final long sourceId;
     private final Supplier<Integer> sequenceNumberSupplier;
     private final String logId;
     private @Nullable InetSocketAddress host;
     private @Nullable MACAddress macAddress;
-    private @Nullable SelectionKey broadcastKey;
-    private @Nullable SelectionKey unicastKey;
 
-    public LifxSelectorContext(Selector selector, long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId,
-            @Nullable SelectionKey broadcastKey) {
-        this(selector, sourceId, sequenceNumberSupplier, logId, null, null, broadcastKey, null);
+    public LifxSelectorContext(LifxNetworkEventLoop eventLoop, long sourceId, Supplier<Integer> sequenceNumberSupplier,
+            String logId) {
+        this(eventLoop, sourceId, sequenceNumberSupplier, logId, null, null);
     }
 
-    public LifxSelectorContext(Selector selector, long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId,
-            @Nullable InetSocketAddress host, @Nullable MACAddress macAddress, @Nullable SelectionKey broadcastKey,
-            @Nullable SelectionKey unicastKey) {
-        this.selector = selector;
+    public LifxSelectorContext(LifxNetworkEventLoop eventLoop, long sourceId, Supplier<Integer> sequenceNumberSupplier,
+            String logId, @Nullable InetSocketAddress host, @Nullable MACAddress macAddress) {
+        this.eventLoop = eventLoop;
         this.sourceId = sourceId;
         this.sequenceNumberSupplier = sequenceNumberSupplier;
         this.logId = logId;
         this.host = host;
         this.macAddress = macAddress;
-        this.broadcastKey = broadcastKey;
-        this.unicastKey = unicastKey;
     }
 
-    public Selector getSelector() {
-        return selector;
+    public LifxNetworkEventLoop getEventLoop() {
+        return eventLoop;
     }
 
     public long getSourceId() {
@@ -81,14 +74,6 @@ public class LifxSelectorContext {
         return macAddress;
     }
 
-    public @Nullable SelectionKey getBroadcastKey() {
-        return broadcastKey;
-    }
-
-    public @Nullable SelectionKey getUnicastKey() {
-        return unicastKey;
-    }
-
     public void setHost(@Nullable InetSocketAddress host) {
         this.host = host;
     }
@@ -97,12 +82,4 @@ public class LifxSelectorContext {
         this.macAddress = macAddress;
     }
 
-    public void setBroadcastKey(@Nullable SelectionKey broadcastKey) {
-        this.broadcastKey = broadcastKey;
-    }
-
-    public void setUnicastKey(@Nullable SelectionKey unicastKey) {
-        this.unicastKey = unicastKey;
-    }
-
 }
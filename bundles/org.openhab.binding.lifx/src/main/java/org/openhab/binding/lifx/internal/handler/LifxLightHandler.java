@@ -54,6 +54,7 @@ import org.openhab.binding.lifx.internal.LifxLightOnlineStateUpdater;
 import org.openhab.binding.lifx.internal.LifxLightPropertiesUpdater;
 import org.openhab.binding.lifx.internal.LifxLightState;
 import org.openhab.binding.lifx.internal.LifxLightStateChanger;
+import org.openhab.binding.lifx.internal.LifxNetworkEventLoop;
 import org.openhab.binding.lifx.internal.fields.HSBK;
 import org.openhab.binding.lifx.internal.fields.MACAddress;
 import org.openhab.binding.lifx.internal.protocol.GetLightInfraredRequest;
@@ -87,6 +88,7 @@ public class LifxLightHandler extends BaseThingHandler {
     private static final Duration MAX_STATE_CHANGE_DURATION = Duration.ofSeconds(4);
 
     private final LifxChannelFactory channelFactory;
+    private final LifxNetworkEventLoop eventLoop;
     private @NonNullByDefault({}) Product product;
 
     private @Nullable PercentType powerOnBrightness;
@@ -220,9 +222,10 @@ public class LifxLightHandler extends BaseThingHandler {
 
     }
 
-    public LifxLightHandler(Thing thing, LifxChannelFactory channelFactory) {
+    public LifxLightHandler(Thing thing, LifxChannelFactory channelFactory, LifxNetworkEventLoop eventLoop) {
         super(thing);
         this.channelFactory = channelFactory;
+        this.eventLoop = eventLoop;
     }
 
     @Override
@@ -246,7 +249,7 @@ public class LifxLightHandler extends BaseThingHandler {
             pendingLightState = new LifxLightState();
 
             LifxLightContext context = new LifxLightContext(logId, product, configuration, currentLightState,
-                    pendingLightState, scheduler);
+                    pendingLightState, scheduler, eventLoop);
 
             communicationHandler = new LifxLightCommunicationHandler(context);
             currentStateUpdater = new LifxLightCurrentStateUpdater(context, communicationHandler);
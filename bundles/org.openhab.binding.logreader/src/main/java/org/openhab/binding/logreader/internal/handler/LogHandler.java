@@ -14,7 +14,11 @@ package org.openhab.binding.logreader.internal.handler;
 
 import static org.openhab.binding.logreader.internal.LogReaderBindingConstants.*;
 
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -31,6 +35,7 @@ import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.logreader.internal.config.LogReaderConfiguration;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.CombinedSearchEngine;
 import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +48,9 @@ import org.slf4j.LoggerFactory;
  * @author Pauli Anttila - Rewrite
  */
 public class LogHandler extends BaseThingHandler implements FileReaderListener {
+    // minimum time between two updates of the counter channels in milliseconds
+    private static final long COUNTER_UPDATE_INTERVAL = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(LogHandler.class);
 
     private LogReaderConfiguration configuration;
@@ -52,6 +60,10 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     private SearchEngine errorEngine;
     private SearchEngine warningEngine;
     private SearchEngine customEngine;
+    private CombinedSearchEngine combinedEngine;
+
+    private long lastCounterUpdate;
+    private ScheduledFuture<?> counterUpdateJob;
 
     public LogHandler(Thing thing, LogFileReader fileReader) {
         super(thing);
@@ -93,6 +105,7 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             warningEngine = new SearchEngine(configuration.warningPatterns, configuration.warningBlacklistingPatterns);
             errorEngine = new SearchEngine(configuration.errorPatterns, configuration.errorBlacklistingPatterns);
             customEngine = new SearchEngine(configuration.customPatterns, configuration.customBlacklistingPatterns);
+            combinedEngine = new CombinedSearchEngine(Arrays.asList(errorEngine, warningEngine, customEngine));
 
         } catch (PatternSyntaxException e) {
             logger.debug("Illegal search pattern syntax '{}'. ", e.getMessage(), e);
@@ -147,10 +160,35 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         }
     }
 
+    private synchronized void scheduleCounterUpdate() {
+        if (counterUpdateJob != null && !counterUpdateJob.isDone()) {
+            return;
+        }
+        long delay = lastCounterUpdate + COUNTER_UPDATE_INTERVAL - System.currentTimeMillis();
+        if (delay <= 0) {
+            updateCounters();
+        } else {
+            counterUpdateJob = scheduler.schedule(this::updateCounters, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void updateCounters() {
+        lastCounterUpdate = System.currentTimeMillis();
+        updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
+        updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
+        updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
+    }
+
     private void shutdown() {
         logger.debug("Stop file reader");
         fileReader.unregisterListener(this);
         fileReader.stop();
+        synchronized (this) {
+            if (counterUpdateJob != null) {
+                counterUpdateJob.cancel(false);
+                counterUpdateJob = null;
+            }
+        }
     }
 
     @Override
@@ -175,21 +213,24 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
+        List<SearchEngine> matchingEngines = combinedEngine.findMatchingEngines(line);
+        if (matchingEngines.isEmpty()) {
+            return;
+        }
+
+        if (matchingEngines.contains(errorEngine)) {
             updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
             triggerChannel(CHANNEL_NEWERROR, line);
         }
-        if (warningEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
+        if (matchingEngines.contains(warningEngine)) {
             updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
             triggerChannel(CHANNEL_NEWWARNING, line);
         }
-        if (customEngine.isMatching(line)) {
-            updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
+        if (matchingEngines.contains(customEngine)) {
             updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
             triggerChannel(CHANNEL_NEWCUSTOM, line);
         }
+        scheduleCounterUpdate();
     }
 
     @Override
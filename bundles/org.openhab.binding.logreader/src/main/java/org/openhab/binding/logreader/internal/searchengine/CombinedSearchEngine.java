@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * This class classifies data against the search patterns of several {@link SearchEngine}s in one pass.
+ * <p>
+ * A literal, which must be part of every match, is extracted from each search pattern. All literals are searched at
+ * once and only patterns, whose literal is found, are evaluated. Patterns without special characters are matched by
+ * their literal only. Patterns without a known literal are always evaluated.
+ *
+ * @author agent - Initial contribution
+ */
+public class CombinedSearchEngine {
+
+    private static final String SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}";
+    // escapes matching exactly one character, which is not a literal
+    private static final String CHARACTER_CLASS_ESCAPES = "dDsSwWbBAzZGhHvVRXntrfea";
+    private static final int NO_LITERAL = -1;
+
+    private static class CompiledPattern {
+        private final Pattern pattern;
+        private final int literal;
+        private final boolean literalOnly;
+
+        private CompiledPattern(Pattern pattern, int literal, boolean literalOnly) {
+            this.pattern = pattern;
+            this.literal = literal;
+            this.literalOnly = literalOnly;
+        }
+    }
+
+    private final List<SearchEngine> engines;
+    private final List<CompiledPattern[]> matchers = new ArrayList<>();
+    private final List<CompiledPattern[]> blacklistingMatchers = new ArrayList<>();
+    private final List<String> literals = new ArrayList<>();
+    private final LiteralMatcher literalMatcher;
+
+    /**
+     * Combine the search patterns of the search engines.
+     *
+     * @param engines search engines, which are searched at once.
+     */
+    public CombinedSearchEngine(List<SearchEngine> engines) {
+        this.engines = engines;
+        for (SearchEngine engine : engines) {
+            matchers.add(compilePatterns(engine.getMatchers()));
+            blacklistingMatchers.add(compilePatterns(engine.getBlacklistingMatchers()));
+        }
+        literalMatcher = new LiteralMatcher(literals);
+    }
+
+    /**
+     * Check data against the search patterns of all search engines. The match count of each matching search engine
+     * is incremented.
+     *
+     * @param data data against search will be done.
+     * @return search engines which have found the data, in the order of the search engines.
+     */
+    public List<SearchEngine> findMatchingEngines(String data) {
+        BitSet foundLiterals = new BitSet(literals.size());
+        literalMatcher.find(data, foundLiterals);
+
+        List<SearchEngine> result = null;
+        for (int i = 0; i < engines.size(); i++) {
+            if (isMatching(matchers.get(i), data, foundLiterals)
+                    && !isMatching(blacklistingMatchers.get(i), data, foundLiterals)) {
+                SearchEngine engine = engines.get(i);
+                engine.matched();
+                if (result == null) {
+                    result = new ArrayList<>(engines.size());
+                }
+                result.add(engine);
+            }
+        }
+        return result != null ? result : Collections.emptyList();
+    }
+
+    private CompiledPattern[] compilePatterns(List<Pattern> patterns) {
+        CompiledPattern[] result = new CompiledPattern[patterns.size()];
+        for (int i = 0; i < result.length; i++) {
+            Pattern pattern = patterns.get(i);
+            String literal = findRequiredLiteral(pattern.pattern());
+            int literalIndex = NO_LITERAL;
+            if (!literal.isEmpty()) {
+                literalIndex = literals.indexOf(literal);
+                if (literalIndex == NO_LITERAL) {
+                    literalIndex = literals.size();
+                    literals.add(literal);
+                }
+            }
+            // without a registered literal, the data is not checked for the literal and the pattern is evaluated
+            boolean literalOnly = (literalIndex != NO_LITERAL) && isLiteral(pattern.pattern());
+            result[i] = new CompiledPattern(pattern, literalIndex, literalOnly);
+        }
+        return result;
+    }
+
+    private boolean isMatching(CompiledPattern[] patterns, String data, BitSet foundLiterals) {
+        for (CompiledPattern pattern : patterns) {
+            if (pattern.literal != NO_LITERAL && !foundLiterals.get(pattern.literal)) {
+                continue;
+            }
+            if (pattern.literalOnly || pattern.pattern.matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a pattern contains no special characters, so it matches its literal text only.
+     *
+     * @param regex pattern to check.
+     * @return true if the pattern is a literal.
+     */
+    static boolean isLiteral(String regex) {
+        if (regex.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < regex.length(); i++) {
+            if (SPECIAL_CHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the longest literal, which is contained in every match of a pattern. Only the top level of the pattern is
+     * examined, groups and character classes end a literal.
+     *
+     * @param regex pattern to examine.
+     * @return the literal or an empty string if no literal is known.
+     */
+    static String findRequiredLiteral(String regex) {
+        if (regex.contains("(?")) {
+            // flags like case insensitive matching change the meaning of literals
+            return "";
+        }
+
+        String longest = "";
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            char literal;
+            int next;
+            if (c == '\\') {
+                if (i + 1 >= regex.length()) {
+                    return "";
+                }
+                char escaped = regex.charAt(i + 1);
+                if (!Character.isLetterOrDigit(escaped)) {
+                    literal = escaped;
+                    next = i + 2;
+                } else if (CHARACTER_CLASS_ESCAPES.indexOf(escaped) >= 0) {
+                    longest = longer(longest, current);
+                    i += 2;
+                    continue;
+                } else {
+                    // escapes like \Q, \x, \p or back references are not analyzed
+                    return "";
+                }
+            } else if (c == '(' || c == '[') {
+                longest = longer(longest, current);
+                i = skipGroup(regex, i);
+                continue;
+            } else if (c == '{') {
+                longest = longer(longest, current);
+                int end = regex.indexOf('}', i);
+                i = end >= 0 ? end + 1 : regex.length();
+                continue;
+            } else if (SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                longest = longer(longest, current);
+                i++;
+                continue;
+            } else if (Character.isSurrogate(c)) {
+                // quantifiers apply to the whole code point
+                return "";
+            } else {
+                literal = c;
+                next = i + 1;
+            }
+
+            char quantifier = next < regex.length() ? regex.charAt(next) : 0;
+            if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                // the character is optional
+                longest = longer(longest, current);
+                i = next;
+                continue;
+            }
+            current.append(literal);
+            if (quantifier == '+') {
+                // the character is required, but may be repeated
+                longest = longer(longest, current);
+                next++;
+            }
+            i = next;
+        }
+        return longer(longest, current);
+    }
+
+    private static String longer(String longest, StringBuilder current) {
+        String result = current.length() > longest.length() ? current.toString() : longest;
+        current.setLength(0);
+        return result;
+    }
+
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                if (depth == 0) {
+                    return i;
+                }
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return regex.length();
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                depth++;
+                // a closing bracket at the start of a class is a member of the class
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+            i++;
+        }
+        return regex.length();
+    }
+}
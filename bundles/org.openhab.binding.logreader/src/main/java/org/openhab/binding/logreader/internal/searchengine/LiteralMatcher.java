@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * This class finds all of a set of literals in a single pass over the data, using an Aho-Corasick automaton.
+ *
+ * @author agent - Initial contribution
+ */
+class LiteralMatcher {
+
+    private static final int ROOT = 0;
+    private static final int NO_SYMBOL = -1;
+
+    private final int[] asciiSymbols = new int[128];
+    private final Map<Character, Integer> otherSymbols = new HashMap<>();
+    private final int[][] transitions;
+    private final int[][] outputs;
+
+    /**
+     * Build the automaton.
+     *
+     * @param literals literals to search, the index of a literal in the list identifies it in the search result.
+     */
+    LiteralMatcher(List<String> literals) {
+        Arrays.fill(asciiSymbols, NO_SYMBOL);
+        int symbolCount = 0;
+        for (String literal : literals) {
+            for (char c : literal.toCharArray()) {
+                if (getSymbol(c) == NO_SYMBOL) {
+                    if (c < asciiSymbols.length) {
+                        asciiSymbols[c] = symbolCount++;
+                    } else {
+                        otherSymbols.put(c, symbolCount++);
+                    }
+                }
+            }
+        }
+
+        // trie of all literals
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(newState(symbolCount));
+        trieOutputs.add(new ArrayList<>());
+        for (int i = 0; i < literals.size(); i++) {
+            int state = ROOT;
+            for (char c : literals.get(i).toCharArray()) {
+                int symbol = getSymbol(c);
+                if (trie.get(state)[symbol] == NO_SYMBOL) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState(symbolCount));
+                    trieOutputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            trieOutputs.get(state).add(i);
+        }
+
+        // complete the transitions with the failure links in breadth first order
+        int[] failure = new int[trie.size()];
+        Queue<Integer> queue = new ArrayDeque<>();
+        int[] root = trie.get(ROOT);
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            if (root[symbol] == NO_SYMBOL) {
+                root[symbol] = ROOT;
+            } else {
+                queue.add(root[symbol]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            int[] row = trie.get(state);
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int fallback = trie.get(failure[state])[symbol];
+                if (row[symbol] == NO_SYMBOL) {
+                    row[symbol] = fallback;
+                } else {
+                    int child = row[symbol];
+                    failure[child] = fallback;
+                    trieOutputs.get(child).addAll(trieOutputs.get(fallback));
+                    queue.add(child);
+                }
+            }
+        }
+
+        transitions = trie.toArray(new int[trie.size()][]);
+        outputs = new int[trie.size()][];
+        for (int state = 0; state < outputs.length; state++) {
+            outputs[state] = trieOutputs.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Search all literals in the data.
+     *
+     * @param data data against search will be done.
+     * @param found the indexes of the found literals are set in this set.
+     */
+    void find(String data, BitSet found) {
+        int state = ROOT;
+        for (int i = 0; i < data.length(); i++) {
+            int symbol = getSymbol(data.charAt(i));
+            if (symbol == NO_SYMBOL) {
+                // no literal contains this character
+                state = ROOT;
+                continue;
+            }
+            state = transitions[state][symbol];
+            for (int literal : outputs[state]) {
+                found.set(literal);
+            }
+        }
+    }
+
+    private int getSymbol(char c) {
+        if (c < asciiSymbols.length) {
+            return asciiSymbols[c];
+        }
+        Integer symbol = otherSymbols.get(c);
+        return symbol != null ? symbol : NO_SYMBOL;
+    }
+
+    private static int[] newState(int symbolCount) {
+        int[] state = new int[symbolCount];
+        Arrays.fill(state, NO_SYMBOL);
+        return state;
+    }
+}
@@ -60,6 +60,21 @@ public class SearchEngine {
         return false;
     }
 
+    /**
+     * Increment the match count for data, which has been found by a {@link CombinedSearchEngine}.
+     */
+    void matched() {
+        matchCount++;
+    }
+
+    List<Pattern> getMatchers() {
+        return matchers;
+    }
+
+    List<Pattern> getBlacklistingMatchers() {
+        return blacklistingMatchers;
+    }
+
     public long getMatchCount() {
         return matchCount;
     }
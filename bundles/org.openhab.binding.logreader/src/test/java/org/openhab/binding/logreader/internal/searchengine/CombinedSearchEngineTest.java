@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Replays a generated openhab.log through the {@link CombinedSearchEngine} and compares the results with separate
+ * {@link SearchEngine}s.
+ *
+ * @author agent - Initial contribution
+ */
+public class CombinedSearchEngineTest {
+
+    private static final long SEED = 0x10C4EADL;
+    private static final int REPLAY_LINES = 100000;
+
+    private static final String[] LEVELS = { "ERROR", "WARN ", "INFO ", "DEBUG", "TRACE" };
+    private static final String[] LOGGERS = { "org.openhab.binding.zwave.handler.ZWaveControllerHandler",
+            "org.eclipse.smarthome.core.thing.internal.ThingManagerImpl",
+            "org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService", "smarthome.event.ItemStateChangedEvent",
+            "org.openhab.binding.logreader.internal.handler.LogHandler" };
+    private static final String[] MESSAGES = { "Thing 'zwave:device:1:node5' changed from ONLINE to OFFLINE",
+            "NODE 5: Timeout while sending message. Requeueing - 2 attempts left!",
+            "Error while executing background thread", "Item 'Temp_Living' changed from 21.5 to 21.6",
+            "java.lang.NullPointerException: null", "Could not store item 'Power' [ERRORS: 3]",
+            "Configuration ERROR in rule 'Lights'", "Warning: 50% of the queue is used",
+            "\u00c6r\u00f8sk\u00f8bing 5\u00b0C \u2013 ok" };
+
+    @Test
+    public void testRequiredLiteral() {
+        assertEquals("ERROR", CombinedSearchEngine.findRequiredLiteral("ERROR+"));
+        assertEquals("WAR", CombinedSearchEngine.findRequiredLiteral("WARN?"));
+        assertEquals("' changed", CombinedSearchEngine.findRequiredLiteral("Thing '.*' changed"));
+        assertEquals(".Exception", CombinedSearchEngine.findRequiredLiteral("[a-z]+\\.Exception"));
+        assertEquals("timeout", CombinedSearchEngine.findRequiredLiteral("(zwave|z-wave)\\s+timeout"));
+        assertEquals("[ERRORS: ", CombinedSearchEngine.findRequiredLiteral("\\[ERRORS: \\d{1,2}\\]"));
+        assertEquals("node", CombinedSearchEngine.findRequiredLiteral("node[]0-9]{2}x"));
+        assertEquals("", CombinedSearchEngine.findRequiredLiteral("(?i)error"));
+        assertEquals("", CombinedSearchEngine.findRequiredLiteral("\\x45RROR"));
+        assertEquals("", CombinedSearchEngine.findRequiredLiteral(".*"));
+
+        assertTrue(CombinedSearchEngine.isLiteral("Exception"));
+        assertFalse(CombinedSearchEngine.isLiteral("ERROR+"));
+    }
+
+    @Test
+    public void testReplayMatchesSeparateEngines() {
+        String[][] configurations = { { "ERROR+", "" }, { "WARN+", "" },
+                { "Exception|Thing '.*' changed|NODE \\d+: Timeout|(?i)warning|\\bqueue\\b|\u00c6r\u00f8", "" },
+                { "ERROR+|Error", "persistence|ERRORS: [0-9]+" }, { "Item '[A-Z][a-z]+_\\w+'", "21\\.6|INFO" },
+                { "", "" } };
+
+        List<SearchEngine> separateEngines = new ArrayList<>();
+        List<SearchEngine> combinedEngines = new ArrayList<>();
+        for (String[] configuration : configurations) {
+            separateEngines.add(new SearchEngine(configuration[0], configuration[1]));
+            combinedEngines.add(new SearchEngine(configuration[0], configuration[1]));
+        }
+        CombinedSearchEngine combinedEngine = new CombinedSearchEngine(combinedEngines);
+
+        Random random = new Random(SEED);
+        for (int i = 0; i < REPLAY_LINES; i++) {
+            String line = String.format("2019-03-01 12:%02d:%02d.%03d [%s] [%s] - %s", random.nextInt(60),
+                    random.nextInt(60), random.nextInt(1000), LEVELS[random.nextInt(LEVELS.length)],
+                    LOGGERS[random.nextInt(LOGGERS.length)], MESSAGES[random.nextInt(MESSAGES.length)]);
+
+            List<SearchEngine> expected = new ArrayList<>();
+            for (int engine = 0; engine < separateEngines.size(); engine++) {
+                if (separateEngines.get(engine).isMatching(line)) {
+                    expected.add(combinedEngines.get(engine));
+                }
+            }
+            assertEquals(line, expected, combinedEngine.findMatchingEngines(line));
+        }
+
+        for (int engine = 0; engine < separateEngines.size(); engine++) {
+            assertEquals(separateEngines.get(engine).getMatchCount(), combinedEngines.get(engine).getMatchCount());
+        }
+        assertTrue(combinedEngines.get(0).getMatchCount() > 0);
+        assertEquals(0, combinedEngines.get(5).getMatchCount());
+    }
+
+    @Test
+    public void testLiteralPatternWithoutRequiredLiteral() {
+        // the pattern has no special characters, but no literal is extracted from its surrogate pairs
+        String emoji = "\ud83d\udca1";
+        assertTrue(CombinedSearchEngine.isLiteral(emoji));
+        assertEquals("", CombinedSearchEngine.findRequiredLiteral(emoji));
+
+        SearchEngine engine = new SearchEngine(emoji, "");
+        CombinedSearchEngine combinedEngine = new CombinedSearchEngine(Arrays.asList(engine));
+
+        assertEquals(0, combinedEngine.findMatchingEngines("Item 'Light' changed from OFF to ON").size());
+        assertEquals(1, combinedEngine.findMatchingEngines("Item 'Light' changed to " + emoji).size());
+        assertEquals(1, engine.getMatchCount());
+    }
+
+    @Test
+    public void testOverlappingLiterals() {
+        SearchEngine engine = new SearchEngine("she|hers|his", "");
+        CombinedSearchEngine combinedEngine = new CombinedSearchEngine(Arrays.asList(engine));
+
+        assertEquals(1, combinedEngine.findMatchingEngines("ushers").size());
+        assertEquals(1, combinedEngine.findMatchingEngines("this").size());
+        assertEquals(0, combinedEngine.findMatchingEngines("hes").size());
+        assertEquals(2, engine.getMatchCount());
+    }
+}
@@ -106,6 +106,12 @@ public class AdvancedMultisensorThingHandler extends OwBaseThingHandler {
         });
     }
 
+    @Override
+    public boolean isAnyRefreshDue(long now) {
+        return super.isAnyRefreshDue(now)
+                || ((now >= (digitalLastRefresh + digitalRefreshInterval)) && (thingType == THING_TYPE_AMS));
+    }
+
     @Override
     public void refresh(OwserverBridgeHandler bridgeHandler, long now) {
         try {
@@ -203,6 +203,26 @@ public abstract class OwBaseThingHandler extends BaseThingHandler {
                 && this.thing.getStatusInfo().getStatusDetail() != ThingStatusDetail.BRIDGE_OFFLINE;
     }
 
+    /**
+     * check if the sensor values of this thing are due for a refresh
+     *
+     * @param now current time
+     * @return true if the next call of {@link #refresh(OwserverBridgeHandler, long)} reads sensor values
+     */
+    public boolean isRefreshDue(long now) {
+        return now >= (lastRefresh + refreshInterval);
+    }
+
+    /**
+     * check if this thing has any refresh due, including additional refresh intervals of some things
+     *
+     * @param now current time
+     * @return true if the next call of {@link #refresh(OwserverBridgeHandler, long)} has anything to do
+     */
+    public boolean isAnyRefreshDue(long now) {
+        return isRefreshDue(now);
+    }
+
     /**
      * refresh this thing
      *
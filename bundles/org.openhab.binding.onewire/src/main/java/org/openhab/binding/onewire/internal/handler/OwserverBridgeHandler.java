@@ -18,17 +18,21 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -55,6 +59,10 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link OwserverBridgeHandler} class implements the refresher and the interface for reading from the bridge
  *
+ * Only things with a due refresh are refreshed. If more than one connection is configured, the things are refreshed in
+ * parallel, each refresh using one of the connections. Optionally a simultaneous temperature conversion of all sensors
+ * is triggered before, so the sensors don't convert one after the other when read.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
@@ -71,8 +79,17 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
     private final Queue<@Nullable Thing> thingPropertiesUpdateQueue = new ConcurrentLinkedQueue<>();
 
     private static final int RECONNECT_AFTER_FAIL_TIME = 5000; // in ms
+    private static final String SIMULTANEOUS_TEMPERATURE_PATH = "/simultaneous/temperature";
+    private static final String REFRESH_THREADPOOL_NAME = "onewire";
     private final OwserverConnection owserverConnection;
 
+    // additional connections for parallel refreshes, idle connections include the bridge connection
+    private final List<OwserverConnection> refreshConnections = new ArrayList<>();
+    private final BlockingQueue<OwserverConnection> idleConnections = new LinkedBlockingQueue<>();
+    private final ThreadLocal<@Nullable OwserverConnection> refreshConnection = new ThreadLocal<>();
+    private final ExecutorService refreshExecutor = ThreadPoolManager.getPool(REFRESH_THREADPOOL_NAME);
+    private boolean simultaneousConversion = false;
+
     private final List<OwfsDirectChannelConfig> channelConfigs = new ArrayList<>();
 
     public OwserverBridgeHandler(Bridge bridge) {
@@ -100,6 +117,28 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
             owserverConnection.setPort(((BigDecimal) configuration.get(CONFIG_PORT)).intValue());
         }
 
+        int connections = 1;
+        if (configuration.get(CONFIG_CONNECTIONS) != null) {
+            connections = Math.max(1, ((BigDecimal) configuration.get(CONFIG_CONNECTIONS)).intValue());
+        }
+        simultaneousConversion = Boolean.TRUE.equals(configuration.get(CONFIG_SIMULTANEOUS));
+
+        idleConnections.clear();
+        idleConnections.add(owserverConnection);
+        refreshConnections.clear();
+        for (int i = 1; i < connections; i++) {
+            final int index = refreshConnections.size();
+            OwserverConnection connection = new OwserverConnection(
+                    state -> reportRefreshConnectionState(index, state));
+            if (configuration.get(CONFIG_ADDRESS) != null) {
+                connection.setHost((String) configuration.get(CONFIG_ADDRESS));
+            }
+            if (configuration.get(CONFIG_PORT) != null) {
+                connection.setPort(((BigDecimal) configuration.get(CONFIG_PORT)).intValue());
+            }
+            refreshConnections.add(connection);
+            idleConnections.add(connection);
+        }
         for (Channel channel : thing.getChannels()) {
             if (CHANNEL_TYPE_UID_OWFS_NUMBER.equals(channel.getChannelTypeUID())
                     || CHANNEL_TYPE_UID_OWFS_STRING.equals(channel.getChannelTypeUID())) {
@@ -119,6 +158,11 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
 
         scheduler.execute(() -> {
             owserverConnection.start();
+            for (OwserverConnection connection : refreshConnections) {
+                synchronized (connection) {
+                    connection.start();
+                }
+            }
         });
 
         if (refreshTask.isCancelled()) {
@@ -135,26 +179,35 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
                 long now = System.currentTimeMillis();
 
                 // refresh thing channels
-                List<Thing> thingList = getThing().getThings();
-                int thingCount = thingList.size();
-                Iterator<Thing> childListIterator = thingList.iterator();
-                logger.trace("refreshTask starts at {}, {} childs", now, thingCount);
-                while (childListIterator.hasNext() && refreshable) {
-                    Thing owThing = childListIterator.next();
-
-                    logger.trace("refresh: getting handler for {} ({} to go)", owThing.getUID(), thingCount);
+                List<OwBaseThingHandler> dueHandlers = new ArrayList<>();
+                boolean conversionNeeded = false;
+                for (Thing owThing : getThing().getThings()) {
                     OwBaseThingHandler owHandler = (OwBaseThingHandler) owThing.getHandler();
-                    if (owHandler != null) {
-                        if (owHandler.isRefreshable()) {
-                            logger.trace("{} initialized, refreshing", owThing.getUID());
-                            owHandler.refresh(OwserverBridgeHandler.this, now);
-                        } else {
-                            logger.trace("{} not initialized, skipping refresh", owThing.getUID());
-                        }
-                    } else {
+                    if (owHandler == null) {
                         logger.debug("{} handler missing", owThing.getUID());
+                    } else if (!owHandler.isRefreshable()) {
+                        logger.trace("{} not initialized, skipping refresh", owThing.getUID());
+                    } else if (owHandler.isAnyRefreshDue(now)) {
+                        dueHandlers.add(owHandler);
+                        conversionNeeded |= owHandler.isRefreshDue(now);
                     }
-                    thingCount--;
+                }
+                logger.trace("refreshTask starts at {}, {} childs due", now, dueHandlers.size());
+
+                if (conversionNeeded && simultaneousConversion) {
+                    startSimultaneousConversion();
+                }
+
+                if (refreshConnections.isEmpty() || dueHandlers.size() < 2) {
+                    for (OwBaseThingHandler owHandler : dueHandlers) {
+                        if (!refreshable) {
+                            break;
+                        }
+                        logger.trace("{} initialized, refreshing", owHandler.getThing().getUID());
+                        owHandler.refresh(OwserverBridgeHandler.this, now);
+                    }
+                } else {
+                    refreshInParallel(dueHandlers, now);
                 }
 
                 refreshBridgeChannels(now);
@@ -187,6 +240,84 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * refreshes the things in parallel, one task per idle connection refreshes things until none is left, so a
+     * task never waits for a connection and the tasks can share the thread pool of the binding
+     *
+     * @param owHandlers the handlers of the things to refresh
+     * @param now current time
+     */
+    private void refreshInParallel(List<OwBaseThingHandler> owHandlers, long now) {
+        Queue<OwBaseThingHandler> dueHandlers = new ConcurrentLinkedQueue<>(owHandlers);
+        List<Callable<@Nullable Void>> refreshTasks = new ArrayList<>();
+        for (int i = Math.min(idleConnections.size(), owHandlers.size()); i > 0; i--) {
+            refreshTasks.add(() -> {
+                OwserverConnection connection = idleConnections.take();
+                refreshConnection.set(connection);
+                try {
+                    OwBaseThingHandler owHandler;
+                    while (refreshable && (owHandler = dueHandlers.poll()) != null) {
+                        logger.trace("{} initialized, refreshing", owHandler.getThing().getUID());
+                        owHandler.refresh(OwserverBridgeHandler.this, now);
+                    }
+                } finally {
+                    refreshConnection.remove();
+                    idleConnections.add(connection);
+                }
+                return null;
+            });
+        }
+        try {
+            refreshExecutor.invokeAll(refreshTasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * starts a temperature conversion of all sensors on the bus, the following reads don't need to wait for the
+     * conversion of each sensor
+     */
+    private void startSimultaneousConversion() {
+        try {
+            synchronized (owserverConnection) {
+                owserverConnection.writeDecimalType(SIMULTANEOUS_TEMPERATURE_PATH, new DecimalType(1));
+            }
+            logger.trace("started simultaneous temperature conversion");
+        } catch (OwException e) {
+            logger.debug("could not start simultaneous temperature conversion: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * returns the connection to use for requests of the current thread
+     *
+     * @return the connection assigned to the parallel refresh or the bridge connection
+     */
+    private OwserverConnection getConnection() {
+        OwserverConnection connection = refreshConnection.get();
+        return connection != null ? connection : owserverConnection;
+    }
+
+    /**
+     * reconnects a failed additional connection, the bridge status only depends on the bridge connection
+     *
+     * @param index index of the additional connection
+     * @param connectionState current connection state
+     */
+    private void reportRefreshConnectionState(int index, OwserverConnectionState connectionState) {
+        if (connectionState == OwserverConnectionState.FAILED) {
+            scheduler.schedule(() -> {
+                if (index < refreshConnections.size()) {
+                    OwserverConnection connection = refreshConnections.get(index);
+                    synchronized (connection) {
+                        connection.start();
+                    }
+                }
+            }, RECONNECT_AFTER_FAIL_TIME, TimeUnit.MILLISECONDS);
+        }
+    }
+
     @Override
     public void dispose() {
         refreshable = false;
@@ -194,6 +325,10 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
             refreshTask.cancel(false);
         }
         owserverConnection.stop();
+        for (OwserverConnection connection : refreshConnections) {
+            connection.stop();
+        }
+        refreshConnections.clear();
     }
 
     /**
@@ -211,8 +346,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @return a list of all sensor-IDs
      */
     public List<SensorId> getDirectory(String basePath) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.getDirectory(basePath);
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
+            return connection.getDirectory(basePath);
         }
     }
 
@@ -224,8 +360,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public State checkPresence(SensorId sensorId) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.checkPresence(sensorId.getFullPath());
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
+            return connection.checkPresence(sensorId.getFullPath());
         }
     }
 
@@ -238,9 +375,10 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      */
     public OwSensorType getType(SensorId sensorId) throws OwException {
         OwSensorType sensorType = OwSensorType.UNKNOWN;
-        synchronized (owserverConnection) {
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
             try {
-                sensorType = OwSensorType.valueOf(owserverConnection.readString(sensorId + "/type"));
+                sensorType = OwSensorType.valueOf(connection.readString(sensorId + "/type"));
             } catch (IllegalArgumentException e) {
             }
         }
@@ -255,8 +393,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public OwPageBuffer readPages(SensorId sensorId) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readPages(sensorId.getFullPath());
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
+            return connection.readPages(sensorId.getFullPath());
         }
     }
 
@@ -269,8 +408,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public State readDecimalType(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readDecimalType(parameter.getPath(sensorId));
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
+            return connection.readDecimalType(parameter.getPath(sensorId));
         }
     }
 
@@ -295,8 +435,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public List<State> readDecimalTypeArray(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readDecimalTypeArray(parameter.getPath(sensorId));
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
+            return connection.readDecimalTypeArray(parameter.getPath(sensorId));
         }
     }
 
@@ -309,8 +450,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      * @throws OwException
      */
     public String readString(SensorId sensorId, OwserverDeviceParameter parameter) throws OwException {
-        synchronized (owserverConnection) {
-            return owserverConnection.readString(parameter.getPath(sensorId));
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
+            return connection.readString(parameter.getPath(sensorId));
         }
     }
 
@@ -323,8 +465,9 @@ public class OwserverBridgeHandler extends BaseBridgeHandler {
      */
     public void writeDecimalType(SensorId sensorId, OwserverDeviceParameter parameter, DecimalType value)
             throws OwException {
-        synchronized (owserverConnection) {
-            owserverConnection.writeDecimalType(parameter.getPath(sensorId), value);
+        OwserverConnection connection = getConnection();
+        synchronized (connection) {
+            connection.writeDecimalType(parameter.getPath(sensorId), value);
         }
     }
 
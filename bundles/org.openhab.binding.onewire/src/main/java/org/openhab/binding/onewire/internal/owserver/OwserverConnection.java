@@ -20,6 +20,7 @@ import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -50,7 +51,7 @@ public class OwserverConnection {
 
     private final Logger logger = LoggerFactory.getLogger(OwserverConnection.class);
 
-    private final OwserverBridgeHandler thingHandlerCallback;
+    private final Consumer<OwserverConnectionState> thingHandlerCallback;
     private String owserverAddress = "";
     private int owserverPort = DEFAULT_PORT;
 
@@ -63,7 +64,16 @@ public class OwserverConnection {
     private int connectionErrorCounter = 0;
 
     public OwserverConnection(OwserverBridgeHandler owBaseBridgeHandler) {
-        this.thingHandlerCallback = owBaseBridgeHandler;
+        this(owBaseBridgeHandler::reportConnectionState);
+    }
+
+    /**
+     * create a connection reporting its state to the given callback
+     *
+     * @param connectionStateCallback called on every connection state change
+     */
+    public OwserverConnection(Consumer<OwserverConnectionState> connectionStateCallback) {
+        this.thingHandlerCallback = connectionStateCallback;
     }
 
     /**
@@ -108,7 +118,7 @@ public class OwserverConnection {
     public void stop() {
         close();
         owserverConnectionState = OwserverConnectionState.STOPPED;
-        thingHandlerCallback.reportConnectionState(owserverConnectionState);
+        thingHandlerCallback.accept(owserverConnectionState);
     }
 
     /**
@@ -327,7 +337,7 @@ public class OwserverConnection {
                 }
 
                 owserverConnectionState = OwserverConnectionState.OPENED;
-                thingHandlerCallback.reportConnectionState(owserverConnectionState);
+                thingHandlerCallback.accept(owserverConnectionState);
 
                 logger.debug("opened OwServerConnection to {}:{}", owserverAddress, owserverPort);
                 return true;
@@ -373,7 +383,7 @@ public class OwserverConnection {
         logger.debug("closed connection");
         owserverConnectionState = OwserverConnectionState.CLOSED;
 
-        thingHandlerCallback.reportConnectionState(owserverConnectionState);
+        thingHandlerCallback.accept(owserverConnectionState);
     }
 
     /**
@@ -397,7 +407,7 @@ public class OwserverConnection {
         close();
         if (connectionErrorCounter > CONNECTION_MAX_RETRY) {
             owserverConnectionState = OwserverConnectionState.FAILED;
-            thingHandlerCallback.reportConnectionState(owserverConnectionState);
+            thingHandlerCallback.accept(owserverConnectionState);
         }
     }
 
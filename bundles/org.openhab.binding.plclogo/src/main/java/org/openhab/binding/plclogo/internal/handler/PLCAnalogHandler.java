@@ -187,6 +187,11 @@ public class PLCAnalogHandler extends PLCCommonHandler {
         setOldValue(getBlockFromChannel(channel), state);
     }
 
+    @Override
+    public boolean isUpdateForced() {
+        return config.get().isUpdateForced();
+    }
+
     @Override
     protected void updateConfiguration(Configuration configuration) {
         super.updateConfiguration(configuration);
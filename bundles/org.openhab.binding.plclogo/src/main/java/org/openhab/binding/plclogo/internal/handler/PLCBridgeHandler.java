@@ -55,6 +55,9 @@ import Moka7.S7Client;
  * The {@link PLCBridgeHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * The bridge reads the memory range used by the block handlers and passes data to
+ * a handler only, if its part of the memory was changed since the last read.
+ *
  * @author Alexander Falkenstern - Initial contribution
  */
 @NonNullByDefault
@@ -87,9 +90,29 @@ public class PLCBridgeHandler extends BaseBridgeHandler {
 
     @Nullable
     private ScheduledFuture<?> readerJob;
+    // Memory range and data buffer of a handler, which has got the current memory content of this range
+    private static class HandlerData {
+        final int address;
+        final byte[] data;
+
+        HandlerData(int address, byte[] data) {
+            this.address = address;
+            this.data = data;
+        }
+    }
+
+    // Data of the handlers, which have got the current memory content
+    private final Map<PLCCommonHandler, HandlerData> handlerData = new HashMap<>();
     private final Runnable dataReader = new Runnable() {
         // Buffer for block data read operation
         private final byte[] buffer = new byte[2048];
+        // Memory content of the last read operation, valid from imageStart to imageEnd
+        private final byte[] image = new byte[2048];
+        private int imageStart = 0;
+        private int imageEnd = 0;
+        // Start and end addresses of the changed memory ranges
+        private final int[] changes = new int[2048];
+        private int changesLength = 0;
 
         @Override
         public void run() {
@@ -98,14 +121,35 @@ public class PLCBridgeHandler extends BaseBridgeHandler {
             Layout layout = (memory != null) ? memory.get(MEMORY_SIZE) : null;
             if ((layout != null) && (localClient != null)) {
                 try {
-                    int result = localClient.readDBArea(1, 0, layout.length, S7Client.S7WLByte, buffer);
+                    // Read only the memory range used by the handlers
+                    int start = layout.length;
+                    int end = 0;
+                    synchronized (handlers) {
+                        for (PLCCommonHandler handler : handlers) {
+                            int length = handler.getBufferLength();
+                            int address = handler.getStartAddress();
+                            if ((length > 0) && (address != PLCCommonHandler.INVALID)) {
+                                start = Math.min(start, address);
+                                end = Math.max(end, address + length);
+                            }
+                        }
+                    }
+                    end = Math.min(end, layout.length);
+                    if (start >= end) {
+                        return;
+                    }
+
+                    int result = localClient.readDBArea(1, start, end - start, S7Client.S7WLByte, buffer);
                     if (result == 0) {
+                        updateImage(start, end);
                         synchronized (handlers) {
                             for (PLCCommonHandler handler : handlers) {
                                 int length = handler.getBufferLength();
                                 int address = handler.getStartAddress();
                                 if ((length > 0) && (address != PLCCommonHandler.INVALID)) {
-                                    handler.setData(Arrays.copyOfRange(buffer, address, address + length));
+                                    if ((start <= address) && (address + length <= end)) {
+                                        setHandlerData(handler, address, length);
+                                    }
                                 } else {
                                     logger.debug("Invalid handler {} found.", handler.getClass().getSimpleName());
                                 }
@@ -121,6 +165,60 @@ public class PLCBridgeHandler extends BaseBridgeHandler {
                 logger.debug("Either memory block {} or LOGO! client {} is invalid.", memory, localClient);
             }
         }
+
+        /**
+         * Compare read data with memory content of the last read operation and collect changed ranges.
+         */
+        private void updateImage(int start, int end) {
+            changesLength = 0;
+            for (int address = start; address < end; address++) {
+                boolean valid = (imageStart <= address) && (address < imageEnd);
+                if (!valid || (image[address] != buffer[address - start])) {
+                    if ((changesLength > 0) && (changes[changesLength - 1] == address)) {
+                        changes[changesLength - 1] = address + 1;
+                    } else {
+                        changes[changesLength++] = address;
+                        changes[changesLength++] = address + 1;
+                    }
+                }
+            }
+            System.arraycopy(buffer, 0, image, start, end - start);
+            imageStart = start;
+            imageEnd = end;
+        }
+
+        private boolean isChanged(int address, int length) {
+            for (int i = 0; i < changesLength; i += 2) {
+                if ((changes[i] < address + length) && (address < changes[i + 1])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Set data of handler, if it was changed or handler has not got the current memory content of its range yet.
+         */
+        private void setHandlerData(PLCCommonHandler handler, int address, int length) {
+            HandlerData current = handlerData.get(handler);
+            byte[] data = null;
+            if ((current != null) && (current.address == address) && (current.data.length == length)) {
+                data = current.data;
+            }
+            if ((data == null) || handler.isUpdateForced() || isChanged(address, length)) {
+                if (data == null) {
+                    data = new byte[length];
+                }
+                System.arraycopy(image, address, data, 0, length);
+                handler.setData(data);
+                // Handler drops data until it is online
+                if (ThingStatus.ONLINE != handler.getThing().getStatus()) {
+                    handlerData.remove(handler);
+                } else if ((current == null) || (current.data != data)) {
+                    handlerData.put(handler, new HandlerData(address, data));
+                }
+            }
+        }
     };
 
     /**
@@ -216,6 +314,9 @@ public class PLCBridgeHandler extends BaseBridgeHandler {
         synchronized (oldValues) {
             oldValues.clear();
         }
+        synchronized (handlers) {
+            handlerData.clear();
+        }
         config.set(getConfigAs(PLCLogoBridgeConfiguration.class));
 
         boolean configured = (config.get().getLocalTSAP() != null);
@@ -286,6 +387,8 @@ public class PLCBridgeHandler extends BaseBridgeHandler {
                 if (!handlers.contains(handler)) {
                     handlers.add(handler);
                 }
+                // A re-initialized handler may have got a new configuration, so it needs the memory content again
+                handlerData.remove(handler);
             }
         }
     }
@@ -298,6 +401,7 @@ public class PLCBridgeHandler extends BaseBridgeHandler {
                 if (handlers.contains(handler)) {
                     handlers.remove(handler);
                 }
+                handlerData.remove(handler);
             }
         }
         super.childHandlerDisposed(childHandler, childThing);
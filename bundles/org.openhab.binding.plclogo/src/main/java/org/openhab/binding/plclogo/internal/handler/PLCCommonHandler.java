@@ -123,6 +123,13 @@ public abstract class PLCCommonHandler extends BaseThingHandler {
      */
     public abstract void setData(final byte[] data);
 
+    /**
+     * Checks if data must be set after each read of the LOGO! memory, even if it was not changed.
+     *
+     * @return True, if data must be always set and false otherwise
+     */
+    public abstract boolean isUpdateForced();
+
     /**
      * Checks if block name is valid.
      *
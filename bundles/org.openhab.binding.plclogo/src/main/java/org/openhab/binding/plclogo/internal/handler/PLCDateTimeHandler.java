@@ -160,6 +160,11 @@ public class PLCDateTimeHandler extends PLCCommonHandler {
         }
     }
 
+    @Override
+    public boolean isUpdateForced() {
+        return config.get().isUpdateForced();
+    }
+
     @Override
     protected void updateConfiguration(Configuration configuration) {
         super.updateConfiguration(configuration);
@@ -197,6 +197,11 @@ public class PLCDigitalHandler extends PLCCommonHandler {
         setOldValue(getBlockFromChannel(channel), value);
     }
 
+    @Override
+    public boolean isUpdateForced() {
+        return config.get().isUpdateForced();
+    }
+
     @Override
     protected void updateConfiguration(Configuration configuration) {
         super.updateConfiguration(configuration);
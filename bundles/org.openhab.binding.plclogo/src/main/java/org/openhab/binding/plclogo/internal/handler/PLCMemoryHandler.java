@@ -233,6 +233,11 @@ public class PLCMemoryHandler extends PLCCommonHandler {
         setOldValue(getBlockFromChannel(channel), state);
     }
 
+    @Override
+    public boolean isUpdateForced() {
+        return config.get().isUpdateForced();
+    }
+
     @Override
     protected void updateConfiguration(Configuration configuration) {
         super.updateConfiguration(configuration);
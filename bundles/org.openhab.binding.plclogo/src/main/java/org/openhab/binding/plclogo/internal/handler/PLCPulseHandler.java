@@ -199,6 +199,12 @@ public class PLCPulseHandler extends PLCCommonHandler {
         setOldValue(channelUID.getId(), value);
     }
 
+    @Override
+    public boolean isUpdateForced() {
+        // Observed block is read on each update and is not part of the data buffer
+        return true;
+    }
+
     @Override
     protected void updateConfiguration(Configuration configuration) {
         super.updateConfiguration(configuration);
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -36,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.plugins.RxJavaPlugins;
 import io.reactivex.schedulers.Schedulers;
@@ -62,6 +64,10 @@ public abstract class MeterDevice<T> {
      * Map of all values captured from the device during the read request.
      */
     private Map<String, MeterValue<?>> valueCache;
+    /**
+     * Map of the values the listeners were last notified about. Listeners are only notified about changed values.
+     */
+    private final Map<String, MeterValue<?>> notifiedValues = new ConcurrentHashMap<>();
     private byte @Nullable [] initMessage;
     /**
      * The id of the SML device from openHAB configuration.
@@ -161,8 +167,9 @@ public abstract class MeterDevice<T> {
      *
      */
     public Disposable readValues(long timeout, ScheduledExecutorService executorService, Duration period) {
+        Scheduler scheduler = Schedulers.from(executorService);
         return Flowable.fromPublisher(connector.getMeterValues(initMessage, period, executorService))
-                .timeout(timeout + period.toMillis(), TimeUnit.MILLISECONDS, Schedulers.from(executorService))
+                .timeout(timeout + period.toMillis(), TimeUnit.MILLISECONDS, scheduler)
                 .doOnSubscribe(sub -> {
                     logger.info("Opening connection to {}", getDeviceId());
                     connector.openConnection();
@@ -176,9 +183,8 @@ public abstract class MeterDevice<T> {
                     connector.closeConnection();
                     notifyReadingError(ex);
                 }).doOnCancel(connector::closeConnection).doOnComplete(connector::closeConnection).share()
-                .retryWhen(
-                        publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, Schedulers.from(executorService)))
-                .subscribeOn(Schedulers.from(executorService), true).subscribe((value) -> {
+                .retryWhen(publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, scheduler))
+                .subscribeOn(scheduler, true).subscribe((value) -> {
                     Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
                     clearValueCache();
                     populateValueCache(value);
@@ -208,13 +214,20 @@ public abstract class MeterDevice<T> {
     protected abstract <Q extends Quantity<Q>> void populateValueCache(T payload);
 
     /**
-     * Adds a {@link MeterValue} to the current cache.
+     * Adds a {@link MeterValue} to the current cache. The listeners are only notified if the value differs from the
+     * value they were last notified about for the same OBIS code.
      *
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
+        MeterValue<?> previousValue = notifiedValues.put(value.getObisCode(), value);
+        // the same instance may have been modified after the listeners were notified
+        if (previousValue != value && value.equals(previousValue)) {
+            logger.trace("Value unchanged: {}", value);
+            return;
+        }
+        logger.debug("Value changed: {}", value);
         this.valueChangeListeners.forEach((listener) -> {
             try {
                 listener.valueChanged(value);
@@ -257,10 +270,13 @@ public abstract class MeterDevice<T> {
     }
 
     private <Q extends Quantity<Q>> void notifyValuesRemoved(MeterValue<Q> value) {
+        notifiedValues.remove(value.getObisCode());
         this.valueChangeListeners.forEach((listener) -> listener.valueRemoved(value));
     }
 
     private void notifyReadingError(Throwable e) {
+        // all values are reported again once reading succeeds
+        notifiedValues.clear();
         this.valueChangeListeners.forEach((listener) -> listener.errorOccurred(e));
     }
 
@@ -21,6 +21,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -32,6 +33,7 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.library.types.QuantityType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.Channel;
@@ -72,6 +74,11 @@ public class SmartMeterHandler extends BaseThingHandler {
     private static final long DEFAULT_TIMEOUT = 30000;
     private static final int DEFAULT_REFRESH_PERIOD = 30;
     private Logger logger = LoggerFactory.getLogger(SmartMeterHandler.class);
+    /**
+     * Pool shared by the readers of all meters, so blocking reads don't occupy the common thing handler pool.
+     */
+    private final ScheduledExecutorService readerPool = ThreadPoolManager
+            .getScheduledPool(SmartMeterBindingConstants.BINDING_ID);
     private MeterDevice<?> smlDevice;
     private Disposable valueReader;
     private Conformity conformity;
@@ -244,7 +251,7 @@ public class SmartMeterHandler extends BaseThingHandler {
 
         SmartMeterConfiguration config = getConfigAs(SmartMeterConfiguration.class);
         int delay = config.refresh != null ? config.refresh : DEFAULT_REFRESH_PERIOD;
-        valueReader = this.smlDevice.readValues(DEFAULT_TIMEOUT, this.scheduler, Duration.ofSeconds(delay));
+        valueReader = this.smlDevice.readValues(DEFAULT_TIMEOUT, readerPool, Duration.ofSeconds(delay));
     }
 
     private void updateOBISChannel(ChannelUID channelId) {
@@ -18,7 +18,11 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.Stack;
+import java.time.Duration;
+import java.util.TooManyListenersException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -26,6 +30,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.eclipse.smarthome.io.transport.serial.PortInUseException;
 import org.eclipse.smarthome.io.transport.serial.SerialPort;
+import org.eclipse.smarthome.io.transport.serial.SerialPortEvent;
 import org.eclipse.smarthome.io.transport.serial.SerialPortIdentifier;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.eclipse.smarthome.io.transport.serial.UnsupportedCommOperationException;
@@ -34,10 +39,20 @@ import org.openhab.binding.smartmeter.internal.helper.Baudrate;
 import org.openhab.binding.smartmeter.internal.helper.SerialParameter;
 import org.openmuc.jsml.structures.SmlFile;
 import org.openmuc.jsml.transport.Transport;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.FlowableEmitter;
+import io.reactivex.schedulers.Schedulers;
 
 /**
  * Represents a serial SML device connector.
  *
+ * Meters which don't need an init message push their SML files on their own. For those meters the connection stays
+ * open and SML files are read whenever the serial port reports available data, so no thread waits for the next SML
+ * file. The most recent SML file is emitted once per period.
+ *
  * @author Matthias Steigenberger - Initial contribution
  * @author Mathias Gilhuber - Also-By
  */
@@ -55,6 +70,13 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
     private DataOutputStream os;
     private int baudrate;
 
+    /**
+     * The executor reading pushed SML files, only set in push mode.
+     */
+    private volatile @Nullable ExecutorService pushExecutor;
+    private volatile @Nullable FlowableEmitter<SmlFile> pushEmitter;
+    private final AtomicBoolean reading = new AtomicBoolean();
+
     /**
      * Constructor to create a serial connector instance.
      *
@@ -89,16 +111,60 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         }
 
         // read out the whole buffer. We are only interested in the most recent SML file.
-        Stack<SmlFile> smlFiles = new Stack<>();
+        SmlFile smlFile;
+        int count = 0;
         do {
-            logger.trace("Reading {}. SML message", smlFiles.size() + 1);
-            smlFiles.push(TRANSPORT.getSMLFile(is));
+            logger.trace("Reading {}. SML message", count + 1);
+            smlFile = TRANSPORT.getSMLFile(is);
+            count++;
         } while (is != null && is.available() > 0);
-        if (smlFiles.isEmpty()) {
-            throw new IOException(getPortName() + " : There is no SML file in buffer. Try to increase Refresh rate.");
+        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), count);
+        return smlFile;
+    }
+
+    @Override
+    public Publisher<SmlFile> getMeterValues(byte @Nullable [] initMessage, Duration period, ExecutorService executor) {
+        if (initMessage != null) {
+            // the meter only sends values on request
+            return super.getMeterValues(initMessage, period, executor);
+        }
+        pushExecutor = executor;
+        return Flowable.<SmlFile> create(emitter -> {
+            pushEmitter = emitter;
+            emitter.setCancellable(() -> pushEmitter = null);
+        }, BackpressureStrategy.LATEST).sample(period.toMillis(), TimeUnit.MILLISECONDS, Schedulers.from(executor));
+    }
+
+    private void serialEvent(SerialPortEvent event) {
+        ExecutorService executor = pushExecutor;
+        if (event.getEventType() == SerialPortEvent.DATA_AVAILABLE && executor != null
+                && reading.compareAndSet(false, true)) {
+            executor.execute(this::readPushedFiles);
+        }
+    }
+
+    /**
+     * Reads all SML files available in the buffer and passes them to the emitter. Data arriving while the last file
+     * is read is picked up with the next data available event.
+     */
+    private void readPushedFiles() {
+        try {
+            DataInputStream localIs = is;
+            while (localIs != null && localIs.available() > 0) {
+                SmlFile smlFile = TRANSPORT.getSMLFile(localIs);
+                FlowableEmitter<SmlFile> emitter = pushEmitter;
+                if (emitter != null) {
+                    emitter.onNext(smlFile);
+                }
+            }
+        } catch (IOException e) {
+            FlowableEmitter<SmlFile> emitter = pushEmitter;
+            if (emitter != null) {
+                emitter.tryOnError(e);
+            }
+        } finally {
+            reading.set(false);
         }
-        logger.debug("{} : Read {} SML files from Buffer", this.getPortName(), smlFiles.size());
-        return smlFiles.pop();
     }
 
     @Override
@@ -130,6 +196,15 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
                         getPortName()), e);
             }
             // serialPort.setFlowControlMode(SerialPort.FLOWCONTROL_RTSCTS_IN | SerialPort.FLOWCONTROL_RTSCTS_OUT);
+            if (pushExecutor != null) {
+                try {
+                    serialPort.addEventListener(this::serialEvent);
+                } catch (TooManyListenersException e) {
+                    throw new IOException(MessageFormat.format(
+                            "Error at SerialConnector.openConnection: unable to attach listener to port {0}.",
+                            getPortName()), e);
+                }
+            }
             serialPort.notifyOnDataAvailable(true);
             is = new DataInputStream(new BufferedInputStream(serialPort.getInputStream()));
             os = new DataOutputStream(new BufferedOutputStream(serialPort.getOutputStream()));
@@ -160,6 +235,7 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
             logger.error("Failed to close serial output stream", e);
         }
         if (serialPort != null) {
+            serialPort.removeEventListener();
             serialPort.close();
             serialPort = null;
         }
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -50,7 +51,8 @@ public class TestMeterReading {
     public void testContinousReading() throws Exception {
         final Duration period = Duration.ofSeconds(1);
         final int executionCount = 5;
-        MockMeterReaderConnector connector = getMockedConnector(false, () -> new Object());
+        AtomicInteger reading = new AtomicInteger();
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> reading.incrementAndGet());
         MeterDevice<Object> meter = getMeterDevice(connector);
         MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
         meter.addValueChangeListener(changeListener);
@@ -64,6 +66,24 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testUnchangedValuesAreNotNotified() throws Exception {
+        final Duration period = Duration.ofSeconds(1);
+        final int executionCount = 3;
+        MockMeterReaderConnector connector = getMockedConnector(false, () -> "333");
+        MeterDevice<Object> meter = getMeterDevice(connector);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(executionCount * period.toMillis() + period.toMillis() / 2).never())
+                    .errorOccurred(any());
+            verify(changeListener, times(1)).valueChanged(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     @Test
     public void testRetryHandling() {
         final Duration period = Duration.ofSeconds(1);
@@ -148,7 +168,7 @@ public class TestMeterReading {
 
             @Override
             protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("123", String.valueOf(smlFile), null));
             }
 
         };
@@ -17,9 +17,13 @@ import static org.openhab.binding.snmp.internal.SnmpBindingConstants.*;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -68,12 +72,18 @@ import org.snmp4j.smi.VariableBinding;
  * The {@link SnmpTargetHandler} is responsible for handling commands, which are
  * sent to one of the channels or update remote channels
  *
+ * Read channels are refreshed with GET requests that are all sent at once. If the agent answers with a tooBig error,
+ * the request is split and the number of variables per request is limited from then on. On SNMP v2c targets, read
+ * channels in the same table column are refreshed by walking the column with GETBULK requests.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class SnmpTargetHandler extends BaseThingHandler implements ResponseListener, CommandResponder {
     private static final Pattern HEXSTRING_VALIDITY = Pattern.compile("([a-f0-9]{2}[ :-]?)+");
     private static final Pattern HEXSTRING_EXTRACTOR = Pattern.compile("[^a-f0-9]");
+    private static final int BULK_COLUMN_THRESHOLD = 4;
+    private static final int BULK_MAX_REPETITIONS = 50;
 
     private final Logger logger = LoggerFactory.getLogger(SnmpTargetHandler.class);
 
@@ -82,6 +92,10 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
     private @Nullable ScheduledFuture<?> refresh;
     private int timeoutCounter = 0;
 
+    // limits reduced after the agent reported tooBig
+    private volatile int maxVariableBindings = Integer.MAX_VALUE;
+    private volatile int maxRepetitions = BULK_MAX_REPETITIONS;
+
     private @NonNullByDefault({}) AbstractTarget target;
     private @NonNullByDefault({}) String targetAddressString;
 
@@ -155,6 +169,8 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         }
 
         timeoutCounter = 0;
+        maxVariableBindings = Integer.MAX_VALUE;
+        maxRepetitions = BULK_MAX_REPETITIONS;
 
         updateStatus(ThingStatus.UNKNOWN);
         refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, config.refresh, TimeUnit.SECONDS);
@@ -191,6 +207,17 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
         timeoutCounter = 0;
         logger.trace("{} received {}", thing.getUID(), response);
 
+        Object userObject = event.getUserObject();
+        if (response.getErrorStatus() == PDU.tooBig) {
+            handleTooBig(event.getRequest(), userObject);
+            return;
+        }
+
+        if (userObject instanceof ColumnWalk) {
+            continueColumnWalk((ColumnWalk) userObject, response);
+            return;
+        }
+
         response.getVariableBindings().forEach(variable -> {
             OID oid = variable.getOid();
             Variable value = variable.getVariable();
@@ -418,14 +445,114 @@ public class SnmpTargetHandler extends BaseThingHandler implements ResponseListe
                 return;
             }
         }
-        PDU pdu = new PDU(PDU.GET,
-                readChannelSet.stream().map(c -> new VariableBinding(c.oid)).collect(Collectors.toList()));
-        if (!pdu.getVariableBindings().isEmpty()) {
-            try {
-                snmpService.send(pdu, target, null, this);
-            } catch (IOException e) {
-                logger.info("Could not send PDU: {}", e);
+
+        List<OID> getOids = new ArrayList<>();
+        Set<OID> readOids = readChannelSet.stream().map(c -> c.oid).collect(Collectors.toCollection(TreeSet::new));
+        if (config.protocol.toInteger() == SnmpConstants.version2c) {
+            Map<OID, List<OID>> columns = readOids.stream()
+                    .collect(Collectors.groupingBy((OID oid) -> new OID(oid.getValue(), 0, oid.size() - 1)));
+            columns.forEach((column, oids) -> {
+                if (oids.size() >= BULK_COLUMN_THRESHOLD) {
+                    ColumnWalk walk = new ColumnWalk(column, oids);
+                    sendColumnWalkRequest(walk, column);
+                } else {
+                    getOids.addAll(oids);
+                }
+            });
+        } else {
+            getOids.addAll(readOids);
+        }
+
+        sendGetRequests(getOids);
+    }
+
+    /**
+     * send GET requests for the OIDs, split to requests of at most {@link #maxVariableBindings} variables
+     */
+    private void sendGetRequests(List<OID> oids) {
+        int requestSize = maxVariableBindings;
+        for (int i = 0; i < oids.size(); i += requestSize) {
+            PDU pdu = new PDU(PDU.GET, oids.subList(i, Math.min(oids.size(), i + requestSize)).stream()
+                    .map(VariableBinding::new).collect(Collectors.toList()));
+            send(pdu, null);
+        }
+    }
+
+    /**
+     * request the rows of a column following the given OID
+     */
+    private void sendColumnWalkRequest(ColumnWalk walk, OID startOid) {
+        PDU pdu = new PDU(PDU.GETBULK, Collections.singletonList(new VariableBinding(startOid)));
+        pdu.setNonRepeaters(0);
+        pdu.setMaxRepetitions(maxRepetitions);
+        send(pdu, walk);
+    }
+
+    private void send(PDU pdu, @Nullable Object userHandle) {
+        try {
+            snmpService.send(pdu, target, userHandle, this);
+        } catch (IOException e) {
+            logger.info("Could not send PDU: {}", e);
+        }
+    }
+
+    private void continueColumnWalk(ColumnWalk walk, PDU response) {
+        OID lastOid = null;
+        for (VariableBinding variable : response.getVariableBindings()) {
+            OID oid = variable.getOid();
+            if (!oid.startsWith(walk.column) || variable.getVariable().isException()) {
+                // left the column or the MIB view
+                return;
+            }
+            if (walk.oids.contains(oid)) {
+                updateChannels(oid, variable.getVariable(), readChannelSet);
             }
+            lastOid = oid;
+        }
+        if (lastOid != null && lastOid.compareTo(walk.lastOid) < 0) {
+            sendColumnWalkRequest(walk, lastOid);
+        }
+    }
+
+    private void handleTooBig(@Nullable PDU request, @Nullable Object userObject) {
+        if (request == null || request.size() == 0) {
+            return;
+        }
+        if (userObject instanceof ColumnWalk) {
+            if (request.getMaxRepetitions() > 1) {
+                maxRepetitions = Math.max(1, request.getMaxRepetitions() / 2);
+                logger.debug("{} reported tooBig, reducing repetitions to {}", thing.getUID(), maxRepetitions);
+                sendColumnWalkRequest((ColumnWalk) userObject, request.get(0).getOid());
+            } else {
+                logger.warn("{} reported tooBig for a single row of {}", thing.getUID(), request.get(0).getOid());
+            }
+        } else if (request.getType() == PDU.GET) {
+            if (request.size() > 1) {
+                maxVariableBindings = Math.min(maxVariableBindings, Math.max(1, request.size() / 2));
+                logger.debug("{} reported tooBig for {} variables, limiting requests to {} variables",
+                        thing.getUID(), request.size(), maxVariableBindings);
+                sendGetRequests(request.getVariableBindings().stream().map(VariableBinding::getOid)
+                        .collect(Collectors.toList()));
+            } else {
+                logger.warn("{} reported tooBig for a single variable {}", thing.getUID(), request.get(0).getOid());
+            }
+        } else {
+            logger.warn("{} reported tooBig for {}", thing.getUID(), request);
+        }
+    }
+
+    /**
+     * the state of a GETBULK walk through a table column
+     */
+    private static class ColumnWalk {
+        private final OID column;
+        private final Set<OID> oids;
+        private final OID lastOid;
+
+        ColumnWalk(OID column, List<OID> oids) {
+            this.column = column;
+            this.oids = new TreeSet<>(oids);
+            this.lastOid = Collections.max(oids);
         }
     }
 
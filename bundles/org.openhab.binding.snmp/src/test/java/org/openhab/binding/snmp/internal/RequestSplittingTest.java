@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.snmp.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.openhab.binding.snmp.internal.SnmpBindingConstants.THING_TYPE_TARGET;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.Channel;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.ThingStatus;
+import org.eclipse.smarthome.core.thing.binding.builder.ChannelBuilder;
+import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
+import org.junit.Test;
+import org.mockito.MockitoAnnotations;
+import org.snmp4j.PDU;
+import org.snmp4j.event.ResponseEvent;
+import org.snmp4j.smi.Null;
+import org.snmp4j.smi.OID;
+import org.snmp4j.smi.OctetString;
+import org.snmp4j.smi.Variable;
+import org.snmp4j.smi.VariableBinding;
+
+/**
+ * Tests the splitting of refresh requests and the GETBULK column walks of {@link SnmpTargetHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RequestSplittingTest extends AbstractSnmpTargetHandlerTest {
+    private static final String COLUMN_OID = "1.3.6.1.2.1.2.2.1.2";
+    private static final int ROWS = 10;
+
+    // agent stand-in
+    private final TreeMap<OID, Variable> mib = new TreeMap<>();
+    private final List<PDU> requests = new CopyOnWriteArrayList<>();
+    private int maxResponseSize;
+
+    @Test
+    public void testTooBigRequestsAreSplit() throws IOException {
+        List<ChannelUID> channelUIDs = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            channelUIDs.add(addVariable("1.2.3.4." + i + ".0", "value" + i));
+        }
+        maxResponseSize = 3;
+
+        setupThing(SnmpProtocolVersion.v2c, channelUIDs);
+
+        assertChannelsUpdated(channelUIDs);
+        assertTrue(requests.stream().allMatch(request -> request.getType() == PDU.GET));
+        assertEquals(ROWS, requests.get(0).size());
+        // the split requests fit into the responses of the agent
+        assertTrue(requests.get(requests.size() - 1).size() <= maxResponseSize);
+    }
+
+    @Test
+    public void testColumnIsWalked() throws IOException {
+        List<ChannelUID> channelUIDs = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            channelUIDs.add(addVariable(COLUMN_OID + "." + i, "eth" + i));
+        }
+        channelUIDs.add(addVariable(TEST_OID, TEST_STRING));
+        // rows without channels and the next column must not be requested
+        for (int i = ROWS + 1; i <= 2 * ROWS; i++) {
+            mib.put(new OID(COLUMN_OID + "." + i), new OctetString("eth" + i));
+            mib.put(new OID("1.3.6.1.2.1.2.2.1.3." + i), new OctetString("other" + i));
+        }
+        maxResponseSize = 4;
+
+        setupThing(SnmpProtocolVersion.v2c, channelUIDs);
+
+        assertChannelsUpdated(channelUIDs);
+        OID column = new OID(COLUMN_OID);
+        OID lastRow = new OID(COLUMN_OID + "." + ROWS);
+        for (PDU request : requests) {
+            OID oid = request.get(0).getOid();
+            if (request.getType() == PDU.GETBULK) {
+                assertTrue(request.getMaxRepetitions() > 0);
+                assertTrue(oid.startsWith(column));
+                assertTrue(oid.compareTo(lastRow) < 0);
+            } else {
+                assertEquals(PDU.GET, request.getType());
+                assertEquals(1, request.size());
+                assertEquals(new OID(TEST_OID), oid);
+            }
+        }
+        assertTrue(requests.stream().anyMatch(request -> request.getType() == PDU.GETBULK));
+    }
+
+    @Test
+    public void testV1DoesNotWalk() throws IOException {
+        List<ChannelUID> channelUIDs = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            channelUIDs.add(addVariable(COLUMN_OID + "." + i, "eth" + i));
+        }
+        maxResponseSize = Integer.MAX_VALUE;
+
+        setupThing(SnmpProtocolVersion.v1, channelUIDs);
+
+        assertChannelsUpdated(channelUIDs);
+        assertTrue(requests.stream().allMatch(request -> request.getType() == PDU.GET));
+    }
+
+    private ChannelUID addVariable(String oid, String value) {
+        mib.put(new OID(oid), new OctetString(value));
+        return new ChannelUID(THING_UID, "channel" + oid.replace('.', '_'));
+    }
+
+    private void assertChannelsUpdated(List<ChannelUID> channelUIDs) {
+        waitForAssert(() -> {
+            for (ChannelUID channelUID : channelUIDs) {
+                String oid = channelUID.getId().substring("channel".length()).replace('_', '.');
+                verify(thingHandlerCallback, atLeast(1)).stateUpdated(eq(channelUID),
+                        eq(new StringType(mib.get(new OID(oid)).toString())));
+            }
+        });
+    }
+
+    private PDU respond(PDU request) {
+        PDU response = new PDU();
+        response.setType(PDU.RESPONSE);
+        if (request.getType() == PDU.GETBULK) {
+            OID oid = request.get(0).getOid();
+            for (Map.Entry<OID, Variable> entry : mib.tailMap(oid, false).entrySet()) {
+                if (response.size() >= request.getMaxRepetitions()) {
+                    break;
+                }
+                response.add(new VariableBinding(entry.getKey(), entry.getValue()));
+            }
+            if (response.size() < request.getMaxRepetitions()) {
+                response.add(new VariableBinding(oid, Null.endOfMibView));
+            }
+        } else {
+            for (VariableBinding variable : request.getVariableBindings()) {
+                Variable value = mib.get(variable.getOid());
+                response.add(new VariableBinding(variable.getOid(), value != null ? value : Null.noSuchObject));
+            }
+        }
+        if (response.size() > maxResponseSize) {
+            PDU tooBig = new PDU();
+            tooBig.setType(PDU.RESPONSE);
+            tooBig.setErrorStatus(PDU.tooBig);
+            return tooBig;
+        }
+        return response;
+    }
+
+    private void setupThing(SnmpProtocolVersion protocol, List<ChannelUID> channelUIDs) throws IOException {
+        MockitoAnnotations.initMocks(this);
+
+        Map<String, Object> thingConfig = new HashMap<>();
+        thingConfig.put("hostname", "localhost");
+        thingConfig.put("protocol", protocol.name());
+        ThingBuilder thingBuilder = ThingBuilder.create(THING_TYPE_TARGET, THING_UID).withLabel("Test thing")
+                .withConfiguration(new Configuration(thingConfig));
+        for (ChannelUID channelUID : channelUIDs) {
+            Map<String, Object> channelConfig = new HashMap<>();
+            channelConfig.put("oid", channelUID.getId().substring("channel".length()).replace('_', '.'));
+            channelConfig.put("mode", SnmpChannelMode.READ.name());
+            Channel channel = ChannelBuilder.create(channelUID, "String")
+                    .withType(SnmpBindingConstants.CHANNEL_TYPE_UID_STRING)
+                    .withConfiguration(new Configuration(channelConfig)).build();
+            thingBuilder.withChannel(channel);
+        }
+
+        thing = thingBuilder.build();
+        thingHandler = new SnmpTargetHandler(thing, snmpService);
+
+        thingHandler.getThing().setHandler(thingHandler);
+        thingHandler.setCallback(thingHandlerCallback);
+
+        doAnswer(answer -> {
+            ((Thing) answer.getArgument(0)).setStatusInfo(answer.getArgument(1));
+            return null;
+        }).when(thingHandlerCallback).statusUpdated(any(), any());
+        doAnswer(answer -> {
+            PDU request = answer.getArgument(0);
+            requests.add(request);
+            thingHandler.onResponse(
+                    new ResponseEvent("test", null, request, respond(request), answer.getArgument(2)));
+            return null;
+        }).when(snmpService).send(any(), any(), any(), any());
+
+        thingHandler.initialize();
+
+        waitForAssert(() -> assertEquals(ThingStatus.ONLINE, thingHandler.getThing().getStatusInfo().getStatus()));
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -142,11 +143,25 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
     private final Object upnpLock = new Object();
 
+    /**
+     * Lock serializing the polls of this player, so a poll triggered by a status change doesn't run in parallel with
+     * the scheduled one. Players are polled in parallel.
+     */
+    private final ReentrantLock pollLock = new ReentrantLock();
+
     private final Object stateLock = new Object();
 
     private final SonosStateDescriptionOptionProvider stateDescriptionProvider;
 
+    /**
+     * The polling job only covers the state which is not evented. Everything else is received through the GENA
+     * subscriptions, which the polling job sets up and renews.
+     */
     private final Runnable pollingRunnable = () -> {
+        if (!pollLock.tryLock()) {
+            logger.debug("Poll of {} is already running", getUDN());
+            return;
+        }
         try {
             logger.debug("Polling job");
 
@@ -164,18 +179,25 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // Check if the Sonos zone can be joined
             // If not, set the thing state to OFFLINE and do nothing else
-            updatePlayerState();
+            Map<String, String> zoneInfo = updatePlayerState();
             if (getThing().getStatus() != ThingStatus.ONLINE) {
                 return;
             }
 
             addSubscription();
 
-            updateZoneInfo();
+            // The zone name is evented by the DeviceProperties service, the zone info was just retrieved
+            updateZoneInfo(zoneInfo, !isSubscribed("DeviceProperties"));
+            // The LED state is not evented
             updateLed();
-            updateSleepTimerDuration();
+            // The sleep timer belongs to the group, only its start and end are evented
+            if (isCoordinator() && isSleepTimerPossiblyRunning()) {
+                updateSleepTimerDuration();
+            }
         } catch (Exception e) {
             logger.debug("Exception during poll: {}", e.getMessage(), e);
+        } finally {
+            pollLock.unlock();
         }
     };
 
@@ -524,6 +546,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
                                     ? new DecimalType(
                                             sleepStrTimeToSeconds(stateMap.get("RemainingSleepTimerDuration")))
                                     : UnDefType.UNDEF);
+                    dispatchOnAllGroupMembers(variable, value, service);
                     break;
                 case "CurrentTuneInStationId":
                     updateChannel(TUNEINSTATIONID);
@@ -848,6 +871,21 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
     }
 
+    private boolean isSubscribed(String subscription) {
+        synchronized (upnpLock) {
+            return Boolean.TRUE.equals(subscriptionState.get(subscription));
+        }
+    }
+
+    /**
+     * The start and the end of a sleep timer are evented through the SleepTimerGeneration variable of the
+     * AVTransport service, so the remaining duration only needs to be polled while a sleep timer is running.
+     */
+    private boolean isSleepTimerPossiblyRunning() {
+        return !isSubscribed("AVTransport") || !"0".equals(stateMap.get("SleepTimerGeneration"))
+                || StringUtils.isNotEmpty(stateMap.get("RemainingSleepTimerDuration"));
+    }
+
     @Override
     public void onServiceSubscribed(String service, boolean succeeded) {
         synchronized (upnpLock) {
@@ -868,7 +906,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         }
     }
 
-    private void updatePlayerState() {
+    private Map<String, String> updatePlayerState() {
         Map<String, String> result = service.invokeAction(this, "DeviceProperties", "GetZoneInfo", null);
         if (result.isEmpty()) {
             if (!ThingStatus.OFFLINE.equals(getThing().getStatus())) {
@@ -883,6 +921,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             logger.debug("Sonos player {} has been found in local network", getUDN());
             updateStatus(ThingStatus.ONLINE);
         }
+        return result;
     }
 
     protected void updateCurrentZoneName() {
@@ -936,10 +975,20 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     }
 
     protected void updateZoneInfo() {
-        Map<String, String> result = service.invokeAction(this, "DeviceProperties", "GetZoneInfo", null);
-        Map<String, String> result2 = service.invokeAction(this, "DeviceProperties", "GetZoneAttributes", null);
+        updateZoneInfo(service.invokeAction(this, "DeviceProperties", "GetZoneInfo", null), true);
+    }
 
-        result.putAll(result2);
+    /**
+     * Processes the result of a GetZoneInfo action.
+     *
+     * @param zoneInfo the result of the GetZoneInfo action
+     * @param withZoneAttributes whether the zone attributes have to be retrieved as well
+     */
+    private void updateZoneInfo(Map<String, String> zoneInfo, boolean withZoneAttributes) {
+        Map<String, String> result = new HashMap<>(zoneInfo);
+        if (withZoneAttributes) {
+            result.putAll(service.invokeAction(this, "DeviceProperties", "GetZoneAttributes", null));
+        }
 
         for (String variable : result.keySet()) {
             this.onValueReceived(variable, result.get(variable), "DeviceProperties");
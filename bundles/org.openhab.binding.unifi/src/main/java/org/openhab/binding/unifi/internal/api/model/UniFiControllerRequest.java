@@ -12,6 +12,10 @@
  */
 package org.openhab.binding.unifi.internal.api.model;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.ConnectException;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
@@ -29,8 +33,9 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpResponseException;
 import org.eclipse.jetty.client.api.ContentProvider;
-import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Response;
+import org.eclipse.jetty.client.util.InputStreamResponseListener;
 import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpScheme;
@@ -54,6 +59,8 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * The {@link UniFiControllerRequest} encapsulates a request sent by the {@link UniFiController}.
@@ -113,49 +120,78 @@ public class UniFiControllerRequest<T> {
 
     public @Nullable T execute() throws UniFiException {
         T result = null;
-        String json = getContent();
-        // mgb: only try and unmarshall non-void result types
-        if (!Void.class.equals(resultType)) {
-            JsonObject jsonObject = new JsonParser().parse(json).getAsJsonObject();
-            if (jsonObject.has(PROPERTY_DATA) && jsonObject.get(PROPERTY_DATA).isJsonArray()) {
-                result = gson.fromJson(jsonObject.getAsJsonArray(PROPERTY_DATA), resultType);
+        InputStreamResponseListener listener = new InputStreamResponseListener();
+        Response response = getResponse(listener);
+        int status = response.getStatus();
+        try (Reader content = new InputStreamReader(listener.getInputStream(), StandardCharsets.UTF_8)) {
+            switch (status) {
+                case HttpStatus.OK_200:
+                    result = readResult(status, content);
+                    break;
+                case HttpStatus.BAD_REQUEST_400:
+                    throw new UniFiInvalidCredentialsException("Invalid Credentials");
+                case HttpStatus.UNAUTHORIZED_401:
+                    throw new UniFiExpiredSessionException("Expired Credentials");
+                case HttpStatus.FORBIDDEN_403:
+                    throw new UniFiNotAuthorizedException("Unauthorized Access");
+                default:
+                    throw new UniFiException("Unknown HTTP status code " + status + " returned by the controller");
             }
+        } catch (IOException e) {
+            throw new UniFiCommunicationException(e);
         }
         return result;
     }
 
     // Private API
 
-    private String getContent() throws UniFiException {
-        String content;
-        ContentResponse response = getContentResponse();
-        int status = response.getStatus();
-        switch (status) {
-            case HttpStatus.OK_200:
-                content = response.getContentAsString();
-                if (logger.isTraceEnabled()) {
-                    logger.trace("<< {} {} \n{}", status, HttpStatus.getMessage(status), prettyPrintJson(content));
-                }
-                break;
-            case HttpStatus.BAD_REQUEST_400:
-                throw new UniFiInvalidCredentialsException("Invalid Credentials");
-            case HttpStatus.UNAUTHORIZED_401:
-                throw new UniFiExpiredSessionException("Expired Credentials");
-            case HttpStatus.FORBIDDEN_403:
-                throw new UniFiNotAuthorizedException("Unauthorized Access");
-            default:
-                throw new UniFiException("Unknown HTTP status code " + status + " returned by the controller");
+    /**
+     * Reads the result from the response content. The <code>data</code> array is deserialized while the content is
+     * streamed, so large responses (e.g. the clients of a big site) are never held as a whole in memory.
+     */
+    private @Nullable T readResult(int status, Reader content) throws IOException {
+        Reader reader = content;
+        if (Void.class.equals(resultType) || logger.isTraceEnabled()) {
+            String json = readContent(content);
+            if (logger.isTraceEnabled()) {
+                logger.trace("<< {} {} \n{}", status, HttpStatus.getMessage(status), prettyPrintJson(json));
+            }
+            // mgb: only try and unmarshall non-void result types
+            if (Void.class.equals(resultType)) {
+                return null;
+            }
+            reader = new StringReader(json);
+        }
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            if (PROPERTY_DATA.equals(jsonReader.nextName()) && jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                return gson.fromJson(jsonReader, resultType);
+            }
+            jsonReader.skipValue();
+        }
+        return null;
+    }
+
+    private static String readContent(Reader reader) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[4096];
+        int length;
+        while ((length = reader.read(buffer)) != -1) {
+            content.append(buffer, 0, length);
         }
-        return content;
+        return content.toString();
     }
 
-    private ContentResponse getContentResponse() throws UniFiException {
+    private Response getResponse(InputStreamResponseListener listener) throws UniFiException {
         Request request = newRequest();
         logger.trace(">> {} {}", request.getMethod(), request.getURI());
-        ContentResponse response;
+        request.send(listener);
+        Response response;
         try {
-            response = request.send();
+            response = listener.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
         } catch (TimeoutException | InterruptedException e) {
+            request.abort(e);
             throw new UniFiCommunicationException(e);
         } catch (ExecutionException e) {
             // mgb: unwrap the cause and try to cleanly handle it
@@ -169,13 +205,12 @@ public class UniFiControllerRequest<T> {
             } else if (cause instanceof SSLException) {
                 // cannot establish ssl connection
                 throw new UniFiSSLException(cause);
-            } else if (cause instanceof HttpResponseException
-                    && ((HttpResponseException) cause).getResponse() instanceof ContentResponse) {
+            } else if (cause instanceof HttpResponseException) {
                 // the UniFi controller violates the HTTP protocol
                 // - it returns 401 UNAUTHORIZED without the WWW-Authenticate response header
                 // - this causes an ExceptionException to be thrown
                 // - we unwrap the response from the exception for proper handling of the 401 status code
-                response = (ContentResponse) ((HttpResponseException) cause).getResponse();
+                response = ((HttpResponseException) cause).getResponse();
             } else {
                 // catch all
                 throw new UniFiException(cause);
@@ -16,6 +16,8 @@ import static org.eclipse.smarthome.core.thing.ThingStatus.*;
 import static org.eclipse.smarthome.core.types.RefreshType.REFRESH;
 
 import java.lang.reflect.ParameterizedType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -27,6 +29,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.unifi.internal.api.UniFiException;
 import org.openhab.binding.unifi.internal.api.model.UniFiController;
 import org.slf4j.Logger;
@@ -43,6 +46,9 @@ public abstract class UniFiBaseThingHandler<E, C> extends BaseThingHandler {
 
     private final Logger logger = LoggerFactory.getLogger(UniFiBaseThingHandler.class);
 
+    // last published channel states - the refresh job only publishes changed states
+    private final Map<ChannelUID, State> channelStates = new ConcurrentHashMap<>();
+
     public UniFiBaseThingHandler(Thing thing) {
         super(thing);
     }
@@ -50,6 +56,7 @@ public abstract class UniFiBaseThingHandler<E, C> extends BaseThingHandler {
     @Override
     @SuppressWarnings("unchecked")
     public final void initialize() {
+        channelStates.clear();
         Bridge bridge = getBridge();
         if (bridge == null || bridge.getHandler() == null
                 || !(bridge.getHandler() instanceof UniFiControllerThingHandler)) {
@@ -91,6 +98,8 @@ public abstract class UniFiBaseThingHandler<E, C> extends BaseThingHandler {
             if (controller != null) {
                 E entity = getEntity(controller);
                 if (entity != null) {
+                    // always publish the state after an explicit refresh or a command
+                    channelStates.remove(channelUID);
                     if (command == REFRESH) {
                         refreshChannel(entity, channelUID);
                     } else {
@@ -122,6 +131,13 @@ public abstract class UniFiBaseThingHandler<E, C> extends BaseThingHandler {
         }
     }
 
+    @Override
+    protected void updateState(ChannelUID channelUID, State state) {
+        if (!state.equals(channelStates.put(channelUID, state))) {
+            super.updateState(channelUID, state);
+        }
+    }
+
     protected abstract void initialize(@NonNull C config);
 
     protected abstract @Nullable E getEntity(UniFiController controller);
@@ -19,7 +19,8 @@ import com.microsoft.azure.sdk.iot.device.IotHubEventCallback;
 import com.microsoft.azure.sdk.iot.device.IotHubStatusCode;
 
 /**
- * This triggered in case of cloud to device communication
+ * This triggered in case of cloud to device communication. A {@link ResponseListener} context is notified of the
+ * status once the IoT Hub responded.
  *
  * @author Niko Tanghe - Initial contribution
  * @author Kai Kreuzer - code cleanup
@@ -28,14 +29,19 @@ import com.microsoft.azure.sdk.iot.device.IotHubStatusCode;
 public class AzureEventCallback implements IotHubEventCallback {
     private final Logger logger = LoggerFactory.getLogger(AzureEventCallback.class);
 
+    /**
+     * Notified of the response of the IoT Hub to a message.
+     */
+    public interface ResponseListener {
+        void responded(IotHubStatusCode status);
+    }
+
     @Override
     public void execute(IotHubStatusCode status, Object context) {
         logger.debug("IoT Hub responded to message with status {}", status.name());
 
-        if (context != null) {
-            synchronized (context) {
-                context.notify();
-            }
+        if (context instanceof ResponseListener) {
+            ((ResponseListener) context).responded(status);
         }
     }
 }
@@ -28,6 +28,7 @@ import com.google.gson.JsonObject;
 import com.microsoft.azure.eventhubs.EventData;
 import com.microsoft.azure.eventhubs.EventHubClient;
 import com.microsoft.azure.eventhubs.PartitionReceiver;
+import com.microsoft.azure.sdk.iot.device.IotHubStatusCode;
 import com.microsoft.azure.sdk.iot.device.Message;
 import com.microsoft.azure.sdk.iot.service.Device;
 import com.microsoft.azure.servicebus.ServiceBusException;
@@ -46,6 +47,9 @@ public class CloudClient {
 
     private static final String DATAPOINT_VALUE = "value";
     private static final String DATAPOINT_DEVICE_ID = "deviceId";
+    private static final int MAX_MESSAGES_IN_FLIGHT = 10;
+    // time in milliseconds after which a message without response of the IoT Hub is no longer in flight
+    private static final long SEND_TIMEOUT = 30000;
 
     private final Logger logger = LoggerFactory.getLogger(CloudClient.class);
 
@@ -55,8 +59,9 @@ public class CloudClient {
 
     private AzureDevices azureDeviceStore;
     private EventHubClient azureClient;
-    private Object lockobj = new Object();
     private Gson gson = new Gson();
+    private final ItemStateQueue itemStateQueue = new ItemStateQueue(this::sendItemState, MAX_MESSAGES_IN_FLIGHT,
+            SEND_TIMEOUT);
 
     /**
      * Constructor of CloudClient
@@ -80,24 +85,34 @@ public class CloudClient {
         }
     }
 
+    /**
+     * Queues the state update of an item, it is sent to the IoT Hub in the background.
+     *
+     * @param deviceId the item name, which is the device id on the IoT Hub
+     * @param state the new state of the item
+     */
     public void sendItemUpdate(String deviceId, String state) {
+        itemStateQueue.add(deviceId, state);
+    }
+
+    private void sendItemState(String deviceId, String state, Runnable completed) {
         AzureDevice device;
         try {
             device = azureDeviceStore.getDevice(deviceId);
         } catch (Exception e) {
             logger.error("Failed to obtain azure device", e);
+            completed.run();
             return;
         }
 
-        setItemState(device, state);
+        setItemState(device, state, completed);
     }
 
-    private void setItemState(AzureDevice azureDevice, String state) {
-        AzureEventCallback callback = new AzureEventCallback();
-
+    private void setItemState(AzureDevice azureDevice, String state, Runnable completed) {
         Device device = azureDevice.getDevice();
         if (device == null) {
             logger.error("Invalid device connection for device, can not send item state update");
+            completed.run();
             return;
         }
 
@@ -107,18 +122,22 @@ public class CloudClient {
 
         Message msg = new Message(gson.toJson(datapoint));
 
-        azureDevice.sendMessage(msg, callback, lockobj);
-
-        synchronized (lockobj) {
-            try {
-                lockobj.wait();
-            } catch (InterruptedException e) {
-                // done
+        long sentAt = System.nanoTime();
+        azureDevice.sendMessage(msg, new AzureEventCallback(), (AzureEventCallback.ResponseListener) status -> {
+            completed.run();
+            if (status != IotHubStatusCode.OK && status != IotHubStatusCode.OK_EMPTY) {
+                logger.warn("Failed to send state of {}, the IoT Hub responded with status {}", device.getDeviceId(),
+                        status);
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Sent state of {} in {} ms, {} states pending, {} states coalesced", device.getDeviceId(),
+                        (System.nanoTime() - sentAt) / 1000000, itemStateQueue.getPendingStates(),
+                        itemStateQueue.getCoalescedStates());
             }
-        }
+        });
     }
 
     public void shutdown() {
+        itemStateQueue.shutdown();
         if (azureClient != null) {
             try {
                 azureClient.closeSync();
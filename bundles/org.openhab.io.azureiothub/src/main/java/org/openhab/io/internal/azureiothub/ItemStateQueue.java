@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.internal.azureiothub;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues the item state updates to be sent to the Azure IoT Hub, so the event thread doesn't wait for the IoT Hub.
+ *
+ * The queue holds the latest state of each item only: a state replaces the pending state of the same item, so the
+ * queue never holds more entries than there are items, and a slow IoT Hub receives the latest states instead of
+ * every intermediate one. A single task hands the states to the sender, with at most a fixed number of messages
+ * waiting for the response of the IoT Hub. Messages without a response within the send timeout are no longer
+ * counted as in flight.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemStateQueue {
+
+    private static final String THREADPOOL_NAME = "azureiothub";
+
+    /**
+     * Sends the state of an item.
+     */
+    public interface Sender {
+        /**
+         * Sends the state of an item, the callback must be run when the IoT Hub responded or sending failed.
+         *
+         * @param itemName the name of the item
+         * @param state the state of the item
+         * @param completed run once the message is no longer in flight
+         */
+        void send(String itemName, String state, Runnable completed);
+    }
+
+    /**
+     * A message waiting for the response of the IoT Hub, which releases its permit only once.
+     */
+    private class InFlightMessage implements Runnable {
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            if (completed.compareAndSet(false, true)) {
+                inFlightMessages.remove(this);
+                inFlight.release();
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ItemStateQueue.class);
+
+    private final Sender sender;
+    private final Semaphore inFlight;
+    private final long sendTimeout;
+    private final Set<InFlightMessage> inFlightMessages = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = ThreadPoolManager.getPool(THREADPOOL_NAME);
+
+    private final Map<String, String> pendingStates = new LinkedHashMap<>();
+    private boolean sending = false;
+    private boolean shutdown = false;
+    private long coalescedStates = 0;
+
+    /**
+     * Constructor of ItemStateQueue
+     *
+     * @param sender the sender of the item states
+     * @param maxInFlight the maximum number of messages waiting for the response of the IoT Hub
+     * @param sendTimeout the time in milliseconds after which a message without response is no longer in flight
+     */
+    public ItemStateQueue(Sender sender, int maxInFlight, long sendTimeout) {
+        this.sender = sender;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.sendTimeout = sendTimeout;
+    }
+
+    /**
+     * Queues the state of an item, replacing a pending state of the item.
+     *
+     * @param itemName the name of the item
+     * @param state the state of the item
+     */
+    public void add(String itemName, String state) {
+        synchronized (pendingStates) {
+            if (shutdown) {
+                return;
+            }
+            if (pendingStates.put(itemName, state) != null) {
+                coalescedStates++;
+            }
+            if (!sending) {
+                sending = true;
+                executor.execute(this::sendPendingStates);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of items with a state waiting to be sent.
+     */
+    public int getPendingStates() {
+        synchronized (pendingStates) {
+            return pendingStates.size();
+        }
+    }
+
+    /**
+     * Returns the number of states which were replaced by a later state of the same item before they were sent.
+     */
+    public long getCoalescedStates() {
+        synchronized (pendingStates) {
+            return coalescedStates;
+        }
+    }
+
+    /**
+     * Stops sending, pending states are dropped.
+     */
+    public void shutdown() {
+        synchronized (pendingStates) {
+            shutdown = true;
+            pendingStates.clear();
+        }
+    }
+
+    private void sendPendingStates() {
+        while (true) {
+            synchronized (pendingStates) {
+                if (shutdown || pendingStates.isEmpty()) {
+                    sending = false;
+                    return;
+                }
+            }
+
+            // wait for a permit before taking a state, so later states of the item still replace it
+            try {
+                if (!inFlight.tryAcquire(sendTimeout, TimeUnit.MILLISECONDS)) {
+                    // no message got a response within the timeout, so none of them is waiting for one any more
+                    logger.warn("The IoT Hub did not respond to {} messages within {} ms", inFlightMessages.size(),
+                            sendTimeout);
+                    inFlightMessages.forEach(InFlightMessage::run);
+                    continue;
+                }
+            } catch (InterruptedException e) {
+                synchronized (pendingStates) {
+                    sending = false;
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            String itemName;
+            String state;
+            synchronized (pendingStates) {
+                Iterator<Entry<String, String>> iterator = pendingStates.entrySet().iterator();
+                if (shutdown || !iterator.hasNext()) {
+                    inFlight.release();
+                    sending = false;
+                    return;
+                }
+                Entry<String, String> entry = iterator.next();
+                itemName = entry.getKey();
+                state = entry.getValue();
+                iterator.remove();
+            }
+
+            InFlightMessage message = new InFlightMessage();
+            inFlightMessages.add(message);
+            try {
+                sender.send(itemName, state, message);
+            } catch (RuntimeException e) {
+                message.run();
+                logger.warn("Failed to send state of item {}", itemName, e);
+            }
+        }
+    }
+}
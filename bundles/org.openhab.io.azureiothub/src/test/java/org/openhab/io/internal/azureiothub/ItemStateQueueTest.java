@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.internal.azureiothub;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ItemStateQueue} with a stand-in transport, which responds only when told to.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemStateQueueTest {
+
+    private static final long TIMEOUT = 5000;
+
+    private static class SentState {
+        final String itemName;
+        final String state;
+        final Runnable completed;
+
+        SentState(String itemName, String state, Runnable completed) {
+            this.itemName = itemName;
+            this.state = state;
+            this.completed = completed;
+        }
+    }
+
+    private final BlockingQueue<SentState> sentStates = new LinkedBlockingQueue<>();
+    private final List<ItemStateQueue> queues = new ArrayList<>();
+
+    private ItemStateQueue createQueue(int maxInFlight, long sendTimeout) {
+        ItemStateQueue queue = new ItemStateQueue(
+                (itemName, state, completed) -> sentStates.add(new SentState(itemName, state, completed)),
+                maxInFlight, sendTimeout);
+        queues.add(queue);
+        return queue;
+    }
+
+    private SentState nextSentState() throws InterruptedException {
+        SentState sentState = sentStates.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertNotNull("no state was sent", sentState);
+        return sentState;
+    }
+
+    @After
+    public void tearDown() {
+        queues.forEach(ItemStateQueue::shutdown);
+    }
+
+    @Test
+    public void testStatesOfAnItemAreCoalescedWhileMessagesAreInFlight() throws InterruptedException {
+        ItemStateQueue queue = createQueue(1, TIMEOUT);
+
+        queue.add("item1", "1");
+        SentState first = nextSentState();
+        assertThat(first.itemName, is("item1"));
+        assertThat(first.state, is("1"));
+
+        queue.add("item1", "2");
+        queue.add("item2", "A");
+        queue.add("item1", "3");
+        assertThat(queue.getPendingStates(), is(2));
+        assertThat(queue.getCoalescedStates(), is(1L));
+        assertNull(sentStates.poll(100, TimeUnit.MILLISECONDS));
+
+        first.completed.run();
+        SentState second = nextSentState();
+        assertThat(second.itemName, is("item1"));
+        assertThat(second.state, is("3"));
+
+        second.completed.run();
+        SentState third = nextSentState();
+        assertThat(third.itemName, is("item2"));
+        assertThat(third.state, is("A"));
+    }
+
+    @Test
+    public void testMessagesWithoutResponseAreReleasedAfterTheSendTimeout() throws InterruptedException {
+        ItemStateQueue queue = createQueue(1, 200);
+
+        queue.add("item1", "1");
+        nextSentState();
+
+        // the transport never responds to the first message
+        queue.add("item2", "A");
+        SentState second = nextSentState();
+        assertThat(second.itemName, is("item2"));
+        assertThat(second.state, is("A"));
+    }
+
+    @Test
+    public void testCompletingAMessageTwiceReleasesOnePermit() throws InterruptedException {
+        ItemStateQueue queue = createQueue(1, TIMEOUT);
+
+        queue.add("item1", "1");
+        SentState first = nextSentState();
+        first.completed.run();
+        first.completed.run();
+
+        queue.add("item2", "A");
+        queue.add("item3", "B");
+        nextSentState();
+        assertNull(sentStates.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailingTransportReleasesThePermit() throws InterruptedException {
+        List<String> attempts = new ArrayList<>();
+        ItemStateQueue queue = new ItemStateQueue((itemName, state, completed) -> {
+            synchronized (attempts) {
+                attempts.add(itemName);
+                attempts.notifyAll();
+            }
+            throw new IllegalStateException("not connected");
+        }, 1, TIMEOUT);
+        queues.add(queue);
+
+        queue.add("item1", "1");
+        queue.add("item2", "A");
+        synchronized (attempts) {
+            long end = System.currentTimeMillis() + TIMEOUT;
+            while (attempts.size() < 2 && System.currentTimeMillis() < end) {
+                attempts.wait(TIMEOUT);
+            }
+            assertThat(attempts.size(), is(2));
+        }
+    }
+}
@@ -68,7 +68,8 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 Clock.systemUTC(), this::applyUpdates);
 
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getAll().stream().map(item -> new HomekitTaggedItem(item, itemRegistry))
+        itemRegistry.getAll().stream().filter(HomekitTaggedItem::isHomekitTagged)
+                .map(item -> new HomekitTaggedItem(item, itemRegistry))
                 .filter(taggedItem -> taggedItem.isAccessory())
                 .filter(taggedItem -> !taggedItem.isMemberOfAccessoryGroup())
                 .forEach(rootTaggedItem -> createRootAccessory(rootTaggedItem));
@@ -86,11 +87,15 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     /**
      * Mark an item as dirty, plus any accessory groups to which it pertains, so that after a debounce period the
-     * accessory update can be applied.
+     * accessory update can be applied. Items without Homekit tags are ignored, as they are not part of any
+     * accessory.
      *
      * @param item The item that has been changed or removed.
      */
     private synchronized void markDirty(Item item) {
+        if (!HomekitTaggedItem.isHomekitTagged(item)) {
+            return;
+        }
         pendingUpdates.add(item.getName());
         /*
          * If findMyAccessoryGroups fails because the accessory group has already been deleted, then we can count on a
@@ -116,11 +121,18 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         }
     }
 
+    /**
+     * Rebuilds the root accessories of the items changed since the last update. Every accessory added to or removed
+     * from a running bridge resets the connections of the Homekit clients, so only the accessories of the changed
+     * items are touched.
+     */
     private synchronized void applyUpdates() {
+        logger.debug("Applying updates of {} homekit items", pendingUpdates.size());
         Iterator<String> iter = pendingUpdates.iterator();
 
         while (iter.hasNext()) {
             String name = iter.next();
+            iter.remove();
             accessoryRegistry.remove(name);
 
             getItemOptional(name).map(i -> new HomekitTaggedItem(i, itemRegistry))
@@ -182,6 +182,15 @@ public class HomekitTaggedItem {
         return id;
     }
 
+    /**
+     * Returns whether or not the item is tagged as a Homekit accessory or characteristic. Only tagged items can be
+     * part of an accessory, so changes of other items don't affect the accessories.
+     */
+    public static boolean isHomekitTagged(Item item) {
+        return item.getTags().stream().anyMatch(tag -> HomekitAccessoryType.valueOfTag(tag) != null
+                || HomekitCharacteristicType.valueOfTag(tag) != null);
+    }
+
     public static List<GroupItem> findMyAccessoryGroups(Item item, ItemRegistry itemRegistry) {
         return item.getGroupNames().stream().flatMap(name -> {
             Item groupItem = itemRegistry.get(name);
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+
+import com.google.gson.Gson;
+
+/**
+ * Keeps the serialized lights of the data store for clients polling all lights every few seconds.
+ * <p>
+ * The JSON of a light only depends on the light entry and the state and label of its item. A light is serialized
+ * again if one of them changed. The response gets a new ETag only if any light changed, so clients sending
+ * "If-None-Match" receive a "Not Modified" response instead.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class LightsSnapshot {
+    private static class SerializedLight {
+        final HueLightEntry entry;
+        final GenericItem item;
+        final State state;
+        final @Nullable String label;
+        final String json;
+
+        SerializedLight(HueLightEntry entry, Gson gson) {
+            this.entry = entry;
+            this.item = entry.item;
+            this.state = item.getState();
+            this.label = item.getLabel();
+            this.json = gson.toJson(entry);
+        }
+
+        boolean isUpToDate(HueLightEntry entry) {
+            return this.entry == entry && item == entry.item && state == item.getState()
+                    && Objects.equals(label, item.getLabel());
+        }
+    }
+
+    private Map<String, SerializedLight> serializedLights = new HashMap<>();
+    // distinguishes the versions of this snapshot from those handed out before a restart
+    private final String tagPrefix = Long.toHexString(System.currentTimeMillis());
+    private long version = 0;
+    private String json = "{}";
+    private EntityTag entityTag = new EntityTag(tagPrefix);
+
+    /**
+     * Returns the lights as JSON, or "Not Modified" if the request preconditions match the current version.
+     *
+     * @param gson The gson instance with the type adapters of the hue entries
+     * @param lights The lights of the data store
+     * @param request The request, possibly containing an "If-None-Match" header
+     */
+    synchronized Response toResponse(Gson gson, Map<String, HueLightEntry> lights, Request request) {
+        update(gson, lights);
+
+        ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(json).tag(entityTag).build();
+    }
+
+    private void update(Gson gson, Map<String, HueLightEntry> lights) {
+        // a single copy, the lights of the data store may change while the response is assembled
+        Map<String, HueLightEntry> lightsCopy = new LinkedHashMap<>(lights);
+        Map<String, SerializedLight> updatedLights = new HashMap<>();
+        boolean changed = lightsCopy.size() != serializedLights.size();
+        StringBuilder builder = new StringBuilder("{");
+        for (Entry<String, HueLightEntry> light : lightsCopy.entrySet()) {
+            SerializedLight serializedLight = serializedLights.get(light.getKey());
+            if (serializedLight == null || !serializedLight.isUpToDate(light.getValue())) {
+                serializedLight = new SerializedLight(light.getValue(), gson);
+                changed = true;
+            }
+            updatedLights.put(light.getKey(), serializedLight);
+            if (builder.length() > 1) {
+                builder.append(',');
+            }
+            builder.append(gson.toJson(light.getKey())).append(':').append(serializedLight.json);
+        }
+        serializedLights = updatedLights;
+
+        if (changed || version == 0) {
+            json = builder.append('}').toString();
+            version++;
+            entityTag = new EntityTag(tagPrefix + "-" + version);
+        }
+    }
+}
@@ -18,8 +18,15 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -328,6 +335,49 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag entityTag = response.getEntityTag();
+        String body = response.readEntity(String.class);
+        assertThat(entityTag, notNullValue());
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        assertEquals(304, response.getStatus());
+
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getEntityTag(), not(entityTag));
+        assertThat(response.readEntity(String.class), not(body));
+    }
+
+    @Test
+    public void allLightsPolledByConcurrentClients() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> polls = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                polls.add(clients.submit(() -> {
+                    Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights")
+                            .request().get();
+                    assertThat(response.readEntity(String.class), containsString("\"switch\""));
+                    return response.getStatus();
+                }));
+                cs.ds.lights.get("1").item.setState(i % 2 == 0 ? OnOffType.ON : OnOffType.OFF);
+            }
+            for (Future<Integer> poll : polls) {
+                assertEquals(200, poll.get().intValue());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
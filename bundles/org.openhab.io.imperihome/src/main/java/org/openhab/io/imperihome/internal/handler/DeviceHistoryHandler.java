@@ -13,17 +13,21 @@
 package org.openhab.io.imperihome.internal.handler;
 
 import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
@@ -38,6 +42,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Device history request handler.
+ * <p>
+ * The requested range is divided into a fixed number of buckets. Each bucket is served as its minimum and maximum
+ * value, computed while iterating the persistence results, so the response size does not depend on the number of
+ * persisted values. Recent responses are cached by device, field and range aligned to the bucket width.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -45,11 +53,28 @@ public class DeviceHistoryHandler {
 
     private static final String CHARSET = "UTF-8";
 
+    /** Number of buckets the requested range is divided into */
+    private static final int HISTORY_BUCKETS = 500;
+    private static final long MIN_BUCKET_WIDTH = TimeUnit.SECONDS.toMillis(1);
+
+    private static final int CACHE_SIZE = 20;
+    private static final long CACHE_TTL = TimeUnit.MINUTES.toMillis(1);
+
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
 
+    private final Map<String, CachedHistory> historyCache = new LinkedHashMap<String, CachedHistory>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedHistory> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
@@ -85,39 +110,130 @@ public class DeviceHistoryHandler {
             return null;
         }
 
-        return serveHistory(device, (QueryablePersistenceService) persistence, start, end);
+        return serveHistory(device, field, (QueryablePersistenceService) persistence, start, end);
     }
 
-    private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
-            long end) {
+    private HistoryList serveHistory(AbstractDevice device, String field, QueryablePersistenceService persistence,
+            long start, long end) {
+        long bucketWidth = getBucketWidth(start, end);
+        long alignedStart = Math.floorDiv(start, bucketWidth) * bucketWidth;
+        long alignedEnd = (Math.floorDiv(end, bucketWidth) + 1) * bucketWidth - 1;
+
+        String cacheKey = device.getId() + '/' + field + '/' + alignedStart + '/' + alignedEnd;
+        long now = System.currentTimeMillis();
+        synchronized (historyCache) {
+            CachedHistory cached = historyCache.get(cacheKey);
+            if (cached != null && now - cached.created < CACHE_TTL) {
+                logger.debug("Serving cached history of Item {}, from {} to {}", device.getItemName(), alignedStart,
+                        alignedEnd);
+                return cached.history;
+            }
+        }
+
+        HistoryList history = queryHistory(device, persistence, alignedStart, alignedEnd, bucketWidth);
+        synchronized (historyCache) {
+            historyCache.put(cacheKey, new CachedHistory(history, now));
+        }
+        return history;
+    }
+
+    private HistoryList queryHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
+            long end, long bucketWidth) {
         logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
 
         FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName()).setBeginDate(new Date(start))
-                .setEndDate(new Date(end));
-
-        List<HistoryItem> resultItems = new LinkedList<>();
-        Iterable<HistoricItem> historicItems = persistence.query(criteria);
+                .setEndDate(new Date(end)).setOrdering(Ordering.ASCENDING);
+
+        List<HistoryItem> resultItems = new ArrayList<>();
+        Bucket bucket = new Bucket();
+        long currentBucket = -1;
+        int count = 0;
+        int decimalCount = 0;
+
+        for (HistoricItem historicItem : persistence.query(criteria)) {
+            count++;
+            State state = historicItem.getState();
+            if (state instanceof DecimalType) {
+                decimalCount++;
+                long date = historicItem.getTimestamp().getTime();
+                long bucketIndex = Math.floorDiv(date - start, bucketWidth);
+                if (bucketIndex != currentBucket) {
+                    bucket.addTo(resultItems);
+                    currentBucket = bucketIndex;
+                }
+                bucket.add(date, ((DecimalType) state).toBigDecimal());
+            }
+        }
+        bucket.addTo(resultItems);
 
-        Iterator<HistoricItem> iterator = historicItems.iterator();
-        if (!iterator.hasNext()) {
+        if (count == 0) {
             logger.info("Persistence returned no results for history query");
+        } else if (decimalCount == 0) {
+            logger.warn("Persistence returned results for history query, but could not be interpreted as DecimalTypes");
         } else {
-            while (iterator.hasNext()) {
-                HistoricItem historicItem = iterator.next();
-                State state = historicItem.getState();
-                if (state instanceof DecimalType) {
-                    Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp(), value));
-                }
+            logger.debug("Downsampled {} persisted values of Item {} to {} values", decimalCount,
+                    device.getItemName(), resultItems.size());
+        }
+
+        return new HistoryList(resultItems);
+    }
+
+    private long getBucketWidth(long start, long end) {
+        long width = Math.max(MIN_BUCKET_WIDTH, (end - start) / HISTORY_BUCKETS + 1);
+        // round to whole seconds, so repeated requests for about the same range share the cached response
+        return (width + MIN_BUCKET_WIDTH - 1) / MIN_BUCKET_WIDTH * MIN_BUCKET_WIDTH;
+    }
+
+    /**
+     * Minimum and maximum of the values within a bucket.
+     */
+    private static class Bucket {
+        private int count;
+        private long minDate;
+        private BigDecimal minValue;
+        private long maxDate;
+        private BigDecimal maxValue;
+
+        void add(long date, BigDecimal value) {
+            if (count == 0 || value.compareTo(minValue) < 0) {
+                minDate = date;
+                minValue = value;
             }
+            if (count == 0 || value.compareTo(maxValue) > 0) {
+                maxDate = date;
+                maxValue = value;
+            }
+            count++;
+        }
 
-            if (resultItems.isEmpty()) {
-                logger.warn(
-                        "Persistence returned results for history query, but could not be interpreted as DecimalTypes");
+        /**
+         * Adds the minimum and maximum in chronological order to the result and resets the bucket.
+         */
+        void addTo(List<HistoryItem> resultItems) {
+            if (count == 0) {
+                return;
             }
+            if (minDate == maxDate) {
+                resultItems.add(new HistoryItem(minDate, minValue));
+            } else if (minDate < maxDate) {
+                resultItems.add(new HistoryItem(minDate, minValue));
+                resultItems.add(new HistoryItem(maxDate, maxValue));
+            } else {
+                resultItems.add(new HistoryItem(maxDate, maxValue));
+                resultItems.add(new HistoryItem(minDate, minValue));
+            }
+            count = 0;
         }
+    }
 
-        return new HistoryList(resultItems);
+    private static class CachedHistory {
+        private final HistoryList history;
+        private final long created;
+
+        CachedHistory(HistoryList history, long created) {
+            this.history = history;
+            this.created = created;
+        }
     }
 
 }
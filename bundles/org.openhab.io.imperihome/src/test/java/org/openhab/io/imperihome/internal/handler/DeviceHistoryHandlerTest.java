@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2019 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
+import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
+import org.eclipse.smarthome.core.types.State;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+import org.openhab.io.imperihome.internal.model.HistoryList;
+import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
+import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
+
+/**
+ * Tests the downsampling of the {@link DeviceHistoryHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DeviceHistoryHandlerTest {
+
+    private static final Pattern URL_PATTERN = Pattern.compile("/devices/(.+)/(.+)/histo/(\\d+)/(\\d+)");
+
+    // 500 buckets over this range are rounded up to a bucket width of 2 seconds
+    private static final long RANGE_END = 500000;
+
+    private final List<HistoricItem> persistedItems = new ArrayList<>();
+
+    private QueryablePersistenceService persistence;
+    private DeviceHistoryHandler handler;
+
+    @Before
+    public void setUp() {
+        AbstractDevice device = mock(AbstractDevice.class);
+        when(device.getId()).thenReturn("device1");
+        when(device.getItemName()).thenReturn("Temperature");
+        DeviceRegistry deviceRegistry = mock(DeviceRegistry.class);
+        when(deviceRegistry.getDevice("device1")).thenReturn(device);
+
+        persistence = mock(QueryablePersistenceService.class);
+        when(persistence.query(any(FilterCriteria.class))).thenReturn(persistedItems);
+        PersistenceServiceRegistry persistenceServiceRegistry = mock(PersistenceServiceRegistry.class);
+        when(persistenceServiceRegistry.getDefault()).thenReturn(persistence);
+
+        handler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry);
+    }
+
+    @Test
+    public void testBucketsAreServedAsMinimumAndMaximum() {
+        // first bucket: the minimum precedes the maximum
+        persist(100, new DecimalType(5));
+        persist(500, new DecimalType(1));
+        persist(900, new DecimalType(9));
+        persist(1500, new DecimalType(3));
+        // second bucket: a single value
+        persist(2500, new DecimalType(4));
+        // third bucket: the maximum precedes the minimum, other states are ignored
+        persist(4100, new DecimalType(8));
+        persist(4150, OnOffType.ON);
+        persist(4200, new DecimalType(2));
+
+        HistoryList history = request(0, RANGE_END);
+
+        assertHistory(history, 500, 1, 900, 9, 2500, 4, 4100, 8, 4200, 2);
+    }
+
+    @Test
+    public void testManyValuesAreDownsampled() {
+        for (long date = 0; date <= RANGE_END; date += 100) {
+            persist(date, new DecimalType(date % 1000));
+        }
+
+        HistoryList history = request(0, RANGE_END);
+
+        // the minimum and maximum of each of the 251 buckets, the last one holding a single value
+        assertEquals(2 * 250 + 1, history.getValues().size());
+        for (HistoryItem item : history.getValues()) {
+            long value = item.getValue().longValue();
+            assertTrue(value == 0 || value == 900);
+        }
+    }
+
+    @Test
+    public void testAlignedRangesShareTheCachedHistory() {
+        persist(100, new DecimalType(5));
+
+        HistoryList first = request(0, RANGE_END);
+        HistoryList second = request(1, RANGE_END + 1);
+
+        assertSame(first, second);
+        verify(persistence, times(1)).query(any(FilterCriteria.class));
+    }
+
+    private void persist(long date, State state) {
+        HistoricItem item = mock(HistoricItem.class);
+        when(item.getTimestamp()).thenReturn(new Date(date));
+        when(item.getState()).thenReturn(state);
+        persistedItems.add(item);
+    }
+
+    private HistoryList request(long start, long end) {
+        Matcher matcher = URL_PATTERN.matcher("/devices/device1/Value/histo/" + start + "/" + end);
+        assertTrue(matcher.matches());
+        return handler.handle(mock(HttpServletRequest.class), matcher);
+    }
+
+    private static void assertHistory(HistoryList history, long... datesAndValues) {
+        List<HistoryItem> values = history.getValues();
+        assertEquals(datesAndValues.length / 2, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(datesAndValues[2 * i], values.get(i).getDate());
+            assertEquals(datesAndValues[2 * i + 1], values.get(i).getValue().longValue());
+        }
+    }
+}
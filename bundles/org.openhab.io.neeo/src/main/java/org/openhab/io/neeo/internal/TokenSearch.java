@@ -13,17 +13,23 @@
 package org.openhab.io.neeo.internal;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
 import org.eclipse.smarthome.core.thing.type.ThingType;
 import org.openhab.io.neeo.internal.models.NeeoDevice;
 import org.openhab.io.neeo.internal.models.TokenScore;
@@ -34,10 +40,15 @@ import org.slf4j.LoggerFactory;
  * The class emulates the same search pattern that the NEEO brain uses (https://github.com/neophob/tokensearch.js) on
  * all the exposed things in the registry.
  *
+ * The exposed devices and the tokens of their searchable fields (name, binding, location, vendor, thing type and
+ * binding label) are kept in an inverted index, so a query only scores each distinct token once instead of looking up
+ * and scanning every device. The index is rebuilt after the thing, item or link registry or the device definitions
+ * changed. The device scores of recent search terms are cached, as the brain searches while the user is typing.
+ *
  * @author Tim Roberts - Initial Contribution
  */
 @NonNullByDefault
-public class TokenSearch {
+public class TokenSearch implements AutoCloseable {
 
     private final Logger logger = LoggerFactory.getLogger(TokenSearch.class);
 
@@ -53,8 +64,23 @@ public class TokenSearch {
     /** The delimiter used to split search terms */
     private static final char DELIMITER = ' ';
 
+    /** The maximum number of search terms the device scores are cached for */
+    private static final int MAX_CACHED_NEEDLES = 100;
+
+    /** The number of registry changes, the index is out of date if it was built for another number */
+    private final AtomicInteger registryChanges = new AtomicInteger();
+
+    /** The listeners counting the registry changes */
+    private final RegistryChangeListener<Thing> thingListener = new ChangeCounter<>();
+    private final RegistryChangeListener<Item> itemListener = new ChangeCounter<>();
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new ChangeCounter<>();
+
+    /** The current index, null until the first search */
+    private volatile @Nullable Index index;
+
     /**
-     * Instantiates a new token search based on the {@link ServiceContext} and threshold
+     * Instantiates a new token search based on the {@link ServiceContext} and threshold. The token search listens to
+     * registry changes until it is closed.
      *
      * @param context the non-null context
      * @param threshold the threshold between 0 and 1
@@ -79,6 +105,10 @@ public class TokenSearch {
             }
         }
         this.searchLimit = searchLimit;
+
+        context.getThingRegistry().addRegistryChangeListener(thingListener);
+        context.getItemRegistry().addRegistryChangeListener(itemListener);
+        context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
     }
 
     /**
@@ -90,94 +120,120 @@ public class TokenSearch {
     public Result search(String query) {
         NeeoUtil.requireNotEmpty(query, "query cannot be empty");
 
-        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
+        final Index localIndex = getIndex();
+        final int[] scores = new int[localIndex.devices.size()];
+        for (String needle : StringUtils.split(query, DELIMITER)) {
+            final int[] needleScores = localIndex.getScores(needle);
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] += needleScores[i];
+            }
+        }
 
-        final String[] needles = StringUtils.split(query, DELIMITER);
+        final List<TokenScore<NeeoDevice>> results = new ArrayList<>();
         int maxScore = -1;
 
-        for (NeeoDevice device : context.getDefinitions().getExposed()) {
-            int score = search(device.getName(), needles);
-            score += search("openhab", needles);
-            // score += searchAlgorithm(thing.getLocation(), needles);
-            score += search(device.getUid().getBindingId(), needles);
-
-            final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
-            if (thing != null) {
-                final String location = thing.getLocation();
-                if (location != null && StringUtils.isNotEmpty(location)) {
-                    score += search(location, needles);
-                }
-
-                final Map<@NonNull String, String> properties = thing.getProperties();
-                final String vendor = properties.get(Thing.PROPERTY_VENDOR);
-                if (StringUtils.isNotEmpty(vendor)) {
-                    score += search(vendor, needles);
-                }
-
-                final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
-                if (tt != null) {
-                    score += search(tt.getLabel(), needles);
+        for (int i = 0; i < scores.length; i++) {
+            maxScore = Math.max(maxScore, scores[i]);
+            results.add(new TokenScore<>(scores[i], localIndex.devices.get(i)));
+        }
 
-                    final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
-                    if (bi != null) {
-                        score += search(bi.getName(), needles);
-                    }
-                }
-            }
+        return new Result(applyThreshold(results, maxScore, threshold), maxScore);
+    }
 
-            maxScore = Math.max(maxScore, score);
+    /**
+     * Stops listening to registry changes
+     */
+    @Override
+    public void close() {
+        context.getThingRegistry().removeRegistryChangeListener(thingListener);
+        context.getItemRegistry().removeRegistryChangeListener(itemListener);
+        context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
+        index = null;
+    }
 
-            results.add(new TokenScore<>(score, device));
+    /**
+     * Returns the index of the exposed devices, rebuilding it if the registries or definitions have changed since it
+     * was built
+     *
+     * @return the non-null index
+     */
+    private Index getIndex() {
+        final int changes = registryChanges.get();
+        final int definitionChanges = context.getDefinitions().getModificationCount();
+
+        Index localIndex = index;
+        if (localIndex == null || localIndex.registryChanges != changes
+                || localIndex.definitionChanges != definitionChanges) {
+            localIndex = new Index(context.getDefinitions().getExposed(), changes, definitionChanges);
+            index = localIndex;
+            logger.debug("Indexed {} tokens of {} exposed devices", localIndex.postings.size(),
+                    localIndex.devices.size());
         }
-
-        return new Result(applyThreshold(results, maxScore, threshold), maxScore);
+        return localIndex;
     }
 
     /**
-     * Search the 'haystack' for the needles. The 'haystack' will be broken up by delimiter and each part will be
-     * compared to the needles array and the resulting score summation returned.
+     * Returns the searchable fields of a device
      *
-     * @param haystack the search term
-     * @param needles the items to search
-     * @return the score of the match
+     * @param device the non-null device
+     * @return the non-null list of field values
      */
-    private int search(String haystack, String[] needles) {
-        return Arrays.stream(StringUtils.split(haystack, DELIMITER)).mapToInt(hs -> searchAlgorithm(hs, needles)).sum();
+    private List<String> getHaystacks(NeeoDevice device) {
+        final List<String> haystacks = new ArrayList<>();
+        haystacks.add(device.getName());
+        haystacks.add("openhab");
+        haystacks.add(device.getUid().getBindingId());
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            final String location = thing.getLocation();
+            if (location != null && StringUtils.isNotEmpty(location)) {
+                haystacks.add(location);
+            }
+
+            final Map<@NonNull String, String> properties = thing.getProperties();
+            final String vendor = properties.get(Thing.PROPERTY_VENDOR);
+            if (StringUtils.isNotEmpty(vendor)) {
+                haystacks.add(vendor);
+            }
+
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                haystacks.add(tt.getLabel());
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    haystacks.add(bi.getName());
+                }
+            }
+        }
+        return haystacks;
     }
 
     /**
-     * The search algorithm (lifted from tokensearch.js)
+     * The search algorithm (lifted from tokensearch.js) for a single needle
      *
      * @param haystack the search term
-     * @param needles the items to search
+     * @param needle the item to search
      * @return the score of the match
      */
-    private int searchAlgorithm(String haystack, String[] needles) {
-        Objects.requireNonNull(needles, "needles cannot be null");
-
-        int score = 0;
-
-        int arrayLength = needles.length;
-        for (int i = 0; i < arrayLength; i++) {
-            String needle = needles[i];
-            int stringPos = StringUtils.indexOfIgnoreCase(haystack, needle);
-            int tokenScore = 0;
-            if (stringPos > -1) {
-                if (needle.length() < 2) {
-                    tokenScore = 1;
+    private static int searchAlgorithm(String haystack, String needle) {
+        int stringPos = StringUtils.indexOfIgnoreCase(haystack, needle);
+        int tokenScore = 0;
+        if (stringPos > -1) {
+            if (needle.length() < 2) {
+                tokenScore = 1;
+            } else {
+                if (StringUtils.equalsIgnoreCase(haystack, needle)) {
+                    tokenScore = 6;
+                } else if (stringPos == 0) {
+                    tokenScore = 2;
                 } else {
-                    if (StringUtils.equalsIgnoreCase(haystack, needle)) {
-                        tokenScore = 6;
-                    } else if (stringPos == 0) {
-                        tokenScore = 2;
-                    } else {
-                        tokenScore = 1;
-                    }
+                    tokenScore = 1;
                 }
             }
-            score += tokenScore;
         }
-        return score;
+        return tokenScore;
     }
 
     /**
@@ -206,6 +262,91 @@ public class TokenSearch {
         return results.stream().sorted().limit(searchLimit).collect(Collectors.toList());
     }
 
+    /**
+     * Counts any change of a registry
+     */
+    private class ChangeCounter<E> implements RegistryChangeListener<E> {
+        @Override
+        public void added(E element) {
+            registryChanges.incrementAndGet();
+        }
+
+        @Override
+        public void removed(E element) {
+            registryChanges.incrementAndGet();
+        }
+
+        @Override
+        public void updated(E oldElement, E element) {
+            registryChanges.incrementAndGet();
+        }
+    }
+
+    /**
+     * An inverted index from the tokens of the searchable fields to the exposed devices
+     */
+    private class Index {
+        /** The exposed devices */
+        private final List<NeeoDevice> devices;
+
+        /** The position of every device containing the token, once for each time the token occurs in its fields */
+        private final Map<String, int[]> postings = new HashMap<>();
+
+        /** The score of each device by search term */
+        private final Map<String, int[]> needleScores = new ConcurrentHashMap<>();
+
+        /** The registry changes and definition changes the index was built for */
+        private final int registryChanges;
+        private final int definitionChanges;
+
+        private Index(List<NeeoDevice> devices, int registryChanges, int definitionChanges) {
+            this.devices = devices;
+            this.registryChanges = registryChanges;
+            this.definitionChanges = definitionChanges;
+
+            final Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < devices.size(); i++) {
+                for (String haystack : getHaystacks(devices.get(i))) {
+                    for (String token : StringUtils.split(haystack, DELIMITER)) {
+                        positions.computeIfAbsent(token, k -> new ArrayList<>()).add(i);
+                    }
+                }
+            }
+            positions.forEach(
+                    (token, list) -> postings.put(token, list.stream().mapToInt(Integer::intValue).toArray()));
+        }
+
+        /**
+         * Returns the score of each device for the search term. Each distinct token is scored once and the score is
+         * added to all devices containing the token.
+         *
+         * @param needle the non-empty search term
+         * @return the scores in the order of {@link #devices}
+         */
+        private int[] getScores(String needle) {
+            final int[] cached = needleScores.get(needle);
+            if (cached != null) {
+                return cached;
+            }
+
+            final int[] scores = new int[devices.size()];
+            for (Map.Entry<String, int[]> posting : postings.entrySet()) {
+                final int tokenScore = searchAlgorithm(posting.getKey(), needle);
+                if (tokenScore > 0) {
+                    for (int position : posting.getValue()) {
+                        scores[position] += tokenScore;
+                    }
+                }
+            }
+
+            if (needleScores.size() >= MAX_CACHED_NEEDLES) {
+                needleScores.clear();
+            }
+            needleScores.put(needle, scores);
+            return scores;
+        }
+    }
+
     /**
      * The results of a token search. The return list of devices will be filtered by those below the threshold and
      * limited to certain size (10 by default)
@@ -20,11 +20,13 @@ import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.client.HttpClient;
@@ -37,11 +39,12 @@ import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.openhab.core.OpenHAB;
@@ -67,6 +70,30 @@ import io.socket.engineio.client.Transport;
  */
 
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Response header of the openHAB Cloud listing the optional messages it accepts, separated by commas
+     */
+    private static final String FEATURES_HEADER = "features";
+    private static final String FEATURE_ITEM_UPDATES = "itemupdates";
+
+    /*
+     * Response content is sent to the openHAB Cloud in frames of up to this size, smaller responses get a frame of
+     * their size
+     */
+    private static final int CONTENT_FRAME_SIZE = 64 * 1024;
+
+    /*
+     * Time content is held back to fill a frame, streamed responses are delayed by no more than this
+     */
+    private static final long CONTENT_FLUSH_DELAY_MS = 10;
+
+    /*
+     * Maximum number of requests to local openHAB which are running at the same time
+     */
+    private static final int MAX_RUNNING_REQUESTS = 100;
+
     /*
      * Logger for this class
      */
@@ -100,7 +127,7 @@ public class CloudClient {
     /*
      * This hashmap holds HTTP requests to local openHAB which are currently running
      */
-    private HashMap<Integer, Request> runningRequests;
+    private Map<Integer, Request> runningRequests;
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -131,6 +158,25 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * Time item updates are collected before they are sent, 0 sends every update immediately
+     */
+    private int itemUpdateInterval;
+
+    /*
+     * The openHAB Cloud announced it accepts the collected item updates in a single itemupdates message, otherwise
+     * one itemupdate message is sent per item
+     */
+    private volatile boolean itemUpdateBatching;
+
+    /*
+     * The latest state of each item with an update waiting to be sent, in the order the items were first updated
+     */
+    private final Map<String, String> pendingItemUpdates = new LinkedHashMap<>();
+    private ScheduledFuture<?> itemUpdateFlushJob;
+    private long receivedItemUpdates = 0;
+    private long sentItemUpdates = 0;
+
     /**
      * Constructor of CloudClient
      *
@@ -147,7 +193,7 @@ public class CloudClient {
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<Integer, Request>();
+        runningRequests = new ConcurrentHashMap<Integer, Request>();
         this.jettyClient = httpClient;
     }
 
@@ -183,6 +229,18 @@ public class CloudClient {
                         headers.put("remoteaccess", Arrays.asList(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_RESPONSE_HEADERS, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        logger.trace("Transport.EVENT_RESPONSE_HEADERS");
+                        @SuppressWarnings("unchecked")
+                        Map<String, List<String>> headers = (Map<String, List<String>>) args[0];
+                        if (!itemUpdateBatching && supportsFeature(headers, FEATURE_ITEM_UPDATES)) {
+                            logger.debug("openHAB Cloud supports batched item updates");
+                            itemUpdateBatching = true;
+                        }
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -241,6 +299,8 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid,
                 this.localBaseUrl);
         isConnected = false;
+        // the server announces its features again on the next connection
+        itemUpdateBatching = false;
         // And clean up the list of running requests
         if (runningRequests != null) {
             runningRequests.clear();
@@ -281,6 +341,15 @@ public class CloudClient {
             // Get unique request Id
             int requestId = data.getInt("id");
             logger.debug("Got request {}", requestId);
+            if (runningRequests.size() >= MAX_RUNNING_REQUESTS) {
+                logger.warn("Rejecting request {}, {} requests are already running", requestId,
+                        runningRequests.size());
+                JSONObject responseJson = new JSONObject();
+                responseJson.put("id", requestId);
+                responseJson.put("responseStatusText", "openHAB connection error: too many concurrent requests");
+                socket.emit("responseError", responseJson);
+                return;
+            }
             // Get request path
             String requestPath = data.getString("path");
             // Get request method
@@ -293,22 +362,21 @@ public class CloudClient {
             // Get JSONObject for request query parameters
             JSONObject requestQueryJson = data.getJSONObject("query");
             // Create URI builder with base request URI of openHAB and path from request
-            String newPath = URIUtil.addPaths(localBaseUrl, requestPath);
+            StringBuilder newPath = new StringBuilder(URIUtil.addPaths(localBaseUrl, requestPath));
             @SuppressWarnings("unchecked")
             Iterator<String> queryIterator = requestQueryJson.keys();
             // Add query parameters to URI builder, if any
-            newPath += "?";
+            newPath.append('?');
             while (queryIterator.hasNext()) {
                 String queryName = queryIterator.next();
-                newPath += queryName;
-                newPath += "=";
-                newPath += URLEncoder.encode(requestQueryJson.getString(queryName), "UTF-8");
+                newPath.append(queryName).append('=')
+                        .append(URLEncoder.encode(requestQueryJson.getString(queryName), "UTF-8"));
                 if (queryIterator.hasNext()) {
-                    newPath += "&";
+                    newPath.append('&');
                 }
             }
             // Finally get the future request URI
-            URI requestUri = new URI(newPath);
+            URI requestUri = new URI(newPath.toString());
             // All preparations which are common for different methods are done
             // Now perform the request to openHAB
             // If method is GET
@@ -476,21 +544,93 @@ public class CloudClient {
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
-            JSONObject itemUpdateMessage = new JSONObject();
-            try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
-                socket.emit("itemupdate", itemUpdateMessage);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
-            }
-        } else {
+        if (!isConnected()) {
             logger.debug("No connection, Item update is not sent");
+            return;
+        }
+        if (itemUpdateInterval <= 0) {
+            emitItemUpdate(itemName, itemState);
+            return;
+        }
+        synchronized (pendingItemUpdates) {
+            // only the latest state of an item is sent, it replaces a state still waiting to be sent
+            pendingItemUpdates.put(itemName, itemState);
+            receivedItemUpdates++;
+            if (itemUpdateFlushJob == null) {
+                itemUpdateFlushJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD)
+                        .schedule(this::flushItemUpdates, itemUpdateInterval, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
+    private void flushItemUpdates() {
+        Map<String, String> itemUpdates;
+        synchronized (pendingItemUpdates) {
+            itemUpdateFlushJob = null;
+            if (pendingItemUpdates.isEmpty()) {
+                return;
+            }
+            itemUpdates = new LinkedHashMap<>(pendingItemUpdates);
+            pendingItemUpdates.clear();
+            sentItemUpdates += itemUpdates.size();
+            logger.debug("Sending {} item updates, {} of {} received item updates were coalesced", itemUpdates.size(),
+                    receivedItemUpdates - sentItemUpdates, receivedItemUpdates);
+        }
+        if (!isConnected()) {
+            logger.debug("No connection, {} item updates are not sent", itemUpdates.size());
+            return;
+        }
+        if (!itemUpdateBatching) {
+            itemUpdates.forEach(this::emitItemUpdate);
+            return;
+        }
+        try {
+            JSONArray updates = new JSONArray();
+            for (Map.Entry<String, String> itemUpdate : itemUpdates.entrySet()) {
+                updates.put(createItemUpdateMessage(itemUpdate.getKey(), itemUpdate.getValue()));
+            }
+            JSONObject itemUpdatesMessage = new JSONObject();
+            itemUpdatesMessage.put("updates", updates);
+            socket.emit("itemupdates", itemUpdatesMessage);
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
+        logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        try {
+            socket.emit("itemupdate", createItemUpdateMessage(itemName, itemState));
+        } catch (JSONException e) {
+            logger.debug("{}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns true if the openHAB Cloud lists the feature in the features header of its response
+     */
+    private static boolean supportsFeature(Map<String, List<String>> headers, String feature) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (FEATURES_HEADER.equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+                for (String features : header.getValue()) {
+                    for (String supportedFeature : features.split(",")) {
+                        if (feature.equals(supportedFeature.trim())) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private JSONObject createItemUpdateMessage(String itemName, String itemState) throws JSONException {
+        JSONObject itemUpdateMessage = new JSONObject();
+        itemUpdateMessage.put("itemName", itemName);
+        itemUpdateMessage.put("itemStatus", itemState);
+        return itemUpdateMessage;
+    }
+
     /**
      * Returns true if openHAB Cloud connection is active
      */
@@ -503,6 +643,13 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        synchronized (pendingItemUpdates) {
+            if (itemUpdateFlushJob != null) {
+                itemUpdateFlushJob.cancel(false);
+                itemUpdateFlushJob = null;
+            }
+            pendingItemUpdates.clear();
+        }
         socket.disconnect();
     }
 
@@ -514,6 +661,16 @@ public class CloudClient {
         this.openHABVersion = openHABVersion;
     }
 
+    /**
+     * Configures how item updates are sent to the openHAB Cloud
+     *
+     * @param itemUpdateInterval time in milliseconds item updates are collected and only the latest state of each
+     *            item is sent, 0 sends every update immediately
+     */
+    public void setItemUpdateInterval(int itemUpdateInterval) {
+        this.itemUpdateInterval = itemUpdateInterval;
+    }
+
     public void setListener(CloudClientListener listener) {
         this.listener = listener;
     }
@@ -524,14 +681,29 @@ public class CloudClient {
     private class ResponseListener
             implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
 
+        // the frame collecting the response content, handed over to the socket when it is full
+        private byte[] mContentFrame;
+        private int mContentLength = 0;
+        // the length of the response content according to its headers, -1 if unknown
+        private long mExpectedContent = -1;
+        private long mSentContent = 0;
+        private ScheduledFuture<?> mFlushJob;
+
         public ResponseListener(int requestId) {
             mRequestId = requestId;
         }
 
+        private synchronized void setExpectedContent(HttpFields httpFields) {
+            try {
+                mExpectedContent = httpFields.getLongField(HttpHeader.CONTENT_LENGTH.asString());
+            } catch (NumberFormatException e) {
+                mExpectedContent = -1;
+            }
+        }
+
         private JSONObject getJSONHeaders(HttpFields httpFields) {
             JSONObject headersJSON = new JSONObject();
             try {
@@ -561,6 +733,8 @@ public class CloudClient {
                 }
             }
 
+            flushContent();
+
             /**
              * What is this? In some cases where latency is very low the myopenhab service
              * can receive responseFinished before the headers or content are received and I
@@ -591,14 +765,72 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public synchronized void onContent(Response response, ByteBuffer content) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+            while (content.hasRemaining()) {
+                ensureContentFrame(mContentLength + content.remaining());
+                int length = Math.min(content.remaining(), mContentFrame.length - mContentLength);
+                content.get(mContentFrame, mContentLength, length);
+                mContentLength += length;
+                // a frame of unknown content only is full at the maximum size, it grows up to it otherwise
+                if (mContentLength == mContentFrame.length
+                        && (mContentLength == CONTENT_FRAME_SIZE || mExpectedContent >= 0)) {
+                    sendContent();
+                }
+            }
+            // Send the remaining content if no more content arrives soon, e.g. for streamed responses
+            if (mContentLength > 0 && mFlushJob == null) {
+                mFlushJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(this::flushContent,
+                        CONTENT_FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /**
+         * Makes room for the required content in the frame. The frame is sized for the content still expected, or
+         * doubled if the length of the content is unknown, but it never gets larger than {@link #CONTENT_FRAME_SIZE}.
+         */
+        private void ensureContentFrame(int required) {
+            if (mContentFrame != null && mContentFrame.length >= Math.min(required, CONTENT_FRAME_SIZE)) {
+                return;
+            }
+            long size = required;
+            if (mExpectedContent >= 0) {
+                size = Math.max(size, mExpectedContent - mSentContent);
+            } else if (mContentFrame != null) {
+                size = Math.max(size, 2L * mContentFrame.length);
+            }
+            size = Math.min(size, CONTENT_FRAME_SIZE);
+            mContentFrame = mContentFrame == null ? new byte[(int) size] : Arrays.copyOf(mContentFrame, (int) size);
+        }
+
+        private synchronized void flushContent() {
+            if (mFlushJob != null) {
+                mFlushJob.cancel(false);
+                mFlushJob = null;
+            }
+            if (mContentLength > 0) {
+                sendContent();
+            }
+        }
+
+        private void sendContent() {
+            byte[] body;
+            if (mContentLength == mContentFrame.length) {
+                // the socket keeps the full frame, so a new one is needed for the next content
+                body = mContentFrame;
+                mContentFrame = null;
+            } else {
+                body = Arrays.copyOf(mContentFrame, mContentLength);
+            }
+            mSentContent += mContentLength;
+            mContentLength = 0;
+
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", body);
                 socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
+                logger.debug("Sent content of size {} to request {}", body.length, mRequestId);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
             }
@@ -608,6 +840,7 @@ public class CloudClient {
         public void onHeaders(Response response) {
             if (!mHeadersSent) {
                 logger.debug("Jetty finished receiving response header");
+                setExpectedContent(response.getHeaders());
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
                 try {
@@ -82,6 +82,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
     private static final String CFG_EXPOSE = "expose";
     private static final String CFG_BASE_URL = "baseURL";
     private static final String CFG_MODE = "mode";
+    private static final String CFG_ITEM_UPDATE_INTERVAL = "itemUpdateInterval";
     private static final String SECRET_FILE_NAME = "openhabcloud" + File.separator + "secret";
     private static final String DEFAULT_URL = "https://myopenhab.org/";
     private static final int DEFAULT_LOCAL_OPENHAB_MAX_CONCURRENT_REQUESTS = 200;
@@ -99,6 +100,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
 
     private boolean remoteAccessEnabled = true;
     private Set<String> exposedItems = null;
+    private int itemUpdateInterval = 0;
     private int localPort;
 
     public CloudService() {
@@ -218,6 +220,16 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
             }
         }
 
+        Object intervalCfg = config.get(CFG_ITEM_UPDATE_INTERVAL);
+        itemUpdateInterval = 0;
+        if (intervalCfg != null) {
+            try {
+                itemUpdateInterval = Math.max(0, Integer.parseInt(intervalCfg.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid item update interval '{}', sending every item update immediately", intervalCfg);
+            }
+        }
+
         logger.debug("UUID = {}, secret = {}", InstanceUUID.get(), getSecret());
 
         if (cloudClient != null) {
@@ -239,6 +251,7 @@ public class CloudService implements ActionService, CloudClientListener, EventSu
         cloudClient = new CloudClient(httpClient, InstanceUUID.get(), getSecret(), cloudBaseUrl, localBaseUrl,
                 remoteAccessEnabled, exposedItems);
         cloudClient.setOpenHABVersion(OpenHAB.getVersion());
+        cloudClient.setItemUpdateInterval(itemUpdateInterval);
         cloudClient.connect();
         cloudClient.setListener(this);
         NotificationAction.cloudService = this;
@@ -12,27 +12,65 @@
  */
 package org.openhab.transform.exec.internal;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.io.net.exec.ExecUtil;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The implementation of {@link TransformationService} which transforms the
  * input by command line.
+ * <p>
+ * If the <code>resultCacheTime</code> is configured, transformations of the same command line, which are requested
+ * while it is running or within the cache time after it has finished, share its result.
  *
  * @author Pauli Anttila
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=EXEC" })
+@Component(immediate = true, configurationPid = "transform.exec", property = { "smarthome.transform=EXEC" })
 public class ExecTransformationService implements TransformationService {
 
+    private static final int TIMEOUT = 5000;
+    private static final String CONFIG_RESULT_CACHE_TIME = "resultCacheTime";
+
     private final Logger logger = LoggerFactory.getLogger(ExecTransformationService.class);
 
+    private final Map<String, SharedExecution> executions = new ConcurrentHashMap<>();
+    // time in milliseconds the result of a command line is shared, 0 executes every transformation
+    private volatile long resultCacheTime = 0;
+
+    private static class SharedExecution {
+        private final CompletableFuture<@Nullable String> result = new CompletableFuture<>();
+        private volatile long finishTime = Long.MAX_VALUE;
+    }
+
+    @Activate
+    @Modified
+    protected void modified(@Nullable Map<String, Object> properties) {
+        long cacheTime = 0;
+        Object value = properties != null ? properties.get(CONFIG_RESULT_CACHE_TIME) : null;
+        if (value != null) {
+            try {
+                cacheTime = Long.parseLong(value.toString());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid {} '{}'", CONFIG_RESULT_CACHE_TIME, value);
+            }
+        }
+        resultCacheTime = Math.max(cacheTime, 0);
+        executions.clear();
+    }
+
     /**
      * Transforms the input <code>source</code> by the command line.
      *
@@ -51,10 +89,44 @@ public class ExecTransformationService implements TransformationService {
         long startTime = System.currentTimeMillis();
 
         String formattedCommandLine = String.format(commandLine, source);
-        String result = ExecUtil.executeCommandLineAndWaitResponse(formattedCommandLine, 5000);
+        String result = resultCacheTime > 0 ? executeShared(formattedCommandLine)
+                : ExecUtil.executeCommandLineAndWaitResponse(formattedCommandLine, TIMEOUT);
         logger.trace("command line execution elapsed {} ms", System.currentTimeMillis() - startTime);
 
         return result;
     }
 
+    /**
+     * Executes the command line, or waits for the result of the running or recently finished execution of the same
+     * command line.
+     */
+    private @Nullable String executeShared(String commandLine) throws TransformationException {
+        long now = System.currentTimeMillis();
+        executions.values().removeIf(execution -> execution.finishTime < now - resultCacheTime);
+
+        SharedExecution execution = new SharedExecution();
+        SharedExecution running = executions.putIfAbsent(commandLine, execution);
+        if (running == null) {
+            try {
+                execution.result.complete(ExecUtil.executeCommandLineAndWaitResponse(commandLine, TIMEOUT));
+            } catch (RuntimeException e) {
+                execution.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                execution.finishTime = System.currentTimeMillis();
+            }
+            return execution.result.getNow(null);
+        }
+
+        logger.trace("sharing the result of the execution of '{}'", commandLine);
+        try {
+            return running.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransformationException("Interrupted while executing '" + commandLine + "'", e);
+        } catch (ExecutionException e) {
+            throw new TransformationException("Executing '" + commandLine + "' failed", e.getCause());
+        }
+    }
+
 }